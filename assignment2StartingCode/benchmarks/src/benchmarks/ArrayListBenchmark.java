@@ -0,0 +1,93 @@
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import implementations.MyArrayList;
+
+/**
+ * MyArrayList: appends, random gets, inserts and removes at the front,
+ * and a full contains scan.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ArrayListBenchmark {
+
+    @Param({"100", "10000"})
+    int size;
+
+    private Integer[] values;
+    private int[] indexes;
+    private MyArrayList<Integer> filled;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        values = new Integer[size];
+        indexes = new int[size];
+        filled = new MyArrayList<>();
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+            indexes[i] = random.nextInt(size);
+            filled.add(values[i]);
+        }
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> addToEnd() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        for (Integer value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public long getRandom() {
+        long sum = 0;
+        for (int index : indexes) {
+            sum += filled.get(index);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> insertAtFront() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        for (Integer value : values) {
+            list.add(0, value);
+        }
+        return list;
+    }
+
+    /** Appends every value, then empties the list from the front. */
+    @Benchmark
+    public MyArrayList<Integer> fillThenRemoveFront() {
+        MyArrayList<Integer> list = addToEnd();
+        while (!list.isEmpty()) {
+            list.remove(0);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public boolean containsMissing() {
+        return filled.contains(-1);
+    }
+}
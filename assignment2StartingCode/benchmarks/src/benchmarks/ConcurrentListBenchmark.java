@@ -0,0 +1,127 @@
+package benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import implementations.MyArrayList;
+import implementations.MyConcurrentList;
+import utilities.ListADT;
+
+/**
+ * One MyArrayList shared by every benchmark thread, each operation a get
+ * or, writePercent times in a hundred, a set at a random index. Compares
+ * every call under one lock against MyConcurrentList in both modes.
+ * Compare across thread counts with -t 1, 2, 4 and 8: the read-write lock
+ * only lets reads overlap, while the optimistic mode also stops them from
+ * writing to the lock at all, which is where the gap shows at 0 and 10
+ * percent writes. At 50 percent the writers dominate and all three should
+ * end up close.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ConcurrentListBenchmark {
+
+    /**
+     * The two operations the benchmark needs, so every list is driven
+     * through the same code.
+     */
+    interface SharedList {
+        Integer get(int index);
+
+        Integer set(int index, Integer value);
+    }
+
+    static final class SynchronizedMyArrayList implements SharedList {
+        private final ListADT<Integer> list;
+
+        SynchronizedMyArrayList(ListADT<Integer> list) {
+            this.list = list;
+        }
+
+        @Override
+        public synchronized Integer get(int index) {
+            return list.get(index);
+        }
+
+        @Override
+        public synchronized Integer set(int index, Integer value) {
+            return list.set(index, value);
+        }
+    }
+
+    static final class Locked implements SharedList {
+        private final MyConcurrentList<Integer> list;
+
+        Locked(ListADT<Integer> list, MyConcurrentList.Mode mode) {
+            this.list = new MyConcurrentList<>(list, mode);
+        }
+
+        @Override
+        public Integer get(int index) {
+            return list.get(index);
+        }
+
+        @Override
+        public Integer set(int index, Integer value) {
+            return list.set(index, value);
+        }
+    }
+
+    @Param({"SynchronizedMyArrayList", "ReadWrite", "Optimistic"})
+    String implementation;
+
+    @Param({"0", "10", "50"})
+    int writePercent;
+
+    @Param({"1024"})
+    int size;
+
+    private SharedList list;
+
+    @Setup
+    public void setUp() {
+        MyArrayList<Integer> backing = new MyArrayList<>();
+        for (int i = 0; i < size; i++) {
+            backing.add(i);
+        }
+        switch (implementation) {
+            case "SynchronizedMyArrayList":
+                list = new SynchronizedMyArrayList(backing);
+                break;
+            case "ReadWrite":
+                list = new Locked(backing, MyConcurrentList.Mode.READ_WRITE);
+                break;
+            default:
+                list = new Locked(backing, MyConcurrentList.Mode.OPTIMISTIC);
+                break;
+        }
+    }
+
+    @Benchmark
+    public Integer getOrSet() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int index = random.nextInt(size);
+        if (random.nextInt(100) < writePercent) {
+            return list.set(index, index);
+        }
+        return list.get(index);
+    }
+}
@@ -0,0 +1,101 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import exceptions.EmptyQueueException;
+import implementations.MyConcurrentQueue;
+import implementations.MyQueue;
+
+/**
+ * One queue shared by every benchmark thread, each doing an enqueue and a
+ * poll per operation. SynchronizedMyQueue is a MyQueue with every call
+ * under one lock; MyConcurrentQueue is the lock-free queue. Compare
+ * throughput across thread counts with -t 1, 2, 4, 8, 16 and 32.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ConcurrentQueueBenchmark {
+
+    /**
+     * The two operations the benchmark needs, so both queues are driven
+     * through the same code.
+     */
+    interface SharedQueue {
+        void enqueue(Integer value);
+
+        Integer poll();
+    }
+
+    static final class SynchronizedMyQueue implements SharedQueue {
+        private final MyQueue<Integer> queue = new MyQueue<>();
+
+        @Override
+        public synchronized void enqueue(Integer value) {
+            queue.enqueue(value);
+        }
+
+        @Override
+        public synchronized Integer poll() {
+            try {
+                return queue.dequeue();
+            } catch (EmptyQueueException e) {
+                return null;
+            }
+        }
+    }
+
+    static final class LockFree implements SharedQueue {
+        private final MyConcurrentQueue<Integer> queue = new MyConcurrentQueue<>();
+
+        @Override
+        public void enqueue(Integer value) {
+            queue.enqueue(value);
+        }
+
+        @Override
+        public Integer poll() {
+            return queue.poll();
+        }
+    }
+
+    @Param({"SynchronizedMyQueue", "MyConcurrentQueue"})
+    String implementation;
+
+    // Elements in the queue before the threads start, so polls rarely find it empty
+    @Param({"1024"})
+    int prefill;
+
+    private SharedQueue queue;
+
+    @Setup
+    public void setUp() {
+        queue = implementation.equals("SynchronizedMyQueue") ? new SynchronizedMyQueue() : new LockFree();
+        for (int i = 0; i < prefill; i++) {
+            queue.enqueue(i);
+        }
+    }
+
+    @Benchmark
+    public Integer enqueuePoll() {
+        queue.enqueue(42);
+        return queue.poll();
+    }
+}
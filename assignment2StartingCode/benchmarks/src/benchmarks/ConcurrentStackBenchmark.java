@@ -0,0 +1,118 @@
+package benchmarks;
+
+import java.util.EmptyStackException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import implementations.MyConcurrentStack;
+import implementations.MyStack;
+
+/**
+ * One stack shared by every benchmark thread, each doing a push and a
+ * poll per operation, so every thread fights over the top. Compares a
+ * MyStack with every call under one lock, the plain Treiber stack
+ * (MyConcurrentStack without elimination slots) and MyConcurrentStack
+ * with elimination. Compare throughput across thread counts with -t 1,
+ * 2, 4, 8, 16 and 32; elimination only pays off once several threads
+ * really run at the same time.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ConcurrentStackBenchmark {
+
+    /**
+     * The two operations the benchmark needs, so every stack is driven
+     * through the same code.
+     */
+    interface SharedStack {
+        void push(Integer value);
+
+        Integer poll();
+    }
+
+    static final class SynchronizedMyStack implements SharedStack {
+        private final MyStack<Integer> stack = new MyStack<>();
+
+        @Override
+        public synchronized void push(Integer value) {
+            stack.push(value);
+        }
+
+        @Override
+        public synchronized Integer poll() {
+            try {
+                return stack.pop();
+            } catch (EmptyStackException e) {
+                return null;
+            }
+        }
+    }
+
+    static final class LockFree implements SharedStack {
+        private final MyConcurrentStack<Integer> stack;
+
+        LockFree(int eliminationSlots) {
+            stack = new MyConcurrentStack<>(eliminationSlots);
+        }
+
+        @Override
+        public void push(Integer value) {
+            stack.push(value);
+        }
+
+        @Override
+        public Integer poll() {
+            return stack.poll();
+        }
+    }
+
+    @Param({"SynchronizedMyStack", "Treiber", "TreiberElimination"})
+    String implementation;
+
+    // Elements in the stack before the threads start, so polls rarely find it empty
+    @Param({"1024"})
+    int prefill;
+
+    private SharedStack stack;
+
+    @Setup
+    public void setUp() {
+        switch (implementation) {
+            case "SynchronizedMyStack":
+                stack = new SynchronizedMyStack();
+                break;
+            case "Treiber":
+                stack = new LockFree(0);
+                break;
+            default:
+                stack = new LockFree(8);
+                break;
+        }
+        for (int i = 0; i < prefill; i++) {
+            stack.push(i);
+        }
+    }
+
+    @Benchmark
+    public Integer pushPoll() {
+        stack.push(42);
+        return stack.poll();
+    }
+}
@@ -0,0 +1,89 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import implementations.MyDLL;
+import implementations.MyUnrolledList;
+import utilities.Iterator;
+import utilities.ListADT;
+
+/**
+ * The linked lists, MyDLL and the block-based MyUnrolledList: positional
+ * get in the middle, head and tail add/remove pairs, a full iteration,
+ * a contains that scans the whole list and toArray.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DLLBenchmark {
+
+    @Param({"MyDLL", "MyUnrolledList"})
+    String implementation;
+
+    @Param({"100", "10000"})
+    int size;
+
+    private final Integer value = 7;
+    private final Integer missing = -1;
+    private ListADT<Integer> filled;
+
+    @Setup
+    public void setUp() {
+        filled = "MyDLL".equals(implementation) ? new MyDLL<Integer>() : new MyUnrolledList<Integer>();
+        for (int i = 0; i < size; i++) {
+            filled.add(i);
+        }
+    }
+
+    @Benchmark
+    public Integer getMiddle() {
+        return filled.get(size / 2);
+    }
+
+    @Benchmark
+    public Integer addRemoveHead() {
+        filled.add(0, value);
+        return filled.remove(0);
+    }
+
+    @Benchmark
+    public Integer addRemoveTail() {
+        filled.add(value);
+        return filled.remove(filled.size() - 1);
+    }
+
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        Iterator<Integer> it = filled.iterator();
+        while (it.hasNext()) {
+            sum += it.next();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public boolean containsMissing() {
+        return filled.contains(missing);
+    }
+
+    @Benchmark
+    public Object[] toArray() {
+        return filled.toArray();
+    }
+}
@@ -0,0 +1,79 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import implementations.IntArrayList;
+import implementations.LongArrayList;
+import implementations.MyArrayList;
+
+/**
+ * Boxed MyArrayList against IntArrayList / LongArrayList when building a
+ * list of <code>size</code> values. Run with the GC profiler to see the
+ * memory cost per element:
+ *
+ *     java -jar target/benchmarks.jar PrimitiveListBenchmark -prof gc
+ *
+ * gc.alloc.rate.norm divided by size is the bytes allocated per element,
+ * including array growth. Values start above the Integer cache so every
+ * boxed element really allocates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrimitiveListBenchmark {
+
+    private static final int FIRST_VALUE = 1000000;
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Benchmark
+    public MyArrayList<Integer> boxedInt() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        for (int i = 0; i < size; i++) {
+            list.add(FIRST_VALUE + i);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public IntArrayList primitiveInt() {
+        IntArrayList list = new IntArrayList();
+        for (int i = 0; i < size; i++) {
+            list.add(FIRST_VALUE + i);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public MyArrayList<Long> boxedLong() {
+        MyArrayList<Long> list = new MyArrayList<>();
+        for (int i = 0; i < size; i++) {
+            list.add((long) FIRST_VALUE + i);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public LongArrayList primitiveLong() {
+        LongArrayList list = new LongArrayList();
+        for (int i = 0; i < size; i++) {
+            list.add((long) FIRST_VALUE + i);
+        }
+        return list;
+    }
+}
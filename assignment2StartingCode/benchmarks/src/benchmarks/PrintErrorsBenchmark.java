@@ -0,0 +1,112 @@
+package benchmarks;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import application.ErrorFormat;
+import application.WriterErrorSink;
+import application.XMLError;
+import application.XMLParser;
+
+/**
+ * Printing a large error report: one println per error on a stream set up
+ * like System.out, against WriterErrorSink's batched output in each
+ * format. Output goes to the null device, so the cost of the writes and
+ * flushes is measured but nothing is stored.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrintErrorsBenchmark {
+
+    @Param({"10000", "500000"})
+    int errors;
+
+    private final List<XMLError> report = new ArrayList<>();
+    private PrintStream console;
+
+    @Setup
+    public void setUp() throws IOException {
+        Path file = Files.createTempFile("bench-errors-" + errors + "-", ".xml");
+        file.toFile().deleteOnExit();
+        StringBuilder document = new StringBuilder();
+        for (int i = 0; i < errors; i++) {
+            document.append("<a").append(i % 50).append(">\n</b").append(i % 50).append(">\n");
+        }
+        Files.write(file, document.toString().getBytes("UTF-8"));
+
+        XMLParser parser = new XMLParser(XMLParser.Mode.STREAMING);
+        parser.setErrorSink(error -> report.add(error));
+        parser.parseFile(file.toString());
+
+        // buffered and flushed on every println, like System.out
+        console = new PrintStream(new BufferedOutputStream(new FileOutputStream(nullDevice()), 8192), true);
+    }
+
+    private static File nullDevice() throws FileNotFoundException {
+        return new File(System.getProperty("os.name").startsWith("Windows") ? "NUL" : "/dev/null");
+    }
+
+    @TearDown
+    public void tearDown() {
+        console.close();
+    }
+
+    @Benchmark
+    public int printlnEach() {
+        for (XMLError error : report) {
+            console.println(error.getMessage());
+        }
+        return report.size();
+    }
+
+    @Benchmark
+    public long batchedText() throws IOException {
+        return print(ErrorFormat.TEXT);
+    }
+
+    @Benchmark
+    public long batchedJson() throws IOException {
+        return print(ErrorFormat.JSON);
+    }
+
+    @Benchmark
+    public long batchedTsv() throws IOException {
+        return print(ErrorFormat.TSV);
+    }
+
+    private long print(ErrorFormat format) throws IOException {
+        WriterErrorSink sink = new WriterErrorSink(new OutputStreamWriter(console, "UTF-8"), format);
+        for (XMLError error : report) {
+            sink.accept(error);
+        }
+        sink.flush();
+        return sink.getWritten();
+    }
+}
@@ -0,0 +1,86 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import exceptions.EmptyQueueException;
+import implementations.MyCircularQueue;
+import implementations.MyQueue;
+import utilities.QueueADT;
+
+/**
+ * QueueADT implementations: fill then drain, and a steady-state
+ * enqueue/dequeue pair on a queue that stays at the same size.
+ * PooledMyQueue is a MyQueue recycling up to size nodes; run with
+ * -prof gc to see its steady state allocate nothing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QueueBenchmark {
+
+    @Param({"MyQueue", "PooledMyQueue", "MyCircularQueue"})
+    String implementation;
+
+    @Param({"16", "65536"})
+    int size;
+
+    private Integer[] values;
+    private QueueADT<Integer> steady;
+
+    @Setup
+    public void setUp() {
+        values = new Integer[size];
+        steady = newQueue();
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+            steady.enqueue(values[i]);
+        }
+    }
+
+    QueueADT<Integer> newQueue() {
+        switch (implementation) {
+            case "MyQueue":
+                return new MyQueue<Integer>();
+            case "PooledMyQueue":
+                return new MyQueue<Integer>(size);
+            default:
+                return new MyCircularQueue<Integer>();
+        }
+    }
+
+    @Benchmark
+    public long enqueueThenDequeue() throws EmptyQueueException {
+        QueueADT<Integer> queue = newQueue();
+        for (Integer value : values) {
+            queue.enqueue(value);
+        }
+        long sum = 0;
+        while (!queue.isEmpty()) {
+            sum += queue.dequeue();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Integer steadyState() throws EmptyQueueException {
+        Integer front = steady.dequeue();
+        steady.enqueue(front);
+        return front;
+    }
+}
@@ -0,0 +1,231 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import exceptions.EmptyQueueException;
+import implementations.MyQueue;
+import implementations.MySpscQueue;
+
+/**
+ * One producer thread handing Integers to one consumer thread through a
+ * bounded queue: MySpscQueue against a MyQueue with every call under one
+ * lock and the same capacity. "single" moves one element per call,
+ * "batch" up to BATCH per call.
+ *
+ * A call that finds the queue full (or empty) returns straight away, so
+ * the raw ops/us of each method is not the interesting number; read the
+ * handoffs counter instead, which counts the elements the consumer
+ * actually received. The two groups need two free cores to mean
+ * anything. offerPoll runs both sides on one thread: the cost of the
+ * operations themselves, without any cache line moving between cores.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class SpscQueueBenchmark {
+
+    static final int BATCH = 64;
+
+    /**
+     * What the benchmark needs from a queue, so both are driven through
+     * the same code.
+     */
+    interface Handoff {
+        boolean offer(Integer value);
+
+        Integer poll();
+
+        int offer(Integer[] values, int length);
+
+        int poll(Integer[] into, int length);
+    }
+
+    static final class SynchronizedMyQueue implements Handoff {
+        private final MyQueue<Integer> queue = new MyQueue<>();
+        private final int capacity;
+
+        SynchronizedMyQueue(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public synchronized boolean offer(Integer value) {
+            if (queue.size() >= capacity) {
+                return false;
+            }
+            queue.enqueue(value);
+            return true;
+        }
+
+        @Override
+        public synchronized Integer poll() {
+            try {
+                return queue.dequeue();
+            } catch (EmptyQueueException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public synchronized int offer(Integer[] values, int length) {
+            int count = Math.min(length, capacity - queue.size());
+            for (int i = 0; i < count; i++) {
+                queue.enqueue(values[i]);
+            }
+            return count;
+        }
+
+        @Override
+        public synchronized int poll(Integer[] into, int length) {
+            int count = Math.min(length, queue.size());
+            try {
+                for (int i = 0; i < count; i++) {
+                    into[i] = queue.dequeue();
+                }
+            } catch (EmptyQueueException e) {
+                throw new IllegalStateException(e);
+            }
+            return count;
+        }
+    }
+
+    static final class Spsc implements Handoff {
+        private final MySpscQueue<Integer> queue;
+
+        Spsc(int capacity) {
+            queue = new MySpscQueue<>(capacity);
+        }
+
+        @Override
+        public boolean offer(Integer value) {
+            return queue.offer(value);
+        }
+
+        @Override
+        public Integer poll() {
+            return queue.poll();
+        }
+
+        @Override
+        public int offer(Integer[] values, int length) {
+            return queue.offer(values, 0, length);
+        }
+
+        @Override
+        public int poll(Integer[] into, int length) {
+            return queue.poll(into, 0, length);
+        }
+    }
+
+    /**
+     * Per-thread counts reported next to the primary result.
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long handoffs;
+        public long misses;   // calls that found the queue full (producer) or empty (consumer)
+    }
+
+    /**
+     * The producer's batch, filled once.
+     */
+    @State(Scope.Thread)
+    public static class Batch {
+        final Integer[] values = new Integer[BATCH];
+
+        @Setup
+        public void setUp() {
+            for (int i = 0; i < BATCH; i++) {
+                values[i] = i;
+            }
+        }
+    }
+
+    @Param({"SynchronizedMyQueue", "MySpscQueue"})
+    String implementation;
+
+    @Param({"1024"})
+    int capacity;
+
+    private static final Integer VALUE = 42;
+
+    private Handoff queue;
+
+    @Setup
+    public void setUp() {
+        queue = implementation.equals("SynchronizedMyQueue")
+                ? new SynchronizedMyQueue(capacity)
+                : new Spsc(capacity);
+    }
+
+    @Benchmark
+    @Group("single")
+    @GroupThreads(1)
+    public void produce(Counters counters) {
+        if (!queue.offer(VALUE)) {
+            counters.misses++;
+        }
+    }
+
+    @Benchmark
+    @Group("single")
+    @GroupThreads(1)
+    public Integer consume(Counters counters) {
+        Integer value = queue.poll();
+        if (value == null) {
+            counters.misses++;
+        } else {
+            counters.handoffs++;
+        }
+        return value;
+    }
+
+    @Benchmark
+    @Group("batch")
+    @GroupThreads(1)
+    public void produceBatch(Batch batch, Counters counters) {
+        if (queue.offer(batch.values, BATCH) == 0) {
+            counters.misses++;
+        }
+    }
+
+    @Benchmark
+    @Group("batch")
+    @GroupThreads(1)
+    public int consumeBatch(Batch batch, Counters counters) {
+        // the consumer's own Batch instance is only used as a target array
+        int count = queue.poll(batch.values, BATCH);
+        if (count == 0) {
+            counters.misses++;
+        }
+        counters.handoffs += count;
+        return count;
+    }
+
+    @Benchmark
+    @Group("offerPoll")
+    @GroupThreads(1)
+    public Integer offerPoll() {
+        queue.offer(VALUE);
+        return queue.poll();
+    }
+}
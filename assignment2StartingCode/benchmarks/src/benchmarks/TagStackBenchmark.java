@@ -0,0 +1,87 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import implementations.IntStack;
+import implementations.MyStack;
+
+/**
+ * The parser's tag stack: open <code>depth</code> nested tags, then close
+ * them all, checking each closer against the popped opener.
+ *
+ * stringStack is the old MyStack&lt;String&gt; with equals(); intStack
+ * pushes tag ids with their line numbers and compares ids. Names come
+ * from a vocabulary of 200, as in a typical document.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TagStackBenchmark {
+
+    private static final int VOCABULARY = 200;
+
+    @Param({"10", "1000", "1000000"})
+    int depth;
+
+    private String[] openers;
+    private String[] closers;   // equal to the openers but separate objects
+    private int[] ids;
+
+    @Setup
+    public void setUp() {
+        openers = new String[depth];
+        closers = new String[depth];
+        ids = new int[depth];
+        for (int i = 0; i < depth; i++) {
+            int id = i % VOCABULARY;
+            openers[i] = "element" + id;
+            closers[i] = new String(openers[i]);
+            ids[i] = id;
+        }
+    }
+
+    @Benchmark
+    public int stringStack() {
+        MyStack<String> stack = new MyStack<>();
+        for (int i = 0; i < depth; i++) {
+            stack.push(openers[i]);
+        }
+        int mismatches = 0;
+        for (int i = depth - 1; i >= 0; i--) {
+            if (!stack.pop().equals(closers[i])) {
+                mismatches++;
+            }
+        }
+        return mismatches;
+    }
+
+    @Benchmark
+    public int intStack() {
+        IntStack stack = new IntStack(16, true);
+        for (int i = 0; i < depth; i++) {
+            stack.push(ids[i], i + 1);
+        }
+        int mismatches = 0;
+        for (int i = depth - 1; i >= 0; i--) {
+            if (stack.pop() != ids[i]) {
+                mismatches++;
+            }
+        }
+        return mismatches;
+    }
+}
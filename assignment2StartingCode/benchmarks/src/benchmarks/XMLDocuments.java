@@ -0,0 +1,61 @@
+package benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Generates well-formed XML documents of a given size and nesting depth
+ * for the parser benchmarks. The output only depends on the arguments, so
+ * runs on different machines parse the same bytes.
+ */
+final class XMLDocuments {
+
+    private XMLDocuments() {
+    }
+
+    /**
+     * Writes a document with roughly <code>elements</code> leaf items,
+     * grouped under chains of <code>depth</code> nested elements.
+     *
+     * @return the temporary file, deleted when the JVM exits
+     */
+    static Path generate(int elements, int depth) throws IOException {
+        Path file = Files.createTempFile("bench-" + elements + "-" + depth + "-", ".xml");
+        file.toFile().deleteOnExit();
+
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n");
+            out.write("<root>\n");
+
+            // each group opens depth levels and holds 10 items
+            int groups = Math.max(1, elements / 10);
+            int item = 0;
+            for (int g = 0; g < groups; g++) {
+                for (int d = 0; d < depth; d++) {
+                    indent(out, d + 1);
+                    out.write("<level" + d + " group=\"" + g + "\">\n");
+                }
+                for (int i = 0; i < 10; i++, item++) {
+                    indent(out, depth + 1);
+                    out.write("<item id=\"" + item + "\"><name>Item " + item + "</name><flag/></item>\n");
+                }
+                for (int d = depth - 1; d >= 0; d--) {
+                    indent(out, d + 1);
+                    out.write("</level" + d + ">\n");
+                }
+            }
+
+            out.write("</root>\n");
+        }
+        return file;
+    }
+
+    private static void indent(BufferedWriter out, int levels) throws IOException {
+        for (int i = 0; i < levels; i++) {
+            out.write('\t');
+        }
+    }
+}
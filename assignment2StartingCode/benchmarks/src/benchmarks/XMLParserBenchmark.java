@@ -0,0 +1,56 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import application.XMLParser;
+
+/**
+ * XMLParser.parseFile over generated documents, for every parser mode,
+ * document size and nesting depth.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XMLParserBenchmark {
+
+    @Param({"1000", "100000"})
+    int elements;
+
+    @Param({"2", "64"})
+    int depth;
+
+    @Param({"LINE", "STREAMING", "MAPPED", "PARALLEL"})
+    XMLParser.Mode mode;
+
+    private String fileName;
+
+    @Setup
+    public void setUp() throws IOException {
+        Path file = XMLDocuments.generate(elements, depth);
+        fileName = file.toString();
+    }
+
+    @Benchmark
+    public int parseFile() {
+        XMLParser parser = new XMLParser(mode);
+        parser.parseFile(fileName);
+        return parser.getErrorCount();
+    }
+}
@@ -0,0 +1,457 @@
+package application;
+
+import exceptions.EmptyQueueException;
+import implementations.MyArrayList;
+import implementations.MyBlockingQueue;
+import utilities.Iterator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * BatchValidator
+ * --------------------------------------------
+ * Validates many XML files in one JVM using a pool of worker threads.
+ *
+ * XMLParser keeps its tag stack and error queue in instance fields, so
+ * every file gets its own parser. Each task prints its results into its
+ * own buffer; the buffers are written out in input order, so the report
+ * is the same no matter how the tasks were scheduled. A file whose task
+ * throws is reported as failed in its place, and the batch carries on.
+ *
+ * Files can run on a fixed pool of platform threads, or on one virtual
+ * thread per file for I/O-bound runs against slow storage. Either way at
+ * most <code>concurrency</code> files are in flight at once.
+ */
+public class BatchValidator {
+
+    /**
+     * The kind of threads the files are validated on.
+     */
+    public enum ExecutorKind {
+        /** A fixed pool with one platform thread per permitted file. */
+        PLATFORM,
+        /** One virtual thread per file (Java 21 and later). */
+        VIRTUAL
+    }
+
+    // Upper bound on the files submitted but not yet printed
+    private static final int MAX_WINDOW = 1 << 16;
+
+    private final XMLParser.Mode mode;
+    private final ExecutorKind kind;
+    private final int concurrency;
+
+    // Shared by the parsers of every file, or null
+    private ResultCache cache;
+
+    // Error limit of every file's parser; 0 for no limit
+    private int maxErrors = 0;
+
+    private ErrorFormat format = ErrorFormat.TEXT;
+
+    /**
+     * Creates a batch validator using a fixed pool of platform threads.
+     * @param mode    The parser mode used for every file.
+     * @param threads The number of worker threads.
+     */
+    public BatchValidator(XMLParser.Mode mode, int threads) {
+        this(mode, ExecutorKind.PLATFORM, threads);
+    }
+
+    /**
+     * Creates a batch validator.
+     * @param mode        The parser mode used for every file.
+     * @param kind        The kind of threads to run the files on.
+     * @param concurrency The most files validated at the same time.
+     */
+    public BatchValidator(XMLParser.Mode mode, ExecutorKind kind, int concurrency) {
+        if (mode == null || kind == null) {
+            throw new NullPointerException("Mode and executor kind cannot be null.");
+        }
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be positive: " + concurrency);
+        }
+        this.mode = mode;
+        this.kind = kind;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Sets a result cache shared by the parsers of every file, or null
+     * (the default) to always parse.
+     */
+    public void setCache(ResultCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Sets the error limit of every file's parser. See XMLParser.setMaxErrors.
+     */
+    public void setMaxErrors(int maxErrors) {
+        if (maxErrors < 0) {
+            throw new IllegalArgumentException("Error limit cannot be negative: " + maxErrors);
+        }
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Sets the format each file's errors are printed in. The "== file =="
+     * headings and the summary are printed either way.
+     */
+    public void setFormat(ErrorFormat format) {
+        if (format == null) {
+            throw new NullPointerException("Format cannot be null.");
+        }
+        this.format = format;
+    }
+
+    /**
+     * Expands the given paths into a list of files. Files are kept as
+     * given; directories are walked recursively for *.xml files, which are
+     * added in sorted path order.
+     */
+    public static MyArrayList<String> collectFiles(MyArrayList<String> paths) throws IOException {
+        MyArrayList<String> files = new MyArrayList<>();
+        Iterator<String> it = paths.iterator();
+
+        while (it.hasNext()) {
+            Path path = Paths.get(it.next());
+
+            if (!Files.isDirectory(path)) {
+                files.add(path.toString());
+                continue;
+            }
+
+            List<String> found = new ArrayList<>();
+            try (Stream<Path> walk = Files.walk(path)) {
+                walk.filter(Files::isRegularFile)
+                        .filter(p -> p.getFileName().toString().toLowerCase().endsWith(".xml"))
+                        .forEach(p -> found.add(p.toString()));
+            }
+            Collections.sort(found);
+
+            for (String file : found) {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Validates every file and prints the per-file results in input order,
+     * followed by a summary. A file whose validation throws is printed
+     * as failed and counted in the summary instead of ending the batch.
+     *
+     * A separate thread submits the files and puts their futures into a
+     * bounded queue, which this thread drains in order. Once the submitter
+     * is a full window ahead of the printing it waits, so the reports of
+     * files that finish early cannot pile up behind one slow file.
+     */
+    public void run(MyArrayList<String> files, PrintStream out) {
+        long start = System.nanoTime();
+        ExecutorService pool = createExecutor();
+        MyBlockingQueue<Future<FileResult>> pending = new MyBlockingQueue<>(windowSize());
+        Thread submitter = new Thread(submitTask(files, pool, pending), "batch-submitter");
+        submitter.setDaemon(true);
+        submitter.start();
+
+        try {
+            Summary summary = new Summary(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                FileResult result = await(take(pending), files.get(i));
+                out.println("== " + result.fileName + " ==");
+                out.print(result.report);
+                summary.add(result);
+            }
+
+            summary.print(out, System.nanoTime() - start, describeExecutor());
+            if (cache != null) {
+                out.println("Result cache: " + cache.getHits() + " hits, " + cache.getMisses() + " misses.");
+            }
+        } finally {
+            submitter.interrupt();
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns how many files may be submitted but not yet printed: twice
+     * the concurrency, so the workers keep busy while one file is printed.
+     */
+    private int windowSize() {
+        return concurrency > MAX_WINDOW / 2 ? MAX_WINDOW : 2 * concurrency;
+    }
+
+    /**
+     * Builds the task that submits every file, in order, with at most
+     * <code>concurrency</code> of them in flight. If submitting fails, that
+     * file and every file after it get a future holding the failure, so
+     * they are still reported and the printing thread does not wait forever.
+     */
+    private Runnable submitTask(final MyArrayList<String> files, final ExecutorService pool,
+                                final MyBlockingQueue<Future<FileResult>> pending) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                Semaphore permits = new Semaphore(concurrency);
+                RuntimeException failure = null;
+                try {
+                    Iterator<String> it = files.iterator();
+                    while (it.hasNext()) {
+                        String fileName = it.next();
+                        if (failure == null) {
+                            permits.acquire();
+                            try {
+                                pending.put(pool.submit(validateTask(fileName, permits)));
+                                continue;
+                            } catch (RuntimeException e) {
+                                permits.release();
+                                failure = e;
+                            }
+                        }
+                        pending.put(failedTask(failure));
+                    }
+                } catch (InterruptedException e) {
+                    // the batch is over; run() has stopped taking results
+                }
+            }
+        };
+    }
+
+    private static Future<FileResult> failedTask(final RuntimeException cause) {
+        FutureTask<FileResult> failed = new FutureTask<>(new Callable<FileResult>() {
+            @Override
+            public FileResult call() {
+                throw cause;
+            }
+        });
+        failed.run();
+        return failed;
+    }
+
+    /**
+     * Creates the executor for the configured kind. Virtual threads are
+     * looked up reflectively so the project still builds for Java 8; on
+     * older runtimes a cached pool is used instead, still capped by the
+     * concurrency permits.
+     */
+    private ExecutorService createExecutor() {
+        if (kind == ExecutorKind.VIRTUAL) {
+            ExecutorService virtual = newVirtualThreadExecutor();
+            return virtual != null ? virtual : Executors.newCachedThreadPool();
+        }
+        return Executors.newFixedThreadPool(concurrency);
+    }
+
+    private String describeExecutor() {
+        if (kind == ExecutorKind.PLATFORM) {
+            return concurrency + " platform threads";
+        }
+        if (virtualThreadFactory() == null) {
+            return "a cached thread pool (virtual threads need Java 21), at most " + concurrency + " in flight";
+        }
+        return "virtual threads, at most " + concurrency + " in flight";
+    }
+
+    /**
+     * Returns Executors.newVirtualThreadPerTaskExecutor(), or null when
+     * the running JVM does not have it.
+     */
+    static ExecutorService newVirtualThreadExecutor() {
+        Method factory = virtualThreadFactory();
+        if (factory == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static Method virtualThreadFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Builds the task that validates one file with its own parser.
+     * The task gives its permit back when it finishes.
+     */
+    Callable<FileResult> validateTask(final String fileName, final Semaphore permits) {
+        return new Callable<FileResult>() {
+            @Override
+            public FileResult call() throws UnsupportedEncodingException {
+                try {
+                    return validate(fileName);
+                } finally {
+                    permits.release();
+                }
+            }
+        };
+    }
+
+    private FileResult validate(String fileName) throws UnsupportedEncodingException {
+        long start = System.nanoTime();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        PrintStream report = new PrintStream(buffer, false, "UTF-8");
+
+        XMLParser parser = new XMLParser(mode);
+        parser.setOutput(report);
+        parser.setCache(cache);
+        parser.setMaxErrors(maxErrors);
+        parser.parseFile(fileName);
+
+        int errors = parser.getErrorCount();
+        try {
+            parser.printErrors(format);
+        } catch (EmptyQueueException e) {
+            report.println("Error printing results: " + e.getMessage());
+        }
+        report.flush();
+
+        return new FileResult(fileName, buffer.toString("UTF-8"), errors,
+                parser.hadReadError(), System.nanoTime() - start);
+    }
+
+    private static Future<FileResult> take(MyBlockingQueue<Future<FileResult>> pending) {
+        try {
+            return pending.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for results", e);
+        }
+    }
+
+    /**
+     * Returns the result of a file's task, or a failed result for the file
+     * if the task threw, so one failure does not lose the rest of the batch.
+     */
+    private static FileResult await(Future<FileResult> future, String fileName) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for results", e);
+        } catch (ExecutionException e) {
+            return FileResult.failed(fileName, e.getCause());
+        }
+    }
+
+    /**
+     * The outcome of validating one file.
+     */
+    static class FileResult {
+        final String fileName;
+        final String report;
+        final int errors;
+        final boolean readError;
+        final boolean failed;
+        final long elapsedNanos;
+
+        FileResult(String fileName, String report, int errors, boolean readError, long elapsedNanos) {
+            this(fileName, report, errors, readError, false, elapsedNanos);
+        }
+
+        private FileResult(String fileName, String report, int errors, boolean readError,
+                           boolean failed, long elapsedNanos) {
+            this.fileName = fileName;
+            this.report = report;
+            this.errors = errors;
+            this.readError = readError;
+            this.failed = failed;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Returns the result of a file whose task threw instead of
+         * finishing. It has no latency.
+         */
+        static FileResult failed(String fileName, Throwable cause) {
+            return new FileResult(fileName, "Validation failed: " + cause + System.lineSeparator(),
+                    0, false, true, 0);
+        }
+    }
+
+    /**
+     * Running totals and per-file latencies for the summary printed after
+     * the per-file results. Failed files have no latency.
+     */
+    static class Summary {
+        int files;
+        int wellFormed;
+        int withErrors;
+        int unreadable;
+        int failed;
+        long errors;
+        final long[] latencies;
+        int timed;
+
+        Summary(int expectedFiles) {
+            latencies = new long[expectedFiles];
+        }
+
+        void add(FileResult result) {
+            files++;
+            if (result.failed) {
+                failed++;
+                return;
+            }
+            latencies[timed++] = result.elapsedNanos;
+            errors += result.errors;
+            if (result.readError) {
+                unreadable++;
+            } else if (result.errors == 0) {
+                wellFormed++;
+            } else {
+                withErrors++;
+            }
+        }
+
+        /**
+         * Returns the latency below which the given fraction of files
+         * finished (nearest-rank method), in nanoseconds.
+         */
+        long percentile(double fraction) {
+            if (timed == 0) return 0;
+            long[] sorted = Arrays.copyOf(latencies, timed);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(fraction * timed);
+            return sorted[Math.max(0, rank - 1)];
+        }
+
+        void print(PrintStream out, long elapsedNanos, String executor) {
+            double seconds = elapsedNanos / 1e9;
+            out.println();
+            out.println("Validated " + files + " files: " + wellFormed + " well-formed, "
+                    + withErrors + " with errors, " + unreadable + " unreadable, "
+                    + failed + " failed, " + errors + " errors in total.");
+            out.println(String.format("Elapsed %.1f ms (%.1f files/sec) using %s.",
+                    elapsedNanos / 1e6, seconds > 0 ? files / seconds : 0.0, executor));
+            out.println(String.format("Per-file latency: p50 %.3f ms, p99 %.3f ms.",
+                    percentile(0.50) / 1e6, percentile(0.99) / 1e6));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package application;
+
+/**
+ * Counts errors, in total and per code, without keeping or formatting them.
+ */
+public class CountingErrorSink implements ErrorSink {
+
+    private final long[] counts = new long[XMLError.Code.values().length];
+    private long total = 0;
+
+    @Override
+    public boolean accept(XMLError error) {
+        counts[error.getCode().ordinal()]++;
+        total++;
+        return true;
+    }
+
+    /**
+     * Returns the number of errors received.
+     */
+    public long getCount() {
+        return total;
+    }
+
+    /**
+     * Returns the number of errors received with the given code.
+     */
+    public long getCount(XMLError.Code code) {
+        return counts[code.ordinal()];
+    }
+}
@@ -0,0 +1,151 @@
+package application;
+
+/**
+ * ErrorFormat
+ * --------------------------------------------
+ * How an XMLError is written as one line of output.
+ *
+ * TEXT is the message the parser has always printed. JSON writes one
+ * object per line (JSON lines), with the fields that do not apply to the
+ * error left out. TSV writes tab-separated columns under a header line,
+ * with empty columns for the fields that do not apply; tabs, line breaks
+ * and backslashes inside a column are escaped as \t, \n, \r and \\.
+ *
+ * Records are appended to a StringBuilder so that many of them can be
+ * formatted into one buffer and written out together.
+ */
+public enum ErrorFormat {
+
+    TEXT {
+        @Override
+        void append(XMLError error, StringBuilder out) {
+            out.append(error.getMessage());
+        }
+    },
+
+    JSON {
+        @Override
+        void append(XMLError error, StringBuilder out) {
+            out.append("{\"code\":\"").append(error.getCode().name()).append('"');
+            out.append(",\"line\":").append(error.getLine());
+            out.append(",\"column\":").append(error.getColumn());
+            if (error.getExpectedTag() != null) {
+                out.append(",\"expected\":");
+                appendJsonString(error.getExpectedTag(), out);
+            }
+            if (error.getOpenedOn() != XMLError.NONE) {
+                out.append(",\"openedOn\":").append(error.getOpenedOn());
+            }
+            if (error.getFoundTag() != null) {
+                out.append(",\"found\":");
+                appendJsonString(error.getFoundTag(), out);
+            }
+            out.append(",\"message\":");
+            appendJsonString(error.getMessage(), out);
+            out.append('}');
+        }
+    },
+
+    TSV {
+        @Override
+        String header() {
+            return "code\tline\tcolumn\texpected\topenedOn\tfound\tmessage";
+        }
+
+        @Override
+        void append(XMLError error, StringBuilder out) {
+            out.append(error.getCode().name());
+            out.append('\t').append(error.getLine());
+            out.append('\t').append(error.getColumn());
+            out.append('\t');
+            appendTsvField(error.getExpectedTag(), out);
+            out.append('\t');
+            if (error.getOpenedOn() != XMLError.NONE) {
+                out.append(error.getOpenedOn());
+            }
+            out.append('\t');
+            appendTsvField(error.getFoundTag(), out);
+            out.append('\t');
+            appendTsvField(error.getMessage(), out);
+        }
+    };
+
+    /**
+     * Returns the line written before the first record, or null if the
+     * format has none.
+     */
+    String header() {
+        return null;
+    }
+
+    /**
+     * Appends one record, without a line terminator.
+     */
+    abstract void append(XMLError error, StringBuilder out);
+
+    private static void appendJsonString(String value, StringBuilder out) {
+        out.append('"');
+        int run = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            // copy the characters that need no escaping in one go
+            out.append(value, run, i);
+            run = i + 1;
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    out.append("\\u00").append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+                    break;
+            }
+        }
+        out.append(value, run, value.length());
+        out.append('"');
+    }
+
+    private static void appendTsvField(String value, StringBuilder out) {
+        if (value == null) {
+            return;
+        }
+        int run = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '\t' && c != '\n' && c != '\r' && c != '\\') {
+                continue;
+            }
+            out.append(value, run, i);
+            run = i + 1;
+            switch (c) {
+                case '\t':
+                    out.append("\\t");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                default:
+                    out.append("\\\\");
+                    break;
+            }
+        }
+        out.append(value, run, value.length());
+    }
+}
@@ -0,0 +1,19 @@
+package application;
+
+/**
+ * Receives the errors XMLParser finds, in the order it finds them.
+ *
+ * By default the parser keeps its errors in a queue for printErrors.
+ * A sink set with XMLParser.setErrorSink gets them instead, e.g. a
+ * WriterErrorSink to stream them out, a CountingErrorSink to only count
+ * them, or a LimitingErrorSink to stop after the first few.
+ */
+public interface ErrorSink {
+
+    /**
+     * Receives one error.
+     * @return true to keep receiving errors, false if no more are wanted.
+     *         The parser then stops reporting errors for the current file.
+     */
+    boolean accept(XMLError error);
+}
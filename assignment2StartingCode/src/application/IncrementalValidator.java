@@ -0,0 +1,425 @@
+package application;
+
+import implementations.IntStack;
+import implementations.MyArrayList;
+import utilities.Iterator;
+import utilities.ListADT;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * IncrementalValidator
+ * --------------------------------------------
+ * Keeps the result of validating a document and updates it when some of
+ * its lines are replaced, instead of parsing the whole document again.
+ *
+ * Besides the errors found on every line, the validator keeps checkpoints
+ * of the tag stack (open tag ids and the lines they were opened on) every
+ * BLOCK_SIZE lines. After an edit it restores the last checkpoint before
+ * the edit and validates forward. Once it is past the edit and its stack
+ * is equal to the one an old checkpoint recorded at the same place, the
+ * rest of the document cannot produce anything new, so the old results
+ * are kept, with their line numbers moved by the number of lines added
+ * or removed.
+ *
+ * The rules and messages are the ones XMLParser uses, so getErrors()
+ * always returns what a full parseFile of the same text would print.
+ */
+public class IncrementalValidator {
+
+    // Lines between two checkpoints of the tag stack
+    static final int BLOCK_SIZE = 64;
+
+    // Problem kinds besides the XMLTokenizer ones
+    private static final int UNMATCHED_CLOSER = 0;
+    private static final int MISMATCH = -1;
+
+    private static final Problem[] NO_PROBLEMS = new Problem[0];
+
+    private final TagNameTable tagNames = new TagNameTable();
+    private final XMLTokenizer tokenizer = new XMLTokenizer(new LineHandler());
+
+    // The document, one entry per line, without terminators
+    private final MyArrayList<String> lines = new MyArrayList<>();
+
+    // The problems found on each line, in order
+    private final MyArrayList<Problem[]> problems = new MyArrayList<>();
+
+    // Stack snapshots in line order; the first is the empty stack before line 1
+    private MyArrayList<Checkpoint> checkpoints = new MyArrayList<>();
+
+    // The tags still open after the last line
+    private Checkpoint end;
+
+    // The stack while lines are being validated
+    private final IntStack tagStack = new IntStack(64, true);
+
+    // Collects the problems of the line being validated
+    private final MyArrayList<Problem> lineProblems = new MyArrayList<>();
+
+    // Lines validated by the last call, for callers that want to measure the savings
+    private int linesValidated = 0;
+
+    /**
+     * Creates a validator for an empty document.
+     */
+    public IncrementalValidator() {
+        validate(new MyArrayList<String>());
+    }
+
+    /**
+     * Reads a file line by line as UTF-8, the same way XMLParser's line
+     * mode does, and validates all of it.
+     */
+    public void validate(String fileName) throws IOException {
+        MyArrayList<String> read = new MyArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(fileName), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                read.add(line);
+            }
+        }
+
+        validate(read);
+    }
+
+    /**
+     * Replaces the whole document and validates all of it.
+     * @param documentLines The lines of the document, without terminators.
+     */
+    public void validate(ListADT<String> documentLines) {
+        checkLines(documentLines);
+
+        lines.clear();
+        lines.addAll(documentLines);
+        problems.clear();
+        for (int i = 0; i < lines.size(); i++) {
+            problems.add(NO_PROBLEMS);
+        }
+
+        checkpoints = new MyArrayList<>();
+        tagStack.clear();
+        checkpoints.add(snapshot(0));
+
+        for (int i = 0; i < lines.size(); i++) {
+            if (i > 0 && i % BLOCK_SIZE == 0) {
+                checkpoints.add(snapshot(i));
+            }
+            validateLine(i);
+        }
+
+        end = snapshot(lines.size());
+        linesValidated = lines.size();
+    }
+
+    /**
+     * Replaces removedCount lines starting at firstLine with newLines and
+     * re-validates only as far as the edit can make a difference.
+     * Inserting is a replacement with removedCount 0; deleting is one with
+     * no new lines.
+     *
+     * @param firstLine    The 1-based number of the first line replaced;
+     *                     lineCount() + 1 appends.
+     * @param removedCount How many lines are removed.
+     * @param newLines     The lines put in their place, without terminators.
+     * @throws IndexOutOfBoundsException if the range is not in the document
+     */
+    public void replaceLines(int firstLine, int removedCount, ListADT<String> newLines)
+            throws IndexOutOfBoundsException, NullPointerException {
+        int start = firstLine - 1;
+        int oldEnd = start + removedCount;
+        if (start < 0 || removedCount < 0 || oldEnd > lines.size()) {
+            throw new IndexOutOfBoundsException("Lines " + firstLine + " to " + oldEnd
+                    + ", Size: " + lines.size());
+        }
+        checkLines(newLines);
+
+        int added = newLines.size();
+        int delta = added - removedCount;
+        int newEnd = start + added;
+
+        // Splice the text and the per-line results
+        lines.removeRange(start, oldEnd);
+        lines.addAll(start, newLines);
+        problems.removeRange(start, oldEnd);
+        MyArrayList<Problem[]> blank = new MyArrayList<>();
+        for (int i = 0; i < added; i++) {
+            blank.add(NO_PROBLEMS);
+        }
+        problems.addAll(start, blank);
+
+        // Move the old results after the edit to their new lines
+        if (delta != 0) {
+            for (int i = newEnd; i < problems.size(); i++) {
+                for (Problem problem : problems.get(i)) {
+                    problem.openedOn = shift(problem.openedOn, oldEnd, delta);
+                }
+            }
+            end.shift(oldEnd, delta);
+        }
+
+        // Keep the checkpoints up to the edit; the ones after it become
+        // candidates for convergence, the ones inside it are dropped
+        MyArrayList<Checkpoint> kept = new MyArrayList<>();
+        MyArrayList<Checkpoint> candidates = new MyArrayList<>();
+        Iterator<Checkpoint> it = checkpoints.iterator();
+        while (it.hasNext()) {
+            Checkpoint checkpoint = it.next();
+            if (checkpoint.line <= start) {
+                kept.add(checkpoint);
+            } else if (checkpoint.line >= oldEnd) {
+                checkpoint.shift(oldEnd, delta);
+                candidates.add(checkpoint);
+            }
+        }
+
+        Checkpoint restart = kept.get(kept.size() - 1);
+        restart.restore(tagStack);
+        int i = restart.line;
+        int lastCheckpoint = restart.line;
+        int next = 0;
+        boolean converged = false;
+        linesValidated = 0;
+
+        while (i < lines.size()) {
+            while (next < candidates.size() && candidates.get(next).line < i) {
+                next++;
+            }
+
+            if (next < candidates.size() && candidates.get(next).line == i) {
+                // Same stack as before at the same place: nothing further can change
+                if (i >= newEnd && candidates.get(next).matches(tagStack)) {
+                    converged = true;
+                    break;
+                }
+                next++;
+                kept.add(snapshot(i));
+                lastCheckpoint = i;
+            } else if (i - lastCheckpoint >= BLOCK_SIZE) {
+                kept.add(snapshot(i));
+                lastCheckpoint = i;
+            }
+
+            validateLine(i);
+            i++;
+            linesValidated++;
+        }
+
+        if (converged) {
+            for (int c = next; c < candidates.size(); c++) {
+                kept.add(candidates.get(c));
+            }
+        } else {
+            end = snapshot(lines.size());
+        }
+        checkpoints = kept;
+    }
+
+    /**
+     * Returns the number of lines in the document.
+     */
+    public int lineCount() {
+        return lines.size();
+    }
+
+    /**
+     * Returns how many lines the last validate or replaceLines call had
+     * to validate.
+     */
+    public int getLinesValidated() {
+        return linesValidated;
+    }
+
+    /**
+     * Returns the error messages in the order XMLParser reports them.
+     */
+    public MyArrayList<String> getErrors() {
+        MyArrayList<String> errors = new MyArrayList<>();
+
+        for (int i = 0; i < problems.size(); i++) {
+            for (Problem problem : problems.get(i)) {
+                errors.add(problem.message(i + 1));
+            }
+        }
+
+        // Unclosed tags are reported top of the stack first
+        for (int i = 0; i < end.ids.length; i++) {
+            errors.add(XMLParser.unclosedMessage(tagNames.name(end.ids[i]), end.openedOn[i]));
+        }
+        return errors;
+    }
+
+    /**
+     * Prints the errors in the same format as XMLParser.printErrors.
+     */
+    public void printErrors(PrintStream out) {
+        MyArrayList<String> errors = getErrors();
+        if (errors.isEmpty()) {
+            out.println("XML is well-formed! No errors found.");
+            return;
+        }
+
+        out.println("XML Errors:");
+        Iterator<String> it = errors.iterator();
+        while (it.hasNext()) {
+            out.println(it.next());
+        }
+    }
+
+    private static void checkLines(ListADT<String> documentLines) {
+        if (documentLines == null) {
+            throw new NullPointerException("Lines cannot be null.");
+        }
+        Iterator<String> it = documentLines.iterator();
+        while (it.hasNext()) {
+            String line = it.next();
+            if (line.indexOf('\n') != -1 || line.indexOf('\r') != -1) {
+                throw new IllegalArgumentException("A line cannot contain a line terminator.");
+            }
+        }
+    }
+
+    /**
+     * Validates one line against the current stack and records its problems.
+     */
+    private void validateLine(int index) {
+        byte[] bytes = lines.get(index).getBytes(StandardCharsets.UTF_8);
+
+        lineProblems.clear();
+        tokenizer.tokenizeLine(bytes, 0, bytes.length, index + 1);
+
+        problems.set(index, lineProblems.isEmpty()
+                ? NO_PROBLEMS : lineProblems.toArray(new Problem[lineProblems.size()]));
+    }
+
+    private Checkpoint snapshot(int line) {
+        return new Checkpoint(line, tagStack.toArray(), tagStack.toLineArray());
+    }
+
+    /**
+     * Moves an old line number past the edited range by delta. Lines in
+     * front of or inside the range keep their number.
+     */
+    private static int shift(int lineNumber, int oldEnd, int delta) {
+        return lineNumber > oldEnd ? lineNumber + delta : lineNumber;
+    }
+
+    /**
+     * Applies the tag stack rules to one line, like XMLParser.TokenHandler,
+     * but keeps the problems instead of formatting them.
+     */
+    private class LineHandler implements XMLTokenizer.TagHandler {
+
+        @Override
+        public void processingInstruction(byte[] buf, int start, int end, int lineNumber) {
+            // ignored, like in processLine
+        }
+
+        @Override
+        public void openTag(byte[] buf, int nameStart, int nameEnd, int lineNumber) {
+            tagStack.push(tagNames.intern(buf, nameStart, nameEnd), lineNumber);
+        }
+
+        @Override
+        public void closeTag(byte[] buf, int nameStart, int nameEnd, int lineNumber) {
+            if (tagStack.isEmpty()) {
+                lineProblems.add(new Problem(UNMATCHED_CLOSER, 0, 0, XMLParser.decode(buf, nameStart, nameEnd)));
+                return;
+            }
+
+            int openedOn = tagStack.peekLine();
+            int top = tagStack.pop();
+
+            if (top != tagNames.find(buf, nameStart, nameEnd)) {
+                lineProblems.add(new Problem(MISMATCH, top, openedOn, XMLParser.decode(buf, nameStart, nameEnd)));
+            }
+        }
+
+        @Override
+        public void selfClosingTag(byte[] buf, int nameStart, int nameEnd, int lineNumber) {
+            // valid self-closing
+        }
+
+        @Override
+        public void text(byte[] buf, int start, int end, int lineNumber) {
+            // text content is not validated
+        }
+
+        @Override
+        public void malformed(int problem, int lineNumber) {
+            lineProblems.add(new Problem(problem, 0, 0, null));
+        }
+    }
+
+    /**
+     * One problem found on a line. The line number itself is not stored,
+     * so lines can move without touching their problems; only the line a
+     * mismatched tag was opened on has to be shifted.
+     */
+    private class Problem {
+        final int kind;
+        final int expected;   // tag id, for a mismatch
+        int openedOn;         // line of the expected tag, for a mismatch
+        final String found;   // the closing tag's name, if any
+
+        Problem(int kind, int expected, int openedOn, String found) {
+            this.kind = kind;
+            this.expected = expected;
+            this.openedOn = openedOn;
+            this.found = found;
+        }
+
+        String message(int lineNumber) {
+            if (kind == UNMATCHED_CLOSER) {
+                return XMLParser.unmatchedMessage(lineNumber, found);
+            }
+            if (kind == MISMATCH) {
+                return XMLParser.mismatchMessage(lineNumber, tagNames.name(expected), openedOn, found);
+            }
+            return XMLParser.malformedMessage(kind, lineNumber);
+        }
+    }
+
+    /**
+     * The tag stack as it was before a given line (0-based), top first.
+     */
+    private static class Checkpoint {
+        int line;
+        final int[] ids;
+        final int[] openedOn;
+
+        Checkpoint(int line, int[] ids, int[] openedOn) {
+            this.line = line;
+            this.ids = ids;
+            this.openedOn = openedOn;
+        }
+
+        void shift(int oldEnd, int delta) {
+            line += delta;
+            for (int i = 0; i < openedOn.length; i++) {
+                openedOn[i] = IncrementalValidator.shift(openedOn[i], oldEnd, delta);
+            }
+        }
+
+        boolean matches(IntStack stack) {
+            return stack.size() == ids.length
+                    && Arrays.equals(stack.toArray(), ids)
+                    && Arrays.equals(stack.toLineArray(), openedOn);
+        }
+
+        void restore(IntStack stack) {
+            stack.clear();
+            for (int i = ids.length - 1; i >= 0; i--) {
+                stack.push(ids[i], openedOn[i]);
+            }
+        }
+    }
+}
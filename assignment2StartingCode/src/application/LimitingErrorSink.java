@@ -0,0 +1,50 @@
+package application;
+
+/**
+ * Passes the first few errors on to another sink and then asks the
+ * parser to stop.
+ */
+public class LimitingErrorSink implements ErrorSink {
+
+    private final ErrorSink target;
+    private final int maxErrors;
+    private int accepted = 0;
+
+    /**
+     * @param target    The sink that receives the errors.
+     * @param maxErrors How many errors to pass on.
+     */
+    public LimitingErrorSink(ErrorSink target, int maxErrors) {
+        if (target == null) {
+            throw new NullPointerException("Target sink cannot be null.");
+        }
+        if (maxErrors <= 0) {
+            throw new IllegalArgumentException("Error limit must be positive: " + maxErrors);
+        }
+        this.target = target;
+        this.maxErrors = maxErrors;
+    }
+
+    @Override
+    public boolean accept(XMLError error) {
+        if (accepted >= maxErrors) {
+            return false;
+        }
+        accepted++;
+        return target.accept(error) && accepted < maxErrors;
+    }
+
+    /**
+     * Returns true once the limit has been reached.
+     */
+    public boolean isFull() {
+        return accepted >= maxErrors;
+    }
+
+    /**
+     * Lets the next file start from zero again.
+     */
+    public void reset() {
+        accepted = 0;
+    }
+}
@@ -0,0 +1,266 @@
+package application;
+
+import implementations.IntArrayList;
+import implementations.MyArrayList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * ParallelValidator
+ * --------------------------------------------
+ * Splits one large XML file into chunks and tokenizes the chunks at the
+ * same time on a ForkJoinPool.
+ *
+ * Chunks always end right after a line terminator. Tags never span lines
+ * in this checker, so a chunk boundary is also a tag boundary, and each
+ * chunk can count its own lines from 1.
+ *
+ * A chunk cannot know what is open before it starts, so it only reduces
+ * itself to a {@link ChunkSummary}: the errors it could decide alone, the
+ * closing tags it could not match (kept in order, between those errors),
+ * and the tags still open at its end. XMLParser replays the summaries
+ * left to right against its real tag stack, which gives exactly the
+ * sequential error list.
+ */
+class ParallelValidator {
+
+    // Nominal chunk size; the real boundary moves forward to the next line end
+    static final long CHUNK_SIZE = 32L * 1024 * 1024;
+
+    // Largest region mapped at once; a single mapping cannot exceed 2 GB
+    private static final long MAP_WINDOW = 256L * 1024 * 1024;
+
+    private final ForkJoinPool pool;
+    private final long chunkSize;
+
+    /**
+     * Creates a validator that submits its chunks to the given pool.
+     */
+    ParallelValidator(ForkJoinPool pool, long chunkSize) {
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Receives the chunk summaries in file order.
+     */
+    interface SummaryConsumer {
+
+        /**
+         * @return true for the next summary, false to cancel the chunks
+         *         not handed over yet
+         */
+        boolean accept(ChunkSummary summary);
+    }
+
+    /**
+     * Tokenizes every chunk of the file in parallel and hands the
+     * summaries to the consumer in file order, each as soon as it and
+     * the ones before it are done. Once the consumer asks to stop, every
+     * chunk stops at its next line, so the file is closed almost at once.
+     */
+    void summarize(String fileName, SummaryConsumer consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            long size = channel.size();
+            int chunks = (int) Math.max(1, (size + chunkSize - 1) / chunkSize);
+
+            // Chunk i covers [bounds[i], bounds[i + 1])
+            long[] bounds = new long[chunks + 1];
+            for (int i = 1; i < chunks; i++) {
+                bounds[i] = Math.max(bounds[i - 1], lineBoundary(channel, i * chunkSize, size));
+            }
+            bounds[chunks] = size;
+
+            ChunkSummary[] summaries = new ChunkSummary[chunks];
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            ForkJoinTask<ChunkSummary>[] tasks = new ForkJoinTask[chunks];
+            for (int i = 0; i < chunks; i++) {
+                summaries[i] = new ChunkSummary();
+                tasks[i] = pool.submit(chunkTask(channel, bounds[i], bounds[i + 1], summaries[i]));
+            }
+
+            try {
+                for (int i = 0; i < chunks; i++) {
+                    if (!consumer.accept(await(tasks[i]))) {
+                        break;
+                    }
+                }
+            } finally {
+                // Chunks not started yet return at once; running ones finish their line.
+                // They are not cancelled: cancel() would let a running chunk go on
+                // reading after the join, and the channel must outlive every read of it.
+                for (ChunkSummary summary : summaries) {
+                    summary.tokenizer.stop();
+                }
+                for (ForkJoinTask<ChunkSummary> task : tasks) {
+                    task.quietlyJoin();
+                }
+            }
+        }
+    }
+
+    private static Callable<ChunkSummary> chunkTask(final FileChannel channel, final long start, final long end,
+                                                    final ChunkSummary summary) {
+        return new Callable<ChunkSummary>() {
+            @Override
+            public ChunkSummary call() throws IOException {
+                XMLTokenizer tokenizer = summary.tokenizer;
+
+                for (long position = start; position < end && !tokenizer.isStopped(); position += MAP_WINDOW) {
+                    long length = Math.min(MAP_WINDOW, end - position);
+                    tokenizer.feed(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+                }
+
+                summary.lineCount = tokenizer.getLineNumber() - 1;
+                tokenizer.finish();
+                return summary;
+            }
+        };
+    }
+
+    private static ChunkSummary await(ForkJoinTask<ChunkSummary> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while validating", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Returns the first offset at or after position that starts a new
+     * line. A \r\n pair is never split.
+     */
+    static long lineBoundary(FileChannel channel, long position, long size) throws IOException {
+        if (position <= 0) return 0;
+        if (position >= size) return size;
+
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long offset = position - 1;
+        boolean afterCarriageReturn = false;
+
+        while (offset < size) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) break;
+
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (afterCarriageReturn) {
+                    return b == '\n' ? offset + i + 1 : offset + i;
+                }
+                if (b == '\n') {
+                    return offset + i + 1;
+                }
+                afterCarriageReturn = (b == '\r');
+            }
+            offset += read;
+        }
+        return size;
+    }
+
+    /**
+     * The reduced result of one chunk: an ordered list of entries plus the
+     * tags still open when the chunk ends. Line numbers are relative to
+     * the start of the chunk.
+     */
+    static class ChunkSummary implements XMLTokenizer.TagHandler {
+
+        /** Entry kind for a closing tag that must be matched against earlier chunks. */
+        static final int UNMATCHED_CLOSER = 0;
+
+        /** Entry kind for a closing tag that did not match a tag opened in this chunk. */
+        static final int MISMATCH = -1;
+
+        // Entries in the order they were found; other kinds are XMLTokenizer problems
+        final MyArrayList<Entry> entries = new MyArrayList<>();
+
+        // Tags still open at the end of the chunk, bottom first, and their lines
+        final MyArrayList<String> openers = new MyArrayList<>();
+        final IntArrayList openerLines = new IntArrayList();
+
+        // Number of line terminators in the chunk
+        int lineCount;
+
+        // Feeds this summary; asked for the column of each entry
+        final XMLTokenizer tokenizer = new XMLTokenizer(this);
+
+        @Override
+        public void processingInstruction(byte[] buf, int start, int end, int lineNumber) {
+            // ignored, like in processLine
+        }
+
+        @Override
+        public void openTag(byte[] buf, int nameStart, int nameEnd, int lineNumber) {
+            openers.add(XMLParser.decode(buf, nameStart, nameEnd));
+            openerLines.add(lineNumber);
+        }
+
+        @Override
+        public void closeTag(byte[] buf, int nameStart, int nameEnd, int lineNumber) {
+            if (openers.isEmpty()) {
+                entries.add(new Entry(UNMATCHED_CLOSER, lineNumber, tokenizer.getColumn(),
+                        null, 0, XMLParser.decode(buf, nameStart, nameEnd)));
+                return;
+            }
+
+            String top = openers.remove(openers.size() - 1);
+            int openedOn = openerLines.remove(openerLines.size() - 1);
+
+            if (!XMLParser.sameName(top, buf, nameStart, nameEnd)) {
+                entries.add(new Entry(MISMATCH, lineNumber, tokenizer.getColumn(),
+                        top, openedOn, XMLParser.decode(buf, nameStart, nameEnd)));
+            }
+        }
+
+        @Override
+        public void selfClosingTag(byte[] buf, int nameStart, int nameEnd, int lineNumber) {
+            // valid self-closing
+        }
+
+        @Override
+        public void text(byte[] buf, int start, int end, int lineNumber) {
+            // text content is not validated
+        }
+
+        @Override
+        public void malformed(int problem, int lineNumber) {
+            entries.add(new Entry(problem, lineNumber, tokenizer.getColumn(), null, 0, null));
+        }
+    }
+
+    /**
+     * One entry of a chunk summary. For a mismatch, expectedLine is the
+     * line the expected tag was opened on.
+     */
+    static class Entry {
+        final int kind;
+        final int lineNumber;
+        final int column;
+        final String expected;
+        final int expectedLine;
+        final String found;
+
+        Entry(int kind, int lineNumber, int column, String expected, int expectedLine, String found) {
+            this.kind = kind;
+            this.lineNumber = lineNumber;
+            this.column = column;
+            this.expected = expected;
+            this.expectedLine = expectedLine;
+            this.found = found;
+        }
+    }
+}
@@ -0,0 +1,443 @@
+package application;
+
+import implementations.MyArrayList;
+import utilities.Iterator;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ResultCache
+ * --------------------------------------------
+ * An on-disk cache of validation results, so a file that was already
+ * validated is not parsed again.
+ *
+ * Results are keyed by the SHA-256 of the file's bytes and
+ * XMLParser.VERSION, so a parser whose rules or messages changed never
+ * sees old results, and a renamed or copied file still hits. A hit always
+ * reads the file to hash it: its size and timestamps are not trusted,
+ * since a file can be rewritten without changing either. They are only
+ * used to notice a file that changed while it was being parsed. Each
+ * entry is one file in the cache directory holding the ordered error
+ * records, one per line.
+ *
+ * The total size of the entries is kept under a limit by evicting the
+ * least recently used ones. Use is recorded in the entry's modification
+ * time, so the order survives restarts and the same directory can be
+ * shared by several runs. Entries are written to a temporary file and
+ * then moved into place, so a reader never sees half an entry.
+ *
+ * One cache can be shared by the parsers of a batch run. Only the
+ * in-memory index is locked; entries are read, written and deleted
+ * outside the lock, so workers do not wait on each other's disk I/O.
+ * Losing a race with another worker at worst drops an entry, which only
+ * costs a parse the next time.
+ */
+public class ResultCache {
+
+    private static final String SUFFIX = ".errors";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Charged per entry on top of its content, so empty results still count
+    private static final long ENTRY_OVERHEAD = 256;
+
+    private final Path directory;
+    private final long maxBytes;
+    private final String version;
+
+    // Entry name -> size in bytes, least recently used first
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes = 0;
+
+    private long hits = 0;
+    private long misses = 0;
+
+    /**
+     * Opens (or creates) a cache in the given directory for results of
+     * this version of XMLParser.
+     * @param directory Where the entries are stored.
+     * @param maxBytes  The most bytes the entries may take up together.
+     */
+    public ResultCache(String directory, long maxBytes) throws IOException {
+        this(directory, maxBytes, XMLParser.VERSION);
+    }
+
+    /**
+     * Opens (or creates) a cache whose keys include the given version
+     * instead of XMLParser.VERSION. Caches opened with different versions
+     * can share a directory without seeing each other's results.
+     * @param directory Where the entries are stored.
+     * @param maxBytes  The most bytes the entries may take up together.
+     * @param version   Included in every key.
+     */
+    public ResultCache(String directory, long maxBytes, String version) throws IOException {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxBytes);
+        }
+        if (version == null) {
+            throw new NullPointerException("Version cannot be null.");
+        }
+        this.directory = Paths.get(directory);
+        this.maxBytes = maxBytes;
+        this.version = version;
+
+        Files.createDirectories(this.directory);
+        loadEntries();
+        deleteAll(evict());
+    }
+
+    /**
+     * Rebuilds the LRU order from the entries already on disk, oldest
+     * modification time first.
+     */
+    private void loadEntries() throws IOException {
+        List<Path> found = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path path : stream) {
+                found.add(path);
+            }
+        }
+
+        final Map<Path, FileTime> times = new LinkedHashMap<>();
+        for (Path path : found) {
+            times.put(path, Files.getLastModifiedTime(path));
+        }
+        Collections.sort(found, new Comparator<Path>() {
+            @Override
+            public int compare(Path a, Path b) {
+                return times.get(a).compareTo(times.get(b));
+            }
+        });
+
+        for (Path path : found) {
+            long size = Files.size(path) + ENTRY_OVERHEAD;
+            entries.put(path.getFileName().toString(), size);
+            totalBytes += size;
+        }
+    }
+
+    /**
+     * Returns the cache key for the current content of a file.
+     */
+    public String key(String fileName) throws IOException {
+        MessageDigest digest = sha256();
+        digest.update(version.getBytes(StandardCharsets.UTF_8));
+        // ends the version, so it cannot run into the content
+        digest.update((byte) 0);
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(Paths.get(fileName))) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return hex(digest);
+    }
+
+    /**
+     * Returns a file's absolute path, size, modification time and, where
+     * the file system has them, file key and change time, without reading
+     * the file. Tools that keep the modification time when they rewrite a
+     * file still change the change time.
+     */
+    private static String state(String fileName) throws IOException {
+        Path path = Paths.get(fileName).toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+
+        StringBuilder state = new StringBuilder(path.toString());
+        state.append('\0').append(attributes.size());
+        state.append('\0').append(attributes.lastModifiedTime());
+        state.append('\0').append(attributes.fileKey());
+        if (path.getFileSystem().supportedFileAttributeViews().contains("unix")) {
+            state.append('\0').append(Files.getAttribute(path, "unix:ctime"));
+        }
+        return state.toString();
+    }
+
+    private static String hex(MessageDigest digest) {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+            hex.append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * The result of looking a file up, to be handed back to store() once
+     * the file has been parsed.
+     */
+    public static final class Lookup {
+        private final String fileName;
+        private final String state;
+        private final String key;
+        private final MyArrayList<String> records;
+
+        private Lookup(String fileName, String state, String key, MyArrayList<String> records) {
+            this.fileName = fileName;
+            this.state = state;
+            this.key = key;
+            this.records = records;
+        }
+
+        /**
+         * Returns the stored error records, or null on a miss.
+         */
+        public MyArrayList<String> getRecords() {
+            return records;
+        }
+    }
+
+    /**
+     * Looks up the result for a file by its content key, which reads the
+     * whole file. A caller that may stop reading early, e.g. at the first
+     * error, can pass false for hashContent: the lookup then misses
+     * without reading the file, and the key is only computed by store()
+     * once a parse has read the whole file anyway. Counts as one hit or
+     * one miss.
+     * @throws IOException if the file cannot be read
+     */
+    public Lookup lookup(String fileName, boolean hashContent) throws IOException {
+        String state = state(fileName);
+
+        String key = null;
+        MyArrayList<String> records = null;
+        if (hashContent) {
+            key = key(fileName);
+            records = read(key);
+        }
+
+        synchronized (this) {
+            if (records == null) {
+                misses++;
+            } else {
+                hits++;
+            }
+        }
+        return new Lookup(fileName, state, key, records);
+    }
+
+    /**
+     * Stores the complete error records of a file looked up before it was
+     * parsed. Nothing is stored if the file changed since the lookup,
+     * because the records may then belong to neither version of it.
+     */
+    public void store(Lookup lookup, MyArrayList<String> errors) {
+        String key = lookup.key;
+        try {
+            if (key == null) {
+                key = key(lookup.fileName);
+            }
+            // checked after hashing, so the key is of the content that was parsed
+            if (!state(lookup.fileName).equals(lookup.state)) {
+                return;
+            }
+        } catch (IOException e) {
+            return;
+        }
+        put(key, errors);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the error records stored for a key, or null on a miss.
+     * A hit counts as a use of the entry. Entries written by another run
+     * sharing the directory are found too.
+     */
+    public MyArrayList<String> get(String key) {
+        MyArrayList<String> errors = read(key);
+        synchronized (this) {
+            if (errors == null) {
+                misses++;
+            } else {
+                hits++;
+            }
+        }
+        return errors;
+    }
+
+    private MyArrayList<String> read(String key) {
+        String name = key + SUFFIX;
+        Path path = directory.resolve(name);
+        MyArrayList<String> errors = new MyArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                errors.add(line);
+            }
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (NoSuchFileException e) {
+            // never stored, or evicted by another run sharing the directory
+            synchronized (this) {
+                forget(name);
+            }
+            return null;
+        } catch (IOException e) {
+            return null;
+        }
+
+        boolean known;
+        synchronized (this) {
+            // also moves a known entry to the most recently used end
+            known = entries.get(name) != null;
+        }
+        if (!known) {
+            index(name, sizeOf(path) + ENTRY_OVERHEAD);
+        }
+        return errors;
+    }
+
+    /**
+     * Stores the error records for a key, then evicts the least recently
+     * used entries until the cache fits its size limit again. Failing to
+     * write is not an error; the result is simply not cached.
+     */
+    public void put(String key, MyArrayList<String> errors) {
+        String name = key + SUFFIX;
+        Path path = directory.resolve(name);
+
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, key, ".tmp");
+            try (Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(Files.newOutputStream(temp), StandardCharsets.UTF_8))) {
+                Iterator<String> it = errors.iterator();
+                while (it.hasNext()) {
+                    writer.write(it.next());
+                    writer.write('\n');
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            return;
+        }
+
+        index(name, sizeOf(path) + ENTRY_OVERHEAD);
+    }
+
+    /**
+     * Records an entry as the most recently used one and deletes the
+     * entries evicted to make room for it.
+     */
+    private void index(String name, long size) {
+        List<String> evicted;
+        synchronized (this) {
+            forget(name);
+            entries.put(name, size);
+            totalBytes += size;
+            evicted = evict();
+        }
+        deleteAll(evicted);
+    }
+
+    private void forget(String name) {
+        Long size = entries.remove(name);
+        if (size != null) {
+            totalBytes -= size;
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // nothing more can be done
+        }
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Drops the least recently used entries from the index until the
+     * cache fits its limit, and returns their names for the caller to
+     * delete once the lock is released. Called with the lock held.
+     */
+    private List<String> evict() {
+        List<String> evicted = new ArrayList<>();
+        java.util.Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            evicted.add(entry.getKey());
+            totalBytes -= entry.getValue();
+            eldest.remove();
+        }
+        return evicted;
+    }
+
+    private void deleteAll(List<String> names) {
+        for (String name : names) {
+            // dropped from the index even if the delete fails; it is rebuilt on the next start
+            deleteQuietly(directory.resolve(name));
+        }
+    }
+
+    /**
+     * Returns the number of lookups that found a stored result.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that had to parse the file.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of entries in the cache.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the bytes charged for the entries, including a fixed
+     * overhead per entry.
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+}
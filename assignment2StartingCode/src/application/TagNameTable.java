@@ -0,0 +1,231 @@
+package application;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * TagNameTable
+ * --------------------------------------------
+ * A symbol table that gives every distinct tag name a small int id.
+ *
+ * Documents reuse a small vocabulary of tag names across many elements,
+ * so the parser interns each name once and afterwards works with ids: the
+ * tag stack holds ints and a closing tag matches when its id is the same
+ * as the popped one. Names can be looked up straight from a byte range
+ * (as reported by XMLTokenizer) or a char range, without creating a
+ * String unless the name has not been seen before.
+ *
+ * Ids are handed out from 0 in the order names are first interned and
+ * never change. The table is not thread-safe.
+ */
+public class TagNameTable {
+
+    /** Returned by find when the name has never been interned. */
+    public static final int NOT_FOUND = -1;
+
+    private static final int INITIAL_SLOTS = 256;   // must be a power of two
+
+    // Marks a byte range that must be decoded before it can be hashed;
+    // real hashes are never negative
+    private static final int NON_ASCII = -1;
+
+    // Open-addressing hash index: id + 1 per slot, 0 for an empty slot
+    private int[] slots = new int[INITIAL_SLOTS];
+
+    // Per id: the name and its hash
+    private String[] names = new String[INITIAL_SLOTS / 2];
+    private int[] hashes = new int[INITIAL_SLOTS / 2];
+
+    private int count = 0;
+
+    /**
+     * Returns the number of distinct names interned so far.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the name with the given id.
+     * @throws IndexOutOfBoundsException if no name has that id
+     */
+    public String name(int id) throws IndexOutOfBoundsException {
+        if (id < 0 || id >= count) {
+            throw new IndexOutOfBoundsException("Id: " + id + ", Size: " + count);
+        }
+        return names[id];
+    }
+
+    /**
+     * Returns the id of a name, adding it to the table if needed.
+     */
+    public int intern(String name) {
+        return intern(name, 0, name.length());
+    }
+
+    /**
+     * Returns the id of the name held in chars[start, end), adding it to
+     * the table if needed. No String is created for a known name.
+     */
+    public int intern(CharSequence chars, int start, int end) {
+        int hash = hash(chars, start, end);
+        int id = find(hash, chars, start, end);
+        if (id != NOT_FOUND) {
+            return id;
+        }
+        return add(chars.subSequence(start, end).toString(), hash);
+    }
+
+    /**
+     * Returns the id of the UTF-8 name held in buf[start, end), adding it
+     * to the table if needed. No String is created for a known ASCII name.
+     */
+    public int intern(byte[] buf, int start, int end) {
+        int hash = asciiHash(buf, start, end);
+        if (hash == NON_ASCII) {
+            return intern(decode(buf, start, end));
+        }
+        int id = find(hash, buf, start, end);
+        if (id != NOT_FOUND) {
+            return id;
+        }
+        return add(new String(buf, start, end - start, StandardCharsets.US_ASCII), hash);
+    }
+
+    /**
+     * Returns the id of a name, or NOT_FOUND if it was never interned.
+     */
+    public int find(String name) {
+        return find(hash(name, 0, name.length()), name, 0, name.length());
+    }
+
+    /**
+     * Returns the id of the UTF-8 name held in buf[start, end), or
+     * NOT_FOUND if it was never interned. The table is not changed.
+     */
+    public int find(byte[] buf, int start, int end) {
+        int hash = asciiHash(buf, start, end);
+        if (hash == NON_ASCII) {
+            return find(decode(buf, start, end));
+        }
+        return find(hash, buf, start, end);
+    }
+
+    private int find(int hash, CharSequence chars, int start, int end) {
+        int mask = slots.length - 1;
+        for (int slot = hash & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int id = slots[slot] - 1;
+            if (hashes[id] == hash && matches(names[id], chars, start, end)) {
+                return id;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private int find(int hash, byte[] buf, int start, int end) {
+        int mask = slots.length - 1;
+        for (int slot = hash & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int id = slots[slot] - 1;
+            if (hashes[id] == hash && matches(names[id], buf, start, end)) {
+                return id;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private int add(String name, int hash) {
+        if (count == names.length) {
+            names = Arrays.copyOf(names, count * 2);
+            hashes = Arrays.copyOf(hashes, count * 2);
+        }
+        int id = count++;
+        names[id] = name;
+        hashes[id] = hash;
+
+        // Keep the index at most half full so probe runs stay short
+        if (count * 2 > slots.length) {
+            rehash(slots.length * 2);
+        } else {
+            place(id);
+        }
+        return id;
+    }
+
+    private void rehash(int slotCount) {
+        slots = new int[slotCount];
+        for (int id = 0; id < count; id++) {
+            place(id);
+        }
+    }
+
+    private void place(int id) {
+        int mask = slots.length - 1;
+        int slot = hashes[id] & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = id + 1;
+    }
+
+    private static boolean matches(String name, CharSequence chars, int start, int end) {
+        if (name.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != chars.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(String name, byte[] buf, int start, int end) {
+        if (name.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != (char) buf[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Both hashes give the same value for the same characters, since an
+     * ASCII byte and its char have the same code. The result is spread so
+     * that the low bits used by the index depend on every character.
+     */
+
+    private static int hash(CharSequence chars, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + chars.charAt(i);
+        }
+        return spread(h);
+    }
+
+    /**
+     * Returns the hash of an ASCII byte range, or NON_ASCII if the range
+     * holds a multi-byte character.
+     */
+    private static int asciiHash(byte[] buf, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            byte b = buf[i];
+            if (b < 0) {
+                return NON_ASCII;
+            }
+            h = 31 * h + b;
+        }
+        return spread(h);
+    }
+
+    private static int spread(int h) {
+        return (h ^ (h >>> 16)) & 0x7FFFFFFF;
+    }
+
+    private static String decode(byte[] buf, int start, int end) {
+        return new String(buf, start, end - start, StandardCharsets.UTF_8);
+    }
+}
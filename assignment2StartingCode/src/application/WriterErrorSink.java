@@ -0,0 +1,111 @@
+package application;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Writes each error as one line to a Writer, in a given ErrorFormat.
+ *
+ * Errors are formatted into one reusable buffer, which is handed to the
+ * writer in large batches, so a large error list costs a few large writes
+ * instead of one per error. Call flush() once the file has been parsed,
+ * or close() to flush and close the writer.
+ */
+public class WriterErrorSink implements ErrorSink, Closeable {
+
+    // Characters formatted before the buffer is written out
+    private static final int BATCH_SIZE = 64 * 1024;
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final BufferedWriter writer;
+    private final ErrorFormat format;
+    private final StringBuilder batch = new StringBuilder(BATCH_SIZE + 256);
+    private char[] chars = new char[BATCH_SIZE + 256];
+    private long written = 0;
+
+    /**
+     * Creates a sink writing messages to the given writer. It is wrapped
+     * in a BufferedWriter unless it already is one.
+     */
+    public WriterErrorSink(Writer writer) {
+        this(writer, ErrorFormat.TEXT);
+    }
+
+    /**
+     * Creates a sink writing errors in the given format. The format's
+     * header line, if it has one, is written first.
+     */
+    public WriterErrorSink(Writer writer, ErrorFormat format) {
+        if (writer == null || format == null) {
+            throw new NullPointerException("Writer and format cannot be null.");
+        }
+        this.writer = writer instanceof BufferedWriter ? (BufferedWriter) writer : new BufferedWriter(writer);
+        this.format = format;
+
+        String header = format.header();
+        if (header != null) {
+            batch.append(header).append(LINE_SEPARATOR);
+        }
+    }
+
+    /**
+     * @throws UncheckedIOException if the writer fails
+     */
+    @Override
+    public boolean accept(XMLError error) {
+        format.append(error, batch);
+        batch.append(LINE_SEPARATOR);
+        written++;
+
+        if (batch.length() >= BATCH_SIZE) {
+            try {
+                writeBatch();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return true;
+    }
+
+    private void writeBatch() throws IOException {
+        int length = batch.length();
+        if (length > chars.length) {
+            chars = new char[length];
+        }
+        batch.getChars(0, length, chars, 0);
+        // a write this large goes straight past the BufferedWriter's own buffer
+        writer.write(chars, 0, length);
+        batch.setLength(0);
+    }
+
+    /**
+     * Returns the number of errors written.
+     */
+    public long getWritten() {
+        return written;
+    }
+
+    /**
+     * Writes out everything still buffered.
+     */
+    public void flush() throws IOException {
+        writeBatch();
+        writer.flush();
+    }
+
+    /**
+     * Writes out everything still buffered and closes the writer.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            writeBatch();
+        } finally {
+            writer.close();
+        }
+    }
+}
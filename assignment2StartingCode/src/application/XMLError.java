@@ -0,0 +1,215 @@
+package application;
+
+/**
+ * XMLError
+ * --------------------------------------------
+ * One problem found by XMLParser, kept as a small record instead of a
+ * ready-made message.
+ *
+ * Tag names are stored as ids in the parser's TagNameTable, so a record
+ * holds a few ints and two references, and the message is only built when
+ * getMessage() is called. getMessage() returns exactly the text the
+ * parser has always printed.
+ *
+ * Lines and columns are 1-based; columns count characters from the start
+ * of the untrimmed line. An unclosed tag is reported on the line it was
+ * opened on, with column 0.
+ */
+public final class XMLError {
+
+    /**
+     * The kind of problem.
+     */
+    public enum Code {
+        /** A '&lt;' on the line has no '&gt;' after it. */
+        MISSING_CLOSING_BRACKET,
+        /** Text between or after tags contains a stray '&gt;'. */
+        BAD_SUB_PHRASE,
+        /** A self-closing tag such as &lt;/&gt; has no name. */
+        SELF_CLOSING_NO_NAME,
+        /** A closing tag was found with no tag open. */
+        UNMATCHED_CLOSING_TAG,
+        /** A closing tag does not match the tag open on top of the stack. */
+        TAG_MISMATCH,
+        /** A tag was still open at the end of the file. */
+        UNCLOSED_TAG
+    }
+
+    /** Used for a tag id or line that does not apply to the code. */
+    public static final int NONE = -1;
+
+    private final Code code;
+    private final int line;
+    private final int column;
+    private final int expected;   // id of the open tag, or NONE
+    private final int openedOn;   // line the open tag was opened on, or NONE
+    private final int found;      // id of the closing tag, or NONE
+    private final TagNameTable names;
+
+    XMLError(Code code, int line, int column, int expected, int openedOn, int found, TagNameTable names) {
+        this.code = code;
+        this.line = line;
+        this.column = column;
+        this.expected = expected;
+        this.openedOn = openedOn;
+        this.found = found;
+        this.names = names;
+    }
+
+    /**
+     * Creates the record for a problem reported by XMLTokenizer.malformed.
+     */
+    static XMLError malformed(int problem, int line, int column) {
+        Code code;
+        switch (problem) {
+            case XMLTokenizer.MISSING_CLOSING_BRACKET:
+                code = Code.MISSING_CLOSING_BRACKET;
+                break;
+            case XMLTokenizer.BAD_SUB_PHRASE:
+                code = Code.BAD_SUB_PHRASE;
+                break;
+            default:
+                code = Code.SELF_CLOSING_NO_NAME;
+                break;
+        }
+        return new XMLError(code, line, column, NONE, NONE, NONE, null);
+    }
+
+    public Code getCode() {
+        return code;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * Returns the name of the tag that was open, or null if the code has none.
+     */
+    public String getExpectedTag() {
+        return expected == NONE ? null : names.name(expected);
+    }
+
+    /**
+     * Returns the line the open tag was opened on, or NONE.
+     */
+    public int getOpenedOn() {
+        return openedOn;
+    }
+
+    /**
+     * Returns the name of the closing tag, or null if the code has none.
+     */
+    public String getFoundTag() {
+        return found == NONE ? null : names.name(found);
+    }
+
+    /**
+     * Returns the id of the open tag in the parser's TagNameTable, or NONE.
+     */
+    public int getExpectedId() {
+        return expected;
+    }
+
+    /**
+     * Returns the id of the closing tag in the parser's TagNameTable, or NONE.
+     */
+    public int getFoundId() {
+        return found;
+    }
+
+    /**
+     * Builds the message printed for this error.
+     */
+    public String getMessage() {
+        switch (code) {
+            case MISSING_CLOSING_BRACKET:
+                return XMLParser.malformedMessage(XMLTokenizer.MISSING_CLOSING_BRACKET, line);
+            case BAD_SUB_PHRASE:
+                return XMLParser.malformedMessage(XMLTokenizer.BAD_SUB_PHRASE, line);
+            case SELF_CLOSING_NO_NAME:
+                return XMLParser.malformedMessage(XMLTokenizer.SELF_CLOSING_NO_NAME, line);
+            case UNMATCHED_CLOSING_TAG:
+                return XMLParser.unmatchedMessage(line, getFoundTag());
+            case TAG_MISMATCH:
+                return XMLParser.mismatchMessage(line, getExpectedTag(), openedOn, getFoundTag());
+            default:
+                return XMLParser.unclosedMessage(getExpectedTag(), openedOn);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getMessage();
+    }
+
+    /**
+     * Writes the record as one line of tab-separated fields, with tag
+     * names spelled out so it can be read back into any table. The record
+     * holds no line breaks, so records can be stored one per line.
+     */
+    public String toRecord() {
+        return code.name() + '\t' + line + '\t' + column + '\t' + openedOn
+                + '\t' + escape(getExpectedTag()) + '\t' + escape(getFoundTag());
+    }
+
+    /**
+     * Reads a record written by toRecord, interning its tag names.
+     * @throws IllegalArgumentException if the line is not a record
+     */
+    public static XMLError fromRecord(String record, TagNameTable names) throws IllegalArgumentException {
+        String[] fields = record.split("\t", -1);
+        if (fields.length != 6) {
+            throw new IllegalArgumentException("Not an error record: " + record);
+        }
+        try {
+            return new XMLError(Code.valueOf(fields[0]),
+                    Integer.parseInt(fields[1]), Integer.parseInt(fields[2]),
+                    intern(fields[4], names), Integer.parseInt(fields[3]),
+                    intern(fields[5], names), names);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not an error record: " + record, e);
+        }
+    }
+
+    private static int intern(String field, TagNameTable names) {
+        return field.isEmpty() ? NONE : names.intern(unescape(field.substring(1)));
+    }
+
+    /*
+     * A present name is written with a leading '=' so that it can be told
+     * apart from a missing one even when it is empty; tabs, line breaks and
+     * backslashes in names are escaped.
+     */
+
+    private static String escape(String name) {
+        if (name == null) {
+            return "";
+        }
+        return "=" + name.replace("\\", "\\\\").replace("\t", "\\t")
+                .replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                c = text.charAt(++i);
+                if (c == 't') {
+                    c = '\t';
+                } else if (c == 'n') {
+                    c = '\n';
+                } else if (c == 'r') {
+                    c = '\r';
+                }
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
@@ -1,12 +1,31 @@
 package application;
 
 import exceptions.EmptyQueueException;
-import implementations.MyStack;
+import implementations.IntStack;
+import implementations.MyArrayList;
 import implementations.MyQueue;
+import utilities.Iterator;
+import utilities.QueueADT;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  *
@@ -19,32 +38,482 @@ import java.io.IOException;
  */
 public class XMLParser {
 
-    // A stack to track opening tags
-    private MyStack<String> tagStack = new MyStack<>();
+    /**
+     * Identifies the rules and messages of this parser. Change it whenever
+     * either changes, so results cached by an older version are not reused.
+     */
+    public static final String VERSION = "4";
+
+    /**
+     * Selects how parseFile reads and scans the document.
+     * Every mode reports the same errors in the same order.
+     */
+    public enum Mode {
+        /** Reads one String per line and scans it with indexOf/substring. */
+        LINE,
+        /** Streams raw bytes through XMLTokenizer without building per-tag Strings. */
+        STREAMING,
+        /** Memory-maps the file and tokenizes it window by window. */
+        MAPPED,
+        /** Tokenizes chunks of one large file in parallel on a ForkJoinPool. */
+        PARALLEL
+    }
+
+    // Printed for a missing or invalid command line
+    private static final String USAGE = "Usage: java application.XMLParser [--mode=line|streaming|mapped|parallel]"
+            + " [--threads=N] [--virtual] [--cache=DIR] [--fail-fast|--max-errors=N]"
+            + " [--format=text|json|tsv] <xmlfile|directory>...";
+
+    // Size limit of a result cache opened with --cache
+    private static final long CACHE_SIZE = 256L * 1024 * 1024;
+
+    // Largest region mapped at once; a single mapping cannot exceed 2 GB
+    private static final long MAP_WINDOW = 256L * 1024 * 1024;
+
+    // Size of the buffer parseChannel reads into
+    private static final int CHANNEL_BUFFER_SIZE = 64 * 1024;
+
+    // How parseFile reads the document
+    private final Mode mode;
+
+    // Largest region the mapped mode maps at once
+    private long mapWindow = MAP_WINDOW;
+
+    // Target chunk size for the parallel mode
+    private long chunkSize = ParallelValidator.CHUNK_SIZE;
+
+    // Where read errors and results are printed
+    private PrintStream out = System.out;
+
+    // Set when the file could not be read
+    private boolean readError = false;
+
+    // Results of earlier runs, or null to always parse
+    private ResultCache cache;
+
+    // Gives every tag name of the current document a small id. Each
+    // document starts a new table, so a long-lived parser does not keep
+    // every name it has ever seen; reported errors keep their own table.
+    private TagNameTable tagNames = new TagNameTable();
+
+    // A stack to track opening tags, by their id in tagNames, and the
+    // line each one was opened on
+    private IntStack tagStack = new IntStack(64, true);
+
+    // A queue to collect errors in the order they occur
+    private final QueueADT<XMLError> errorQueue;
+
+    // Receives every error; by default it adds them to errorQueue
+    private ErrorSink sink;
+
+    // Stop reading after this many errors; 0 for no limit
+    private int maxErrors = 0;
+
+    // Errors reported for the current file
+    private int reported = 0;
+
+    // Set once the sink or the error limit wants no more errors for the
+    // current file; the parse then stops reading
+    private boolean stopped = false;
+
+    // Tokenizes the documents passed to feed(), created on first use
+    private TokenHandler pushHandler;
+
+    // True between the first feed() of a document and finish()
+    private boolean feeding = false;
+
+    // The errors of the current file, kept for the cache; null when not caching
+    private MyArrayList<XMLError> cacheRecords;
+
+    // The trimmed line being processed in line mode, and how much was
+    // trimmed from its start, to work out error columns
+    private String currentLine;
+    private int currentIndent;
+
+    /**
+     * Creates a parser using the line-based mode.
+     */
+    public XMLParser() {
+        this(Mode.LINE);
+    }
+
+    /**
+     * Creates a parser using the given mode.
+     */
+    public XMLParser(Mode mode) {
+        this(mode, new MyQueue<XMLError>());
+    }
+
+    /**
+     * Creates a parser using the given mode that records its errors in the
+     * given queue, e.g. a MyCircularQueue to avoid a node per error.
+     * A bounded queue stops the parse with an IllegalStateException once full.
+     * @param mode The way parseFile reads the document.
+     * @param errorQueue An empty queue to collect errors in.
+     */
+    public XMLParser(Mode mode, QueueADT<XMLError> errorQueue) {
+        if (mode == null || errorQueue == null) {
+            throw new NullPointerException("Mode and error queue cannot be null.");
+        }
+        if (!errorQueue.isEmpty()) {
+            throw new IllegalArgumentException("Error queue must be empty.");
+        }
+        this.mode = mode;
+        this.errorQueue = errorQueue;
+        this.sink = new QueueSink();
+    }
 
-    // A queue to collect error messages in the order they occur
-    private MyQueue<String> errorQueue = new MyQueue<>();
+    /**
+     * Sets the largest region the mapped mode maps at once (256 MB by
+     * default). Lines that straddle two windows are carried over, so
+     * this only trades the number of mappings against their size.
+     */
+    public void setMapWindow(long mapWindow) {
+        if (mapWindow <= 0) {
+            throw new IllegalArgumentException("Map window must be positive: " + mapWindow);
+        }
+        this.mapWindow = mapWindow;
+    }
+
+    /**
+     * Sets the target chunk size used by the parallel mode. Chunks are
+     * extended to the next line end, so this is a lower bound.
+     */
+    public void setChunkSize(long chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Sets the stream that read errors and printErrors write to.
+     * Defaults to System.out.
+     */
+    public void setOutput(PrintStream out) {
+        if (out == null) {
+            throw new NullPointerException("Output stream cannot be null.");
+        }
+        this.out = out;
+    }
+
+    /**
+     * Sends errors to the given sink instead of the error queue, or back
+     * to the queue when null. With a sink, printErrors and getErrorCount
+     * only see what is in the queue, so the sink is responsible for the
+     * results.
+     */
+    public void setErrorSink(ErrorSink sink) {
+        this.sink = sink == null ? new QueueSink() : sink;
+    }
+
+    /**
+     * Sets a cache that parseFile consults before parsing and fills after
+     * parsing, or null (the default) to always parse.
+     */
+    public void setCache(ResultCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Returns the number of errors in the error queue, i.e. recorded and
+     * not yet printed.
+     */
+    public int getErrorCount() {
+        return errorQueue.size();
+    }
+
+    /**
+     * Makes parseFile stop reading, and close the file, as soon as the
+     * given number of errors has been reported. Tags still open at that
+     * point are not reported. 0 (the default) means no limit.
+     */
+    public void setMaxErrors(int maxErrors) {
+        if (maxErrors < 0) {
+            throw new IllegalArgumentException("Error limit cannot be negative: " + maxErrors);
+        }
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Turns fail-fast mode on or off: stop at the first error, which is
+     * all that is needed to tell whether a document is well-formed.
+     */
+    public void setFailFast(boolean failFast) {
+        setMaxErrors(failFast ? 1 : 0);
+    }
+
+    /**
+     * Returns true if the last parseFile stopped before the end of the
+     * file because of the error limit or the error sink.
+     */
+    public boolean wasStopped() {
+        return stopped;
+    }
+
+    /**
+     * Returns true if the last parsed file could not be read.
+     */
+    public boolean hadReadError() {
+        return readError;
+    }
 
     /**
-     * Reads an XML file line-by-line and checks each line
-     * for violations in XML tag structure.
+     * Reads an XML file and checks each line for violations
+     * in XML tag structure, using the parser's mode.
      */
     public void parseFile(String fileName) {
-        try (BufferedReader reader = new BufferedReader(new FileReader(fileName))) {
+        if (feeding) {
+            throw new IllegalStateException("A fed document is in progress; call finish() first.");
+        }
+        startDocument();
+
+        if (cache == null) {
+            parse(fileName);
+            return;
+        }
+
+        ResultCache.Lookup lookup;
+        try {
+            // With an error limit the parse may stop early, so the file is
+            // not read up front just to hash it. The lookup then misses, but
+            // a parse that gets to the end of the file is still stored.
+            lookup = cache.lookup(fileName, maxErrors == 0);
+        } catch (IOException e) {
+            // let the parse report the file as unreadable
+            parse(fileName);
+            return;
+        }
+
+        MyArrayList<XMLError> cached = readCached(lookup.getRecords());
+        if (cached != null) {
+            Iterator<XMLError> it = cached.iterator();
+            while (it.hasNext() && !stopped) {
+                report(it.next());
+            }
+            return;
+        }
+
+        cacheRecords = new MyArrayList<>();
+        try {
+            parse(fileName);
+
+            // A parse that stopped early did not see every error
+            if (!readError && !stopped) {
+                MyArrayList<String> records = new MyArrayList<>();
+                Iterator<XMLError> it = cacheRecords.iterator();
+                while (it.hasNext()) {
+                    records.add(it.next().toRecord());
+                }
+                cache.store(lookup, records);
+            }
+        } finally {
+            cacheRecords = null;
+        }
+    }
+
+    /**
+     * Feeds the next bytes of a document that arrives in pieces, for
+     * example from a socket, without spooling it to a file. The first
+     * feed after finish() starts a new document. Lines, tags and even
+     * multi-byte characters may be split across buffers at any byte.
+     *
+     * Errors go to the error sink (or the queue) as soon as they are found;
+     * only tags still open at the end wait for finish(). Apart from the tag
+     * stack, the parser keeps nothing but the current unfinished line, so
+     * memory stays constant however long the document is. The buffer's
+     * position is advanced to its limit. The parser's mode is not used,
+     * and the result cache does not apply.
+     */
+    public void feed(ByteBuffer buffer) {
+        startFeeding().feed(buffer);
+    }
+
+    /**
+     * Feeds the next bytes of a document from an array. See feed(ByteBuffer).
+     */
+    public void feed(byte[] buf, int off, int len) {
+        if (off < 0 || len < 0 || off + len > buf.length) {
+            throw new IndexOutOfBoundsException("Range " + off + "+" + len + " of " + buf.length + " bytes");
+        }
+        startFeeding().feed(buf, off, len);
+    }
+
+    private XMLTokenizer startFeeding() {
+        if (pushHandler == null) {
+            pushHandler = new TokenHandler();
+        }
+        if (!feeding) {
+            feeding = true;
+            startDocument();
+        }
+        return pushHandler.tokenizer;
+    }
+
+    /**
+     * Resets the per-document state before a new file or fed document.
+     */
+    private void startDocument() {
+        readError = false;
+        stopped = false;
+        reported = 0;
+        tagNames = new TagNameTable();
+        // a parse that ended in an exception, e.g. from a full bounded
+        // queue, leaves its open tags behind
+        tagStack.clear();
+    }
+
+    /**
+     * Ends the document passed to feed(): a last line without a line
+     * terminator is checked, then the tags still open are reported. The
+     * parser is then ready for the next document. Finishing without any
+     * feed checks an empty document.
+     */
+    public void finish() {
+        startFeeding().finish();
+        endDocument();
+        feeding = false;
+    }
+
+    /**
+     * Reads a blocking channel to its end, feeding the bytes through one
+     * reusable buffer, and finishes the document. The channel is not
+     * closed. A non-blocking channel should be fed from its selector loop
+     * with feed() instead.
+     * @throws IllegalArgumentException if the channel is non-blocking
+     * @throws IOException if reading fails; the document is then finished
+     *         with what was read
+     */
+    public void parseChannel(ReadableByteChannel channel) throws IOException {
+        if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+            throw new IllegalArgumentException("Channel is non-blocking; feed it from a selector instead.");
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CHANNEL_BUFFER_SIZE);
+        try {
+            XMLTokenizer tokenizer = startFeeding();
+            while (!stopped && channel.read(buffer) != -1) {
+                buffer.flip();
+                tokenizer.feed(buffer);
+                buffer.clear();
+            }
+        } finally {
+            finish();
+        }
+    }
+
+    /**
+     * Returns the errors held by cached records, or null if there are
+     * none or a record cannot be read.
+     */
+    private MyArrayList<XMLError> readCached(MyArrayList<String> records) {
+        if (records == null) {
+            return null;
+        }
+
+        MyArrayList<XMLError> errors = new MyArrayList<>();
+        Iterator<String> it = records.iterator();
+        while (it.hasNext()) {
+            try {
+                errors.add(XMLError.fromRecord(it.next(), tagNames));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Hands an error to the sink, unless the sink already asked to stop.
+     */
+    private void report(XMLError error) {
+        if (stopped) {
+            return;
+        }
+        if (cacheRecords != null) {
+            cacheRecords.add(error);
+        }
+        reported++;
+        if (!sink.accept(error) || reported == maxErrors) {
+            stopped = true;
+        }
+    }
+
+    /**
+     * Adds errors to the error queue; the default sink.
+     */
+    private class QueueSink implements ErrorSink {
+        @Override
+        public boolean accept(XMLError error) {
+            errorQueue.enqueue(error);
+            return true;
+        }
+    }
+
+    private void parse(String fileName) {
+        switch (mode) {
+            case STREAMING:
+                parseStream(fileName);
+                break;
+            case MAPPED:
+                parseMapped(fileName);
+                break;
+            case PARALLEL:
+                parseParallel(fileName);
+                break;
+            default:
+                parseLines(fileName);
+                break;
+        }
+
+        endDocument();
+    }
+
+    /**
+     * Reports the tags left open, unless the parse was stopped early.
+     */
+    private void endDocument() {
+        if (stopped) {
+            // forget the open tags so the next file starts empty
+            tagStack.clear();
+        } else {
+            checkUnclosedTags();
+        }
+    }
+
+    /**
+     * Reads an XML file line-by-line and checks each line. The file is
+     * read as UTF-8, like the tokenizer-based modes do.
+     */
+    private void parseLines(String fileName) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(fileName), StandardCharsets.UTF_8))) {
 
             String line;
             int lineNumber = 1;
 
-            while ((line = reader.readLine()) != null) {
-                processLine(line.trim(), lineNumber);
+            while (!stopped && (line = reader.readLine()) != null) {
+                String trimmed = line.trim();
+                currentIndent = trimmed.isEmpty() ? 0 : line.indexOf(trimmed.charAt(0));
+                processLine(trimmed, lineNumber);
                 lineNumber++;
             }
 
         } catch (IOException e) {
-            System.out.println("Error reading file: " + fileName);
+            reportReadError(fileName);
         }
+    }
+
+    /**
+     * Streams the raw bytes of an XML file through the tokenizer.
+     */
+    private void parseStream(String fileName) {
+        XMLTokenizer tokenizer = new TokenHandler().tokenizer;
 
-        checkUnclosedTags();
+        try (InputStream in = new FileInputStream(fileName)) {
+            tokenizer.tokenize(in);
+        } catch (IOException e) {
+            reportReadError(fileName);
+        }
     }
 
     /**
@@ -62,6 +531,8 @@ public class XMLParser {
             return;
         }
 
+        currentLine = line;
+
         // Extract every tag inside the line
         int start = 0;
 
@@ -71,7 +542,7 @@ public class XMLParser {
             int end = line.indexOf('>', start);
 
             if (end == -1) {
-                errorQueue.enqueue("Line " + lineNumber + ": Missing closing '>'");
+                report(XMLError.malformed(XMLTokenizer.MISSING_CLOSING_BRACKET, lineNumber, columnAt(start)));
                 return;
             }
 
@@ -79,13 +550,13 @@ public class XMLParser {
             if (lastTagEnd != -1 && start > lastTagEnd + 1) {
                 String between = line.substring(lastTagEnd + 1, start).trim();
                 if (between.contains("<") || between.contains(">")) {
-                    errorQueue.enqueue("Line " + lineNumber +
-                            ": Sub-phrase is not well constructed between matching tags.");
+                    report(XMLError.malformed(XMLTokenizer.BAD_SUB_PHRASE, lineNumber,
+                            columnAt(firstBracket(line, lastTagEnd + 1))));
                 }
             }
 
             String tag = line.substring(start + 1, end).trim();
-            classifyTag(tag, lineNumber);
+            classifyTag(tag, lineNumber, start);
 
             lastTagEnd = end;       // *** Added by Ayush — update lastTagEnd ***
             start = end + 1;
@@ -95,18 +566,40 @@ public class XMLParser {
         if (lastTagEnd != -1 && lastTagEnd < line.length() - 1) {
             String tail = line.substring(lastTagEnd + 1).trim();
             if (tail.contains("<") || tail.contains(">")) {
-                errorQueue.enqueue("Line " + lineNumber +
-                        ": Sub-phrase is not well constructed between matching tags.");
+                report(XMLError.malformed(XMLTokenizer.BAD_SUB_PHRASE, lineNumber,
+                        columnAt(firstBracket(line, lastTagEnd + 1))));
             }
         }
     }
 
+    /**
+     * Returns the index of the first '&lt;' or '&gt;' at or after from.
+     */
+    private static int firstBracket(String line, int from) {
+        for (int i = from; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '<' || c == '>') {
+                return i;
+            }
+        }
+        return from;
+    }
+
+    /**
+     * Returns the 1-based column of an index into the trimmed line, in
+     * characters of the untrimmed line. Only called for errors.
+     */
+    private int columnAt(int index) {
+        return currentIndent + currentLine.codePointCount(0, index) + 1;
+    }
+
     /**
      * Determines the type of tag and applies the rules:
      * @param tag The tag's contents (without < >)
      * @param lineNumber For error tracking
+     * @param tagIndex Where the tag's '&lt;' is in the line, for error columns
      */
-    private void classifyTag(String tag, int lineNumber) {
+    private void classifyTag(String tag, int lineNumber, int tagIndex) {
 
         // *** Added by Ayush — improved self-closing tag handling ***
         if (tag.endsWith("/")) {
@@ -114,7 +607,7 @@ public class XMLParser {
             String tagName = extractTagName(inner);
 
             if (tagName == null || tagName.isEmpty()) {
-                errorQueue.enqueue("Line " + lineNumber + ": Self-closing tag is missing a name.");
+                report(XMLError.malformed(XMLTokenizer.SELF_CLOSING_NO_NAME, lineNumber, columnAt(tagIndex)));
             }
             return; // valid self-closing
         }
@@ -122,26 +615,46 @@ public class XMLParser {
         // Closing tag
         if (tag.startsWith("/")) {
             String closing = tag.substring(1).trim();
-
-            if (tagStack.isEmpty()) {
-                errorQueue.enqueue("Line " + lineNumber + ": Closing tag </" + closing +
-                        "> has no matching opening tag.");
-                return;
+            if (!closeTop(tagNames.find(closing))) {
+                reportClosingError(tagNames.intern(closing), lineNumber, columnAt(tagIndex));
             }
+            return;
+        }
 
-            String top = tagStack.pop();
+        // Opening tag <tag ...>; the name stops at the first space
+        int spaceIndex = tag.indexOf(' ');
+        tagStack.push(tagNames.intern(tag, 0, spaceIndex == -1 ? tag.length() : spaceIndex), lineNumber);
+    }
 
-            if (!top.equals(closing)) {
-                errorQueue.enqueue("Line " + lineNumber +
-                        ": Tag mismatch. Expected </" + top + "> but found </" + closing + ">.");
-            }
+    /**
+     * Pops the top of the stack if a closing tag matches it.
+     * @param closing The closing tag's id, or TagNameTable.NOT_FOUND for a
+     *                name never interned, which cannot match any open tag
+     * @return true if the tag matched and was popped
+     */
+    private boolean closeTop(int closing) {
+        if (tagStack.isEmpty() || tagStack.peek() != closing) {
+            return false;
+        }
+        tagStack.pop();
+        return true;
+    }
 
+    /**
+     * Reports a closing tag that closeTop did not match: either nothing
+     * is open, or the open tag is popped and reported as a mismatch.
+     * @param found The closing tag's id
+     */
+    private void reportClosingError(int found, int lineNumber, int column) {
+        if (tagStack.isEmpty()) {
+            report(new XMLError(XMLError.Code.UNMATCHED_CLOSING_TAG, lineNumber, column,
+                    XMLError.NONE, XMLError.NONE, found, tagNames));
             return;
         }
 
-        // Opening tag <tag ...>
-        String tagName = extractTagName(tag);
-        tagStack.push(tagName);
+        int openedOn = tagStack.peekLine();
+        int top = tagStack.pop();
+        report(new XMLError(XMLError.Code.TAG_MISMATCH, lineNumber, column, top, openedOn, found, tagNames));
     }
 
     /**
@@ -157,46 +670,393 @@ public class XMLParser {
         return raw.substring(0, spaceIndex);
     }
 
+    /**
+     * Maps the file into memory in windows of at most mapWindow bytes
+     * and feeds each one to the tokenizer. Lines that straddle two
+     * windows are carried over by the tokenizer, so line numbers stay exact.
+     */
+    private void parseMapped(String fileName) {
+        XMLTokenizer tokenizer = new TokenHandler().tokenizer;
+
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            for (long position = 0; position < size && !stopped; position += mapWindow) {
+                long length = Math.min(mapWindow, size - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                tokenizer.feed(window);
+            }
+            tokenizer.finish();
+        } catch (IOException e) {
+            reportReadError(fileName);
+        }
+    }
+
+    /**
+     * Validates the file chunk by chunk in parallel, then replays the chunk
+     * summaries in file order against the tag stack. Closers a chunk could
+     * not match go through the same rule as classifyTag, at the position
+     * they had among the chunk's own errors.
+     */
+    private void parseParallel(String fileName) {
+        try {
+            new ParallelValidator(ForkJoinPool.commonPool(), chunkSize).summarize(fileName, new ChunkReplay());
+        } catch (IOException e) {
+            reportReadError(fileName);
+        }
+    }
+
+    /**
+     * Replays chunk summaries in file order, as they become available.
+     */
+    private class ChunkReplay implements ParallelValidator.SummaryConsumer {
+
+        // Lines in the chunks replayed so far
+        private int lineOffset = 0;
+
+        @Override
+        public boolean accept(ParallelValidator.ChunkSummary summary) {
+            Iterator<ParallelValidator.Entry> entries = summary.entries.iterator();
+            while (entries.hasNext() && !stopped) {
+                ParallelValidator.Entry entry = entries.next();
+                int lineNumber = entry.lineNumber + lineOffset;
+
+                if (entry.kind == ParallelValidator.ChunkSummary.UNMATCHED_CLOSER) {
+                    if (!closeTop(tagNames.find(entry.found))) {
+                        reportClosingError(tagNames.intern(entry.found), lineNumber, entry.column);
+                    }
+                } else if (entry.kind == ParallelValidator.ChunkSummary.MISMATCH) {
+                    report(new XMLError(XMLError.Code.TAG_MISMATCH, lineNumber, entry.column,
+                            tagNames.intern(entry.expected), entry.expectedLine + lineOffset,
+                            tagNames.intern(entry.found), tagNames));
+                } else {
+                    report(XMLError.malformed(entry.kind, lineNumber, entry.column));
+                }
+            }
+
+            for (int i = 0; i < summary.openers.size(); i++) {
+                tagStack.push(tagNames.intern(summary.openers.get(i)), summary.openerLines.get(i) + lineOffset);
+            }
+
+            lineOffset += summary.lineCount;
+            return !stopped;
+        }
+    }
+
+    /**
+     * Applies the tag stack rules to the events coming from XMLTokenizer.
+     * Tag names are resolved to ids straight from the bytes; a String is
+     * only created for a name seen for the first time. Each handler owns
+     * the tokenizer feeding it, so it can ask for error columns.
+     */
+    private class TokenHandler implements XMLTokenizer.TagHandler {
+
+        final XMLTokenizer tokenizer = new XMLTokenizer(this);
+
+        @Override
+        public void processingInstruction(byte[] buf, int start, int end, int lineNumber) {
+            // ignored, like in processLine
+        }
+
+        @Override
+        public void openTag(byte[] buf, int nameStart, int nameEnd, int lineNumber) {
+            tagStack.push(tagNames.intern(buf, nameStart, nameEnd), lineNumber);
+        }
+
+        @Override
+        public void closeTag(byte[] buf, int nameStart, int nameEnd, int lineNumber) {
+            if (!closeTop(tagNames.find(buf, nameStart, nameEnd))) {
+                reportClosingError(tagNames.intern(buf, nameStart, nameEnd), lineNumber, tokenizer.getColumn());
+                stopIfDone();
+            }
+        }
+
+        @Override
+        public void selfClosingTag(byte[] buf, int nameStart, int nameEnd, int lineNumber) {
+            // valid self-closing
+        }
+
+        @Override
+        public void text(byte[] buf, int start, int end, int lineNumber) {
+            // text content is not validated
+        }
+
+        @Override
+        public void malformed(int problem, int lineNumber) {
+            report(XMLError.malformed(problem, lineNumber, tokenizer.getColumn()));
+            stopIfDone();
+        }
+
+        private void stopIfDone() {
+            if (stopped) {
+                tokenizer.stop();
+            }
+        }
+    }
+
+    /**
+     * Builds the message for a problem reported by XMLTokenizer.malformed.
+     */
+    static String malformedMessage(int problem, int lineNumber) {
+        switch (problem) {
+            case XMLTokenizer.MISSING_CLOSING_BRACKET:
+                return "Line " + lineNumber + ": Missing closing '>'";
+            case XMLTokenizer.BAD_SUB_PHRASE:
+                return "Line " + lineNumber + ": Sub-phrase is not well constructed between matching tags.";
+            default:
+                return "Line " + lineNumber + ": Self-closing tag is missing a name.";
+        }
+    }
+
+    /**
+     * Builds the message for a closing tag that does not match the open one.
+     * @param openedOn The line the expected tag was opened on.
+     */
+    static String mismatchMessage(int lineNumber, String expected, int openedOn, String found) {
+        return "Line " + lineNumber + ": Tag mismatch. Expected </" + expected + "> (opened on line "
+                + openedOn + ") but found </" + found + ">.";
+    }
+
+    /**
+     * Builds the message for a closing tag found with no tag open.
+     */
+    static String unmatchedMessage(int lineNumber, String found) {
+        return "Line " + lineNumber + ": Closing tag </" + found + "> has no matching opening tag.";
+    }
+
+    /**
+     * Builds the message for a tag still open at the end of the file.
+     */
+    static String unclosedMessage(String name, int openedOn) {
+        return "Unclosed tag: <" + name + "> (opened on line " + openedOn + ")";
+    }
+
+    static String decode(byte[] buf, int start, int end) {
+        return new String(buf, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compares a tag name with a UTF-8 byte range without decoding it,
+     * unless the range holds non-ASCII characters.
+     */
+    static boolean sameName(String name, byte[] buf, int start, int end) {
+        if (name.length() != end - start) {
+            // a non-ASCII name can still match with a different byte count
+            for (int i = start; i < end; i++) {
+                if (buf[i] < 0) {
+                    return name.equals(decode(buf, start, end));
+                }
+            }
+            return false;
+        }
+
+        for (int i = 0; i < name.length(); i++) {
+            byte b = buf[start + i];
+            if (b < 0) {
+                return name.equals(decode(buf, start, end));
+            }
+            if (name.charAt(i) != (char) b) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * After reading the entire file, any tags left on the stack
      * are unclosed.
      */
     private void checkUnclosedTags() {
-        while (!tagStack.isEmpty()) {
-            String unclosed = tagStack.pop();
-            errorQueue.enqueue("Unclosed tag: <" + unclosed + ">");
+        while (!tagStack.isEmpty() && !stopped) {
+            int openedOn = tagStack.peekLine();
+            int unclosed = tagStack.pop();
+            report(new XMLError(XMLError.Code.UNCLOSED_TAG, openedOn, 0,
+                    unclosed, openedOn, XMLError.NONE, tagNames));
         }
+        // tags past the error limit are dropped too
+        tagStack.clear();
+    }
+
+    private void reportReadError(String fileName) {
+        readError = true;
+        out.println("Error reading file: " + fileName);
     }
 
     /**
      * Prints all errors that were recorded *in the order encountered*.
      */
     public void printErrors() throws EmptyQueueException {
-        if (errorQueue.isEmpty()) {
-            System.out.println("XML is well-formed! No errors found.");
-            return;
+        printErrors(ErrorFormat.TEXT);
+    }
+
+    /**
+     * Prints all recorded errors to the output stream in the given format.
+     */
+    public void printErrors(ErrorFormat format) throws EmptyQueueException {
+        try {
+            printErrors(new PrintStreamWriter(out), format);
+        } catch (IOException e) {
+            // PrintStream keeps its errors to itself
+            throw new UncheckedIOException(e);
         }
+    }
 
-        System.out.println("XML Errors:");
+    /**
+     * Writes all recorded errors in the given format and flushes the
+     * writer. The errors are formatted into one buffer and written in
+     * large batches. TEXT output has the usual heading and closing notes;
+     * JSON and TSV output holds only the records (and the TSV header).
+     */
+    public void printErrors(Writer writer, ErrorFormat format) throws IOException, EmptyQueueException {
+        String lineSeparator = System.lineSeparator();
+        if (format == ErrorFormat.TEXT) {
+            if (errorQueue.isEmpty()) {
+                writer.write("XML is well-formed! No errors found." + lineSeparator);
+                writer.flush();
+                return;
+            }
+            writer.write("XML Errors:" + lineSeparator);
+        }
+
+        WriterErrorSink printer = new WriterErrorSink(writer, format);
         while (!errorQueue.isEmpty()) {
-            System.out.println(errorQueue.dequeue());
+            printer.accept(errorQueue.dequeue());
+        }
+        printer.flush();
+
+        if (format == ErrorFormat.TEXT && stopped) {
+            writer.write("Stopped after " + reported + (reported == 1 ? " error." : " errors.") + lineSeparator);
+            writer.flush();
+        }
+    }
+
+    /**
+     * Lets printErrors write to a PrintStream in the stream's own
+     * encoding, one print per batch.
+     */
+    private static class PrintStreamWriter extends Writer {
+
+        private final PrintStream stream;
+
+        PrintStreamWriter(PrintStream stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            stream.print(new String(cbuf, off, len));
+        }
+
+        @Override
+        public void write(String str) {
+            stream.print(str);
+        }
+
+        @Override
+        public void flush() {
+            stream.flush();
+        }
+
+        @Override
+        public void close() {
+            // the stream belongs to the parser
+        }
+    }
+
+    /**
+     * Reads the count after an option's prefix.
+     * @throws NumberFormatException if it is not a number or is negative
+     */
+    private static int count(String arg, String prefix) throws NumberFormatException {
+        int value = Integer.parseInt(arg.substring(prefix.length()));
+        if (value < 0) {
+            throw new NumberFormatException("Negative count: " + value);
         }
+        return value;
     }
 
     /**
-     * Main method to run the XML parser from the command line.
+     * Main method to run the XML parser from the command line. An invalid
+     * option prints the usage and exits with status 2.
      */
     public static void main(String[] args) {
-        if (args.length < 1) {
-            System.out.println("Usage: java application.XMLParser <xmlfile>");
+        Mode mode = Mode.LINE;
+        int threads = 0;
+        boolean virtual = false;
+        String cacheDirectory = null;
+        int maxErrors = 0;
+        ErrorFormat format = ErrorFormat.TEXT;
+        MyArrayList<String> paths = new MyArrayList<>();
+
+        for (String arg : args) {
+            try {
+                if (arg.startsWith("--mode=")) {
+                    mode = Mode.valueOf(arg.substring("--mode=".length()).toUpperCase(Locale.ROOT));
+                } else if (arg.startsWith("--threads=")) {
+                    threads = count(arg, "--threads=");
+                } else if (arg.equals("--virtual")) {
+                    virtual = true;
+                } else if (arg.startsWith("--cache=")) {
+                    cacheDirectory = arg.substring("--cache=".length());
+                } else if (arg.equals("--fail-fast")) {
+                    maxErrors = 1;
+                } else if (arg.startsWith("--max-errors=")) {
+                    maxErrors = count(arg, "--max-errors=");
+                } else if (arg.startsWith("--format=")) {
+                    format = ErrorFormat.valueOf(arg.substring("--format=".length()).toUpperCase(Locale.ROOT));
+                } else {
+                    paths.add(arg);
+                }
+            } catch (IllegalArgumentException e) {
+                // an unknown mode or format, or a count that is negative or not a number
+                System.err.println("Invalid option: " + arg);
+                System.err.println(USAGE);
+                System.exit(2);
+                return;
+            }
+        }
+
+        if (paths.isEmpty()) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        ResultCache cache = null;
+        if (cacheDirectory != null) {
+            try {
+                cache = new ResultCache(cacheDirectory, CACHE_SIZE);
+            } catch (IOException e) {
+                System.err.println("Cannot open result cache, validating without it: " + e.getMessage());
+            }
+        }
+
+        // Several files, a directory or explicit batch options: batch mode
+        if (paths.size() > 1 || threads > 0 || virtual || new File(paths.get(0)).isDirectory()) {
+            BatchValidator.ExecutorKind kind = virtual
+                    ? BatchValidator.ExecutorKind.VIRTUAL : BatchValidator.ExecutorKind.PLATFORM;
+            if (threads <= 0) {
+                // with virtual threads, --threads only caps the files in flight
+                threads = virtual ? 256 : Runtime.getRuntime().availableProcessors();
+            }
+            try {
+                BatchValidator batch = new BatchValidator(mode, kind, threads);
+                batch.setCache(cache);
+                batch.setMaxErrors(maxErrors);
+                batch.setFormat(format);
+                batch.run(BatchValidator.collectFiles(paths), System.out);
+            } catch (IOException e) {
+                System.err.println("Error listing files: " + e.getMessage());
+            }
             return;
         }
 
-        XMLParser parser = new XMLParser();
-        parser.parseFile(args[0]);
+        XMLParser parser = new XMLParser(mode);
+        parser.setCache(cache);
+        parser.setMaxErrors(maxErrors);
+        parser.parseFile(paths.get(0));
 
         try {
-            parser.printErrors();
+            parser.printErrors(format);
         } catch (EmptyQueueException e) {
             System.err.println("Error printing results: " + e.getMessage());
         }
@@ -0,0 +1,390 @@
+package application;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * XMLTokenizer
+ * --------------------------------------------
+ * A streaming, byte-level tokenizer for the XML checker.
+ *
+ * Input is fed in as raw bytes of any chunk size. The tokenizer splits the
+ * stream into lines (\n, \r or \r\n, exactly like BufferedReader.readLine)
+ * and runs a small TEXT / IN_TAG state machine over each line, reporting
+ * what it finds to a {@link TagHandler} as offsets into the byte buffer.
+ * No Strings are created while scanning; the handler decides what, if
+ * anything, needs to be materialised.
+ *
+ * The rules applied to each line are the same ones XMLParser.processLine
+ * and classifyTag use, so a handler that keeps the tag stack produces the
+ * same error list as the line-based parser. The input is assumed to be
+ * UTF-8 (or plain ASCII); every byte the rules look at is a single-byte
+ * ASCII character, so multi-byte characters simply pass through.
+ */
+public class XMLTokenizer {
+
+    /**
+     * Receives the events produced by the tokenizer. All offsets refer to
+     * the buffer passed with the event and are only valid during the call.
+     * During a call, {@link XMLTokenizer#getColumn()} gives the column the
+     * event starts at.
+     */
+    public interface TagHandler {
+
+        /** A whole line holding an &lt;?xml ... ?&gt; declaration, which is skipped. */
+        void processingInstruction(byte[] buf, int start, int end, int lineNumber);
+
+        /** An opening tag; the range covers the tag name only. */
+        void openTag(byte[] buf, int nameStart, int nameEnd, int lineNumber);
+
+        /** A closing tag; the range covers everything after the '/'. */
+        void closeTag(byte[] buf, int nameStart, int nameEnd, int lineNumber);
+
+        /** A self-closing tag with a non-empty name. */
+        void selfClosingTag(byte[] buf, int nameStart, int nameEnd, int lineNumber);
+
+        /** Text found before, between or after tags on a line. */
+        void text(byte[] buf, int start, int end, int lineNumber);
+
+        /**
+         * A problem that can be decided from the current line alone.
+         * @param problem One of the MISSING_CLOSING_BRACKET, BAD_SUB_PHRASE
+         *                or SELF_CLOSING_NO_NAME constants.
+         */
+        void malformed(int problem, int lineNumber);
+    }
+
+    /** A '&lt;' on the line has no '&gt;' after it. */
+    public static final int MISSING_CLOSING_BRACKET = 1;
+
+    /** Text between or after tags contains a stray '&lt;' or '&gt;'. */
+    public static final int BAD_SUB_PHRASE = 2;
+
+    /** A self-closing tag such as &lt;/&gt; or &lt; /&gt; has no name. */
+    public static final int SELF_CLOSING_NO_NAME = 3;
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final TagHandler handler;
+
+    // Bytes of a line that started in an earlier chunk and has not ended yet
+    private byte[] pending = new byte[256];
+    private int pendingLength = 0;
+
+    // True right after a '\r', so that a following '\n' is not a new line
+    private boolean skipLineFeed = false;
+
+    private int lineNumber = 1;
+
+    // Set by stop(); no more lines are read until finish()
+    private volatile boolean stopped = false;
+
+    // Reused when feeding from direct or memory-mapped buffers
+    private byte[] scratch;
+
+    // The line being tokenized and the offset of the event being reported,
+    // kept so getColumn() only does work when a handler asks for it
+    private byte[] lineBuf;
+    private int lineFrom;
+    private int eventOffset;
+
+    /**
+     * Creates a tokenizer reporting to the given handler.
+     */
+    public XMLTokenizer(TagHandler handler) {
+        if (handler == null) {
+            throw new NullPointerException("Handler cannot be null.");
+        }
+        this.handler = handler;
+    }
+
+    /**
+     * Reads the whole stream through a reusable buffer and tokenizes it.
+     * The stream is not closed.
+     */
+    public void tokenize(InputStream in) throws IOException {
+        byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
+        int read;
+        while (!stopped && (read = in.read(buffer)) != -1) {
+            feed(buffer, 0, read);
+        }
+        finish();
+    }
+
+    /**
+     * Feeds the next chunk of the document. Lines may be split across
+     * chunks at any byte; the unfinished part is carried over internally.
+     */
+    public void feed(byte[] buf, int off, int len) {
+        if (stopped) return;
+
+        int end = off + len;
+        int lineStart = off;
+
+        for (int i = off; i < end; i++) {
+            byte b = buf[i];
+            if (b == '\n' || b == '\r') {
+                if (b == '\n' && skipLineFeed) {
+                    // second half of a \r\n pair
+                    skipLineFeed = false;
+                    lineStart = i + 1;
+                    continue;
+                }
+                endLine(buf, lineStart, i);
+                if (stopped) return;
+                skipLineFeed = (b == '\r');
+                lineStart = i + 1;
+            } else {
+                skipLineFeed = false;
+            }
+        }
+
+        if (lineStart < end) {
+            appendPending(buf, lineStart, end);
+        }
+    }
+
+    /**
+     * Feeds the remaining bytes of a buffer and advances its position to
+     * the limit. Heap buffers are scanned in place; direct and
+     * memory-mapped buffers are copied through a reusable window.
+     */
+    public void feed(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            feed(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            buffer.position(buffer.limit());
+            return;
+        }
+
+        if (scratch == null) {
+            scratch = new byte[DEFAULT_BUFFER_SIZE];
+        }
+        while (buffer.hasRemaining() && !stopped) {
+            int count = Math.min(buffer.remaining(), scratch.length);
+            buffer.get(scratch, 0, count);
+            feed(scratch, 0, count);
+        }
+    }
+
+    /**
+     * Signals the end of the document. A final line without a terminator
+     * is tokenized, and the tokenizer is reset so it can be reused.
+     */
+    public void finish() {
+        if (pendingLength > 0 && !stopped) {
+            tokenizeLine(pending, 0, pendingLength, lineNumber);
+        }
+        pendingLength = 0;
+        skipLineFeed = false;
+        lineNumber = 1;
+        stopped = false;
+    }
+
+    /**
+     * Stops the tokenizer from reading further lines; the line being
+     * tokenized is finished first. Later feeds are ignored until finish()
+     * resets the tokenizer. Handlers call this once they have seen enough;
+     * it may also be called from another thread.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Returns true if stop() was called since the last finish().
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Returns the number of the line currently being read (1-based).
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Returns the 1-based column, in characters, where the event being
+     * reported starts: the '&lt;' of a tag, the '&lt;' missing its '&gt;',
+     * the stray '&gt;' of a bad sub-phrase, or the first character of text.
+     * Only valid while a handler method is running.
+     */
+    public int getColumn() {
+        int column = 1;
+        for (int i = lineFrom; i < eventOffset; i++) {
+            // count every byte except UTF-8 continuation bytes
+            if ((lineBuf[i] & 0xC0) != 0x80) {
+                column++;
+            }
+        }
+        return column;
+    }
+
+    private void endLine(byte[] buf, int start, int end) {
+        if (pendingLength > 0) {
+            appendPending(buf, start, end);
+            tokenizeLine(pending, 0, pendingLength, lineNumber);
+            pendingLength = 0;
+        } else {
+            tokenizeLine(buf, start, end, lineNumber);
+        }
+        lineNumber++;
+    }
+
+    private void appendPending(byte[] buf, int start, int end) {
+        int needed = pendingLength + (end - start);
+        if (needed > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(needed, pending.length * 2));
+        }
+        System.arraycopy(buf, start, pending, pendingLength, end - start);
+        pendingLength = needed;
+    }
+
+    /**
+     * Scans a single line (without its terminator) and reports its tags.
+     *
+     * The scan has two states: TEXT, looking for the next '&lt;' while
+     * remembering whether a stray '&gt;' was seen, and IN_TAG, looking for
+     * the '&gt;' that ends the current tag.
+     *
+     * @param buf        Buffer holding the line.
+     * @param from       Offset of the first byte of the line.
+     * @param to         Offset one past the last byte of the line.
+     * @param lineNumber Line number used in the events.
+     */
+    public void tokenizeLine(byte[] buf, int from, int to, int lineNumber) {
+
+        lineBuf = buf;
+        lineFrom = from;
+
+        // Trim the line the same way String.trim() does
+        int start = skipSpace(buf, from, to);
+        int end = trimSpace(buf, start, to);
+
+        // Skip blanks
+        if (start == end) return;
+
+        // Ignore XML processing instructions entirely
+        if (isDeclaration(buf, start, end)) {
+            eventOffset = start;
+            handler.processingInstruction(buf, start, end, lineNumber);
+            return;
+        }
+
+        boolean inTag = false;
+        boolean seenTag = false;     // a complete tag was found earlier on this line
+        int strayBracket = -1;       // first '>' in the text since the last tag
+        int textStart = start;
+        int tagStart = -1;
+
+        for (int i = start; i < end; i++) {
+            byte b = buf[i];
+
+            if (!inTag) {
+                if (b == '<') {
+                    inTag = true;
+                    tagStart = i;
+                } else if (b == '>' && strayBracket == -1) {
+                    strayBracket = i;
+                }
+            } else if (b == '>') {
+                if (textStart < tagStart) {
+                    eventOffset = textStart;
+                    handler.text(buf, textStart, tagStart, lineNumber);
+                }
+                if (seenTag && strayBracket != -1) {
+                    eventOffset = strayBracket;
+                    handler.malformed(BAD_SUB_PHRASE, lineNumber);
+                }
+
+                eventOffset = tagStart;
+                classifyTag(buf, tagStart + 1, i, lineNumber);
+
+                inTag = false;
+                seenTag = true;
+                strayBracket = -1;
+                textStart = i + 1;
+            }
+        }
+
+        if (inTag) {
+            eventOffset = tagStart;
+            handler.malformed(MISSING_CLOSING_BRACKET, lineNumber);
+            return;
+        }
+
+        // Tail text after the last tag
+        if (textStart < end) {
+            eventOffset = textStart;
+            handler.text(buf, textStart, end, lineNumber);
+            if (seenTag && strayBracket != -1) {
+                eventOffset = strayBracket;
+                handler.malformed(BAD_SUB_PHRASE, lineNumber);
+            }
+        }
+    }
+
+    /**
+     * Applies the classifyTag rules to the bytes between '&lt;' and '&gt;'.
+     */
+    private void classifyTag(byte[] buf, int from, int to, int lineNumber) {
+        int start = skipSpace(buf, from, to);
+        int end = trimSpace(buf, start, to);
+
+        // Self-closing tag
+        if (end > start && buf[end - 1] == '/') {
+            int innerStart = start;
+            int innerEnd = trimSpace(buf, innerStart, end - 1);
+
+            if (innerStart == innerEnd) {
+                handler.malformed(SELF_CLOSING_NO_NAME, lineNumber);
+            } else {
+                handler.selfClosingTag(buf, innerStart, nameEnd(buf, innerStart, innerEnd), lineNumber);
+            }
+            return;
+        }
+
+        // Closing tag
+        if (end > start && buf[start] == '/') {
+            handler.closeTag(buf, skipSpace(buf, start + 1, end), end, lineNumber);
+            return;
+        }
+
+        // Opening tag <tag ...>
+        handler.openTag(buf, start, nameEnd(buf, start, end), lineNumber);
+    }
+
+    private static boolean isDeclaration(byte[] buf, int start, int end) {
+        return end - start >= 5
+                && buf[start] == '<' && buf[start + 1] == '?'
+                && buf[start + 2] == 'x' && buf[start + 3] == 'm' && buf[start + 4] == 'l'
+                && buf[end - 2] == '?' && buf[end - 1] == '>';
+    }
+
+    /** The tag name stops at the first space, as in extractTagName. */
+    private static int nameEnd(byte[] buf, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buf[i] == ' ') {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private static int skipSpace(byte[] buf, int from, int to) {
+        while (from < to && (buf[from] & 0xFF) <= ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimSpace(byte[] buf, int from, int to) {
+        while (to > from && (buf[to - 1] & 0xFF) <= ' ') {
+            to--;
+        }
+        return to;
+    }
+}
@@ -0,0 +1,194 @@
+package implementations;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * A stack of primitive ints, with an optional second stack of line numbers.
+ * This mirrors the operations of MyStack (and StackADT) but keeps the
+ * values in an int[], so push and pop touch no objects at all.
+ *
+ * When created with line tracking, every push also records a line number
+ * in a parallel int[]; peekLine() returns the line of the top value. The
+ * XML parser uses this to remember where each open tag started.
+ *
+ * The top of the stack is the END of the array. search() and toArray()
+ * still go top-first, like MyStack.
+ */
+public class IntStack {
+
+    private int[] values;              // The stored values, bottom first
+    private int[] lines;               // Line of each value, or null when not tracked
+    private int size;                  // Number of values on the stack
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Creates an empty stack without line tracking.
+     */
+    public IntStack() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * Creates an empty stack.
+     * @param initialCapacity How many values fit before the stack has to grow.
+     * @param trackLines      True to keep a line number with every value.
+     */
+    public IntStack(int initialCapacity, boolean trackLines) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity: " + initialCapacity);
+        }
+        int capacity = Math.max(initialCapacity, 1);
+        values = new int[capacity];
+        lines = trackLines ? new int[capacity] : null;
+        size = 0;
+    }
+
+    /**
+     * Returns true if this stack keeps a line number with every value.
+     */
+    public boolean tracksLines() {
+        return lines != null;
+    }
+
+    /**
+     * Pushes a value onto the top of the stack. With line tracking its
+     * line is recorded as 0.
+     */
+    public void push(int value) {
+        if (size == values.length) {
+            grow();
+        }
+        values[size] = value;
+        if (lines != null) {
+            lines[size] = 0;
+        }
+        size++;
+    }
+
+    /**
+     * Pushes a value and the line it was found on.
+     * @throws IllegalStateException if the stack does not track lines
+     */
+    public void push(int value, int line) throws IllegalStateException {
+        if (lines == null) {
+            throw new IllegalStateException("This stack does not track line numbers.");
+        }
+        if (size == values.length) {
+            grow();
+        }
+        values[size] = value;
+        lines[size] = line;
+        size++;
+    }
+
+    private void grow() {
+        int capacity = values.length * 2;
+        values = Arrays.copyOf(values, capacity);
+        if (lines != null) {
+            lines = Arrays.copyOf(lines, capacity);
+        }
+    }
+
+    /**
+     * Removes and returns the top value. Its line, if any, is dropped;
+     * read it with peekLine() first.
+     */
+    public int pop() throws EmptyStackException {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        return values[--size];
+    }
+
+    /**
+     * Returns the top value without removing it.
+     */
+    public int peek() throws EmptyStackException {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        return values[size - 1];
+    }
+
+    /**
+     * Returns the line recorded with the top value.
+     * @throws IllegalStateException if the stack does not track lines
+     */
+    public int peekLine() throws EmptyStackException, IllegalStateException {
+        if (lines == null) {
+            throw new IllegalStateException("This stack does not track line numbers.");
+        }
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        return lines[size - 1];
+    }
+
+    /**
+     * Removes all values. Primitive slots need no clearing.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns true if the stack is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of values on the stack.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the 1-based position of a value counted from the top,
+     * or -1 if it is not on the stack.
+     */
+    public int search(int value) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (values[i] == value) {
+                return size - i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns true if the stack contains a given value.
+     */
+    public boolean contains(int value) {
+        return search(value) != -1;
+    }
+
+    /**
+     * Returns the values top first.
+     */
+    public int[] toArray() {
+        return reversed(values);
+    }
+
+    /**
+     * Returns the line of every value, top first.
+     * @throws IllegalStateException if the stack does not track lines
+     */
+    public int[] toLineArray() throws IllegalStateException {
+        if (lines == null) {
+            throw new IllegalStateException("This stack does not track line numbers.");
+        }
+        return reversed(lines);
+    }
+
+    private int[] reversed(int[] source) {
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = source[size - 1 - i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,228 @@
+package implementations;
+
+import utilities.LongIterator;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A growable list of primitive longs.
+ * This mirrors the operations of MyArrayList (and ListADT) but stores raw
+ * long values in a long[], so no wrapper object is created per element:
+ * each element costs 8 bytes instead of a reference plus a Long.
+ *
+ * Because values are primitives, removing by index and removing by value
+ * use different names: remove(int index) and removeValue(long value).
+ */
+public class LongArrayList {
+
+    private long[] data;                // The underlying array storing elements
+    private int size;                  // Number of actual elements stored
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * Default constructor. Creates a new array with the default starting capacity.
+     */
+    public LongArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list able to hold the given number of elements
+     * before it has to grow.
+     */
+    public LongArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity: " + initialCapacity);
+        }
+        data = new long[Math.max(initialCapacity, 1)];
+        size = 0;
+    }
+
+    /**
+     * Returns the number of elements currently in the list.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if the list has no elements.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all elements. Primitive slots need no clearing.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Inserts a value at a specific index, shifting elements to the right.
+     */
+    public boolean add(int index, long value) throws IndexOutOfBoundsException {
+        // index == size is allowed (insert at end)
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        ensureCapacity(size + 1);
+        System.arraycopy(data, index, data, index + 1, size - index);
+        data[index] = value;
+        size++;
+        return true;
+    }
+
+    /**
+     * Appends a value to the end of the list.
+     */
+    public boolean add(long value) {
+        if (size == data.length) {
+            ensureCapacity(size + 1);
+        }
+        data[size++] = value;
+        return true;
+    }
+
+    /**
+     * Appends all the values of an array in one copy.
+     */
+    public boolean addAll(long[] values) throws NullPointerException {
+        if (values == null) {
+            throw new NullPointerException("Cannot add elements from a null array.");
+        }
+        ensureCapacity(size + values.length);
+        System.arraycopy(values, 0, data, size, values.length);
+        size += values.length;
+        return true;
+    }
+
+    /**
+     * Appends all the values of another list in one copy.
+     */
+    public boolean addAll(LongArrayList other) throws NullPointerException {
+        if (other == null) {
+            throw new NullPointerException("Cannot add elements from a null list.");
+        }
+        int count = other.size;   // read first in case other == this
+        ensureCapacity(size + count);
+        System.arraycopy(other.data, 0, data, size, count);
+        size += count;
+        return true;
+    }
+
+    /**
+     * Makes sure the array can hold at least minCapacity elements,
+     * doubling it when it has to grow.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > data.length) {
+            data = Arrays.copyOf(data, Math.max(minCapacity, data.length * 2));
+        }
+    }
+
+    /**
+     * Returns the value at a specified index.
+     */
+    public long get(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+        return data[index];
+    }
+
+    /**
+     * Replaces the value at a given index. Returns the old value.
+     */
+    public long set(int index, long value) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+        long old = data[index];
+        data[index] = value;
+        return old;
+    }
+
+    /**
+     * Removes and returns the value at a specific index.
+     * Shifts remaining elements to the left.
+     */
+    public long remove(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+        long removed = data[index];
+        System.arraycopy(data, index + 1, data, index, size - index - 1);
+        size--;
+        return removed;
+    }
+
+    /**
+     * Removes the first occurrence of a value.
+     * Returns true if the value was found.
+     */
+    public boolean removeValue(long value) {
+        int index = indexOf(value);
+        if (index == -1) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Returns the index of the first occurrence of a value, or -1.
+     */
+    public int indexOf(long value) {
+        for (int i = 0; i < size; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns true if the list contains a given value.
+     */
+    public boolean contains(long value) {
+        return indexOf(value) != -1;
+    }
+
+    /**
+     * Returns a long[] copy of the list contents.
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    /**
+     * Simple internal iterator class that walks the list from index 0 to size-1.
+     */
+    private class LongArrayListIterator implements LongIterator {
+
+        private int current = 0;   // Tracks the current index during iteration
+
+        @Override
+        public boolean hasNext() {
+            return current < size;
+        }
+
+        @Override
+        public long next() {
+            if (!hasNext())
+                throw new NoSuchElementException("No more elements in the list.");
+
+            return data[current++];
+        }
+    }
+
+    /**
+     * Returns a new iterator starting at index 0.
+     */
+    public LongIterator iterator() {
+        return new LongArrayListIterator();
+    }
+}
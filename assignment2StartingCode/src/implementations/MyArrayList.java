@@ -64,12 +64,10 @@ public class MyArrayList<E> implements ListADT<E> {
         }
 
         // Grow array if needed
-        ensureCapacity();
+        ensureCapacity(size + 1);
 
-        // Shift elements to make space
-        for (int i = size - 1; i >= index; i--) {
-            data[i + 1] = data[i];
-        }
+        // Shift elements to make space in one block copy
+        System.arraycopy(data, index, data, index + 1, size - index);
 
         data[index] = toAdd;
         size++;
@@ -88,17 +86,26 @@ public class MyArrayList<E> implements ListADT<E> {
     }
 
     /**
-     * Ensures the internal array has room. If full, we double the size.
+     * Ensures the internal array can hold at least minCapacity elements.
+     * When it has to grow, we at least double the size.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > data.length) {
+            data = Arrays.copyOf(data, Math.max(minCapacity, data.length * 2));
+        }
+    }
+
+    /**
+     * Shrinks the internal array to the current number of elements.
      */
-    private void ensureCapacity() {
-        if (size == data.length) {
-            data = Arrays.copyOf(data, data.length * 2);
+    public void trimToSize() {
+        if (data.length > size) {
+            data = Arrays.copyOf(data, size);
         }
     }
 
     /**
-     * Adds all elements from another ListADT into this list.
-     * We use the other list's iterator to traverse it.
+     * Adds all elements from another ListADT to the end of this list.
      */
     @Override
     public boolean addAll(ListADT<? extends E> toAdd) throws NullPointerException {
@@ -106,12 +113,57 @@ public class MyArrayList<E> implements ListADT<E> {
             throw new NullPointerException("Cannot add elements from a null list.");
         }
 
-        Iterator<? extends E> it = toAdd.iterator();
+        return addAll(size, toAdd);
+    }
+
+    /**
+     * Inserts all elements from another ListADT at the given index, shifting
+     * the elements after it to the right once. The array is sized once and
+     * the new elements are block-copied; when the source is a MyArrayList
+     * its backing array is copied directly.
+     *
+     * @throws NullPointerException      if the list, or any element in it, is null
+     * @throws IndexOutOfBoundsException if index &lt; 0 or index &gt; size()
+     */
+    public boolean addAll(int index, ListADT<? extends E> toAdd)
+            throws NullPointerException, IndexOutOfBoundsException {
 
-        while (it.hasNext()) {
-            add(it.next());
+        if (toAdd == null) {
+            throw new NullPointerException("Cannot add elements from a null list.");
         }
 
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        Object[] source;
+        int count;
+        if (toAdd instanceof MyArrayList) {
+            // never holds nulls, so no need to check
+            MyArrayList<?> other = (MyArrayList<?>) toAdd;
+            source = other.data;
+            count = other.size;
+        } else {
+            source = toAdd.toArray();
+            count = source.length;
+            for (Object element : source) {
+                if (element == null) {
+                    throw new NullPointerException("Null elements are not allowed.");
+                }
+            }
+        }
+
+        ensureCapacity(size + count);
+
+        if (source == data) {
+            // adding this list to itself: copy before shifting
+            source = Arrays.copyOf(data, count);
+        }
+
+        System.arraycopy(data, index, data, index + count, size - index);
+        System.arraycopy(source, 0, data, index, count);
+        size += count;
+
         return true;
     }
 
@@ -138,9 +190,7 @@ public class MyArrayList<E> implements ListADT<E> {
         E removed = data[index];
 
         // Shift everything left to fill the gap
-        for (int i = index; i < size - 1; i++) {
-            data[i] = data[i + 1];
-        }
+        System.arraycopy(data, index + 1, data, index, size - index - 1);
 
         data[size - 1] = null;  // Avoid memory leak
         size--;
@@ -148,6 +198,24 @@ public class MyArrayList<E> implements ListADT<E> {
         return removed;
     }
 
+    /**
+     * Removes the elements from index fromIndex (inclusive) to toIndex
+     * (exclusive), shifting the rest left in one block copy.
+     *
+     * @throws IndexOutOfBoundsException if fromIndex &lt; 0, toIndex &gt; size()
+     *                                   or fromIndex &gt; toIndex
+     */
+    public void removeRange(int fromIndex, int toIndex) throws IndexOutOfBoundsException {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+            throw new IndexOutOfBoundsException("From: " + fromIndex + ", To: " + toIndex + ", Size: " + size);
+
+        System.arraycopy(data, toIndex, data, fromIndex, size - toIndex);
+
+        int newSize = size - (toIndex - fromIndex);
+        Arrays.fill(data, newSize, size, null);  // Avoid memory leak
+        size = newSize;
+    }
+
     /**
      * Replaces the value at a given index with a new value.
      * Returns the old value.
@@ -0,0 +1,562 @@
+package implementations;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import exceptions.EmptyQueueException;
+import utilities.Iterator;
+import utilities.ListADT;
+import utilities.QueueADT;
+
+/**
+ * A bounded queue for producer/consumer pipelines: producers that get
+ * ahead of their consumers wait for room instead of filling the heap.
+ *
+ * The elements live in a fixed circular array of the given capacity.
+ * Producers and consumers take separate locks (the two-lock design), so
+ * one put and one take can run at the same time. The element count is
+ * atomic and is the only state both sides share: a producer writes its
+ * slot before raising the count, and a consumer clears its slot before
+ * lowering it, so each side only touches slots the other has finished
+ * with.
+ *
+ * put and take block until there is room or an element; offer and poll
+ * with a timeout wait at most that long. The QueueADT methods never
+ * block: enqueue throws an IllegalStateException when the queue is full
+ * (like a bounded MyCircularQueue) and dequeue an EmptyQueueException
+ * when it is empty. contains, search, iterator, toArray and equals hold
+ * both locks and see the queue at one instant; the iterator walks a copy.
+ *
+ * @param <E> the type of element stored in this queue
+ */
+public class MyBlockingQueue<E> implements QueueADT<E> {
+
+    private final Object[] items;
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    // Guarded by takeLock
+    private int takeIndex;
+    private final ReentrantLock takeLock = new ReentrantLock();
+    private final Condition notEmpty = takeLock.newCondition();
+
+    // Guarded by putLock
+    private int putIndex;
+    private final ReentrantLock putLock = new ReentrantLock();
+    private final Condition notFull = putLock.newCondition();
+
+    /**
+     * Creates a new empty queue holding at most capacity elements.
+     *
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public MyBlockingQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        items = new Object[capacity];
+    }
+
+    /**
+     * Adds the element at the back without waiting.
+     *
+     * @throws IllegalStateException if the queue is full
+     */
+    @Override
+    public void enqueue(E toAdd) throws NullPointerException {
+        if (!offer(toAdd)) {
+            throw new IllegalStateException("Queue is full");
+        }
+    }
+
+    /**
+     * Adds the element at the back if there is room right now.
+     *
+     * @return true if the element was added, false if the queue was full
+     * @throws NullPointerException if toAdd is null
+     */
+    public boolean offer(E toAdd) {
+        checkNotNull(toAdd);
+        if (count.get() == items.length) {
+            return false;
+        }
+        int before;
+        putLock.lock();
+        try {
+            if (count.get() == items.length) {
+                return false;
+            }
+            before = insert(toAdd);
+        } finally {
+            putLock.unlock();
+        }
+        if (before == 0) {
+            signalNotEmpty();
+        }
+        return true;
+    }
+
+    /**
+     * Adds the element at the back, waiting as long as it takes for room.
+     *
+     * @throws NullPointerException if toAdd is null
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void put(E toAdd) throws InterruptedException {
+        checkNotNull(toAdd);
+        int before;
+        putLock.lockInterruptibly();
+        try {
+            while (count.get() == items.length) {
+                notFull.await();
+            }
+            before = insert(toAdd);
+        } finally {
+            putLock.unlock();
+        }
+        if (before == 0) {
+            signalNotEmpty();
+        }
+    }
+
+    /**
+     * Adds the element at the back, waiting at most the given time for
+     * room.
+     *
+     * @return true if the element was added, false if the time ran out
+     * @throws NullPointerException if toAdd or unit is null
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean offer(E toAdd, long timeout, TimeUnit unit) throws InterruptedException {
+        checkNotNull(toAdd);
+        long nanos = unit.toNanos(timeout);
+        int before;
+        putLock.lockInterruptibly();
+        try {
+            while (count.get() == items.length) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            before = insert(toAdd);
+        } finally {
+            putLock.unlock();
+        }
+        if (before == 0) {
+            signalNotEmpty();
+        }
+        return true;
+    }
+
+    /**
+     * Stores the element at putIndex and returns the count before it was
+     * added. Called with putLock held and room in the queue.
+     */
+    private int insert(E toAdd) {
+        items[putIndex] = toAdd;
+        if (++putIndex == items.length) {
+            putIndex = 0;
+        }
+        // publishes the slot to consumers
+        int before = count.getAndIncrement();
+        if (before + 1 < items.length) {
+            // there is still room: pass the wake-up on to the next producer
+            notFull.signal();
+        }
+        return before;
+    }
+
+    @Override
+    public E dequeue() throws EmptyQueueException {
+        E element = poll();
+        if (element == null) {
+            throw new EmptyQueueException("Queue is empty");
+        }
+        return element;
+    }
+
+    /**
+     * Removes and returns the front element, or returns null if the queue
+     * is empty right now.
+     */
+    public E poll() {
+        if (count.get() == 0) {
+            return null;
+        }
+        E element;
+        int before;
+        takeLock.lock();
+        try {
+            if (count.get() == 0) {
+                return null;
+            }
+            element = extract();
+            before = count.getAndDecrement();
+            if (before > 1) {
+                notEmpty.signal();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+        if (before == items.length) {
+            signalNotFull();
+        }
+        return element;
+    }
+
+    /**
+     * Removes and returns the front element, waiting as long as it takes
+     * for one.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public E take() throws InterruptedException {
+        E element;
+        int before;
+        takeLock.lockInterruptibly();
+        try {
+            while (count.get() == 0) {
+                notEmpty.await();
+            }
+            element = extract();
+            before = count.getAndDecrement();
+            if (before > 1) {
+                notEmpty.signal();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+        if (before == items.length) {
+            signalNotFull();
+        }
+        return element;
+    }
+
+    /**
+     * Removes and returns the front element, waiting at most the given
+     * time for one.
+     *
+     * @return the front element, or null if the time ran out
+     * @throws NullPointerException if unit is null
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        E element;
+        int before;
+        takeLock.lockInterruptibly();
+        try {
+            while (count.get() == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            element = extract();
+            before = count.getAndDecrement();
+            if (before > 1) {
+                notEmpty.signal();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+        if (before == items.length) {
+            signalNotFull();
+        }
+        return element;
+    }
+
+    /**
+     * Removes up to maxElements elements, front first, and adds them to
+     * the end of target, taking the lock once for the whole batch.
+     * Elements added after the drain starts are left in the queue.
+     *
+     * @return the number of elements moved
+     * @throws NullPointerException if target is null
+     */
+    public int drainTo(ListADT<? super E> target, int maxElements) {
+        if (target == null) {
+            throw new NullPointerException("Target list cannot be null.");
+        }
+        if (maxElements <= 0) {
+            return 0;
+        }
+        int moved = 0;
+        int before = 0;
+        takeLock.lock();
+        try {
+            int available = Math.min(maxElements, count.get());
+            try {
+                while (moved < available) {
+                    // added before it is removed, so a failing add loses nothing
+                    target.add(elementAt(takeIndex));
+                    extract();
+                    moved++;
+                }
+            } finally {
+                if (moved > 0) {
+                    before = count.getAndAdd(-moved);
+                    if (before > moved) {
+                        notEmpty.signal();
+                    }
+                }
+            }
+        } finally {
+            takeLock.unlock();
+        }
+        if (moved > 0 && before == items.length) {
+            signalNotFull();
+        }
+        return moved;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int index) {
+        return (E) items[index];
+    }
+
+    /**
+     * Clears and returns the element at takeIndex. Called with takeLock
+     * held and an element in the queue; the caller lowers the count.
+     */
+    private E extract() {
+        E element = elementAt(takeIndex);
+        items[takeIndex] = null;   // Help garbage collection
+        if (++takeIndex == items.length) {
+            takeIndex = 0;
+        }
+        return element;
+    }
+
+    /**
+     * Wakes a waiting consumer after a put into an empty queue.
+     */
+    private void signalNotEmpty() {
+        takeLock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    /**
+     * Wakes a waiting producer after a take from a full queue.
+     */
+    private void signalNotFull() {
+        putLock.lock();
+        try {
+            notFull.signal();
+        } finally {
+            putLock.unlock();
+        }
+    }
+
+    /**
+     * Takes both locks, always in the same order so two threads doing
+     * this cannot deadlock.
+     */
+    private void fullyLock() {
+        putLock.lock();
+        takeLock.lock();
+    }
+
+    private void fullyUnlock() {
+        takeLock.unlock();
+        putLock.unlock();
+    }
+
+    @Override
+    public E peek() throws EmptyQueueException {
+        takeLock.lock();
+        try {
+            if (count.get() == 0) {
+                throw new EmptyQueueException("Queue is empty");
+            }
+            return elementAt(takeIndex);
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    @Override
+    public void dequeueAll() {
+        fullyLock();
+        try {
+            int size = count.get();
+            for (int i = 0, index = takeIndex; i < size; i++) {
+                items[index] = null;
+                if (++index == items.length) {
+                    index = 0;
+                }
+            }
+            takeIndex = putIndex;
+            count.set(0);
+            notFull.signalAll();
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return count.get() == 0;
+    }
+
+    /**
+     * Returns true if the queue holds its capacity of elements right now.
+     */
+    @Override
+    public boolean isFull() {
+        return count.get() == items.length;
+    }
+
+    @Override
+    public int size() {
+        return count.get();
+    }
+
+    /**
+     * Returns the number of elements that could be added right now
+     * without waiting.
+     */
+    public int remainingCapacity() {
+        return items.length - count.get();
+    }
+
+    @Override
+    public boolean contains(E toFind) throws NullPointerException {
+        if (toFind == null) {
+            throw new NullPointerException("Cannot search for null element");
+        }
+        return search(toFind) != -1;
+    }
+
+    @Override
+    public int search(E toFind) {
+        fullyLock();
+        try {
+            int size = count.get();
+            for (int i = 0, index = takeIndex; i < size; i++) {
+                if (items[index].equals(toFind)) {
+                    return i + 1;
+                }
+                if (++index == items.length) {
+                    index = 0;
+                }
+            }
+            return -1;
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    /**
+     * Returns an iterator over a copy of the elements taken when this is
+     * called, front first; it is not affected by later changes.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new BlockingQueueIterator(toArray());
+    }
+
+    private class BlockingQueueIterator implements Iterator<E> {
+
+        private final Object[] snapshot;
+        private int current = 0;
+
+        BlockingQueueIterator(Object[] snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current < snapshot.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() throws NoSuchElementException {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements in iterator.");
+            }
+            return (E) snapshot[current++];
+        }
+    }
+
+    @Override
+    public boolean equals(QueueADT<E> that) {
+        if (that == null) {
+            return false;
+        }
+        if (that == this) {
+            return true;
+        }
+
+        Iterator<E> thisIter = this.iterator();
+        Iterator<E> thatIter = that.iterator();
+
+        while (thisIter.hasNext() && thatIter.hasNext()) {
+            if (!thisIter.next().equals(thatIter.next())) {
+                return false;
+            }
+        }
+
+        return !thisIter.hasNext() && !thatIter.hasNext();
+    }
+
+    @Override
+    public Object[] toArray() {
+        fullyLock();
+        try {
+            Object[] result = new Object[count.get()];
+            copyInto(result);
+            return result;
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E[] toArray(E[] holder) throws NullPointerException {
+        if (holder == null) {
+            throw new NullPointerException("Array cannot be null");
+        }
+        fullyLock();
+        try {
+            int size = count.get();
+            if (holder.length < size) {
+                holder = (E[]) java.lang.reflect.Array.newInstance(holder.getClass().getComponentType(), size);
+            }
+            copyInto(holder);
+            if (holder.length > size) {
+                holder[size] = null;
+            }
+            return holder;
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    /**
+     * Copies the elements, front first, into the start of target. Called
+     * with both locks held.
+     */
+    private void copyInto(Object[] target) {
+        int size = count.get();
+        int firstPart = Math.min(size, items.length - takeIndex);
+        System.arraycopy(items, takeIndex, target, 0, firstPart);
+        System.arraycopy(items, 0, target, firstPart, size - firstPart);
+    }
+
+    private static void checkNotNull(Object toAdd) {
+        if (toAdd == null) {
+            throw new NullPointerException("Cannot enqueue null element");
+        }
+    }
+}
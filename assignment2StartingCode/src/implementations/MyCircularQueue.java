@@ -0,0 +1,256 @@
+package implementations;
+
+import java.util.NoSuchElementException;
+
+import exceptions.EmptyQueueException;
+import utilities.Iterator;
+import utilities.QueueADT;
+
+/**
+ * Queue implementation backed by a circular array (ring buffer).
+ *
+ * The array length is always a power of two, so positions wrap with a
+ * bit mask instead of a modulo. Enqueue and dequeue are amortised O(1)
+ * and, unlike MyQueue, do not allocate a node per element.
+ *
+ * By default the queue grows (doubling) when the array is full. In
+ * bounded mode it never grows: isFull() reports when the fixed capacity
+ * is reached and enqueue throws an IllegalStateException.
+ *
+ * @param <E> the type of element stored in this queue
+ */
+public class MyCircularQueue<E> implements QueueADT<E> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_ARRAY_LENGTH = 1 << 30;
+
+    private E[] data;        // ring storage, length is a power of two
+    private int mask;        // data.length - 1
+    private int head;        // index of the front element
+    private int size;        // number of elements stored
+    private final int capacity; // maximum size in bounded mode
+    private final boolean bounded;
+
+    /**
+     * Creates a new empty, growable queue.
+     */
+    public MyCircularQueue() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * Creates a new empty queue.
+     *
+     * @param capacity the initial capacity, or the fixed capacity when bounded
+     * @param bounded  <code>true</code> if the queue must never hold more
+     *                 than <code>capacity</code> elements
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    @SuppressWarnings("unchecked")
+    public MyCircularQueue(int capacity, boolean bounded) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.bounded = bounded;
+        data = (E[]) new Object[arrayLengthFor(capacity)];
+        mask = data.length - 1;
+    }
+
+    /**
+     * Rounds up to the next power of two.
+     */
+    private static int arrayLengthFor(int capacity) {
+        if (capacity >= MAX_ARRAY_LENGTH) {
+            return MAX_ARRAY_LENGTH;
+        }
+        int length = 1;
+        while (length < capacity) {
+            length <<= 1;
+        }
+        return length;
+    }
+
+    /**
+     * @throws IllegalStateException if the queue is bounded and full
+     */
+    @Override
+    public void enqueue(E toAdd) throws NullPointerException {
+        if (toAdd == null) {
+            throw new NullPointerException("Cannot enqueue null element");
+        }
+        if (isFull()) {
+            throw new IllegalStateException("Queue is full");
+        }
+        if (size == data.length) {
+            grow();
+        }
+        data[(head + size) & mask] = toAdd;
+        size++;
+    }
+
+    /**
+     * Doubles the array, unwrapping the elements so the front is at 0.
+     */
+    @SuppressWarnings("unchecked")
+    private void grow() {
+        if (data.length == MAX_ARRAY_LENGTH) {
+            throw new IllegalStateException("Queue cannot grow any further");
+        }
+        E[] larger = (E[]) new Object[data.length << 1];
+        copyInto(larger);
+        data = larger;
+        mask = larger.length - 1;
+        head = 0;
+    }
+
+    /**
+     * Copies the elements, front first, into the start of target.
+     */
+    private void copyInto(Object[] target) {
+        int firstPart = Math.min(size, data.length - head);
+        System.arraycopy(data, head, target, 0, firstPart);
+        System.arraycopy(data, 0, target, firstPart, size - firstPart);
+    }
+
+    @Override
+    public E dequeue() throws EmptyQueueException {
+        if (isEmpty()) {
+            throw new EmptyQueueException("Queue is empty");
+        }
+        E front = data[head];
+        data[head] = null;   // Help garbage collection
+        head = (head + 1) & mask;
+        size--;
+        return front;
+    }
+
+    @Override
+    public E peek() throws EmptyQueueException {
+        if (isEmpty()) {
+            throw new EmptyQueueException("Queue is empty");
+        }
+        return data[head];
+    }
+
+    @Override
+    public void dequeueAll() {
+        for (int i = 0; i < size; i++) {
+            data[(head + i) & mask] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(E toFind) throws NullPointerException {
+        if (toFind == null) {
+            throw new NullPointerException("Cannot search for null element");
+        }
+        return search(toFind) != -1;
+    }
+
+    @Override
+    public int search(E toFind) {
+        for (int i = 0; i < size; i++) {
+            if (data[(head + i) & mask].equals(toFind)) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new CircularQueueIterator();
+    }
+
+    /**
+     * Walks the queue from the front to the back.
+     */
+    private class CircularQueueIterator implements Iterator<E> {
+
+        private int current = 0;   // offset from head
+
+        @Override
+        public boolean hasNext() {
+            return current < size;
+        }
+
+        @Override
+        public E next() throws NoSuchElementException {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements in the queue.");
+            }
+            return data[(head + current++) & mask];
+        }
+    }
+
+    @Override
+    public boolean equals(QueueADT<E> that) {
+        if (that == null) {
+            return false;
+        }
+
+        if (this.size() != that.size()) {
+            return false;
+        }
+
+        Iterator<E> thisIter = this.iterator();
+        Iterator<E> thatIter = that.iterator();
+
+        while (thisIter.hasNext() && thatIter.hasNext()) {
+            if (!thisIter.next().equals(thatIter.next())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] result = new Object[size];
+        copyInto(result);
+        return result;
+    }
+
+    @Override
+    public E[] toArray(E[] holder) throws NullPointerException {
+        if (holder == null) {
+            throw new NullPointerException("Array cannot be null");
+        }
+
+        if (holder.length < size) {
+            @SuppressWarnings("unchecked")
+            E[] newArray = (E[]) java.lang.reflect.Array.newInstance(
+                    holder.getClass().getComponentType(), size);
+            holder = newArray;
+        }
+
+        copyInto(holder);
+
+        if (holder.length > size) {
+            holder[size] = null;
+        }
+        return holder;
+    }
+
+    /**
+     * Only a bounded queue can be full.
+     */
+    @Override
+    public boolean isFull() {
+        return bounded && size == capacity;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
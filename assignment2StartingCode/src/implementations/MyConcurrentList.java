@@ -0,0 +1,346 @@
+package implementations;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+
+import utilities.Iterator;
+import utilities.ListADT;
+
+/**
+ * Makes any ListADT safe to share between threads by guarding it with a
+ * read-write lock, so that readers run in parallel and only writers
+ * exclude everyone else.
+ *
+ * In READ_WRITE mode the lock is a ReentrantReadWriteLock. In OPTIMISTIC
+ * mode it is a StampedLock, and size, isEmpty and get first run without
+ * taking it at all: they read the list, then check that no writer got in
+ * meanwhile, and only take the read lock and try again if one did. That
+ * turns the common read into two reads of the lock word, so
+ * read-dominated lookups no longer bounce the lock's cache line between
+ * cores. contains, toArray and iterator always take the read lock; every
+ * other method takes the write lock.
+ *
+ * The iterator walks a copy of the elements made under the read lock, so
+ * it never holds the lock and never sees a half-done change. addAll
+ * copies its argument before taking the write lock, so two lists adding
+ * each other cannot deadlock.
+ *
+ * Once wrapped, the list must only be used through this object. The
+ * wrapped list's read methods must not change it, which holds for every
+ * list in this package. In OPTIMISTIC mode its size, isEmpty and get may
+ * also run against a list a writer has changed halfway; their result is
+ * thrown away then, but they must still return or throw rather than run
+ * forever. MyArrayList's, MyDLL's and MyUnrolledList's do: they take at
+ * most index steps.
+ *
+ * @param <E> the type of element stored in this list
+ */
+public class MyConcurrentList<E> implements ListADT<E> {
+
+    /**
+     * How the list is locked.
+     */
+    public enum Mode {
+        /** A ReentrantReadWriteLock around every call. */
+        READ_WRITE,
+        /** A StampedLock, with optimistic reads for size, isEmpty and get. */
+        OPTIMISTIC
+    }
+
+    private final ListADT<E> list;
+
+    // Exactly one of these is set, depending on the mode
+    private final ReentrantReadWriteLock readWrite;
+    private final StampedLock stamped;
+
+    /**
+     * Wraps the list in READ_WRITE mode.
+     *
+     * @throws NullPointerException if list is null
+     */
+    public MyConcurrentList(ListADT<E> list) {
+        this(list, Mode.READ_WRITE);
+    }
+
+    /**
+     * Wraps the list in the given mode.
+     *
+     * @throws NullPointerException if list or mode is null
+     */
+    public MyConcurrentList(ListADT<E> list, Mode mode) {
+        if (list == null || mode == null) {
+            throw new NullPointerException("List and mode cannot be null.");
+        }
+        this.list = list;
+        if (mode == Mode.READ_WRITE) {
+            readWrite = new ReentrantReadWriteLock();
+            stamped = null;
+        } else {
+            readWrite = null;
+            stamped = new StampedLock();
+        }
+    }
+
+    /**
+     * Returns the mode the list was wrapped in.
+     */
+    public Mode getMode() {
+        return stamped == null ? Mode.READ_WRITE : Mode.OPTIMISTIC;
+    }
+
+    // -------------------------
+    // Lock helpers
+    // -------------------------
+
+    /**
+     * Takes the read lock and returns the stamp to release it with (0 in
+     * READ_WRITE mode, which needs none).
+     */
+    private long lockRead() {
+        if (stamped == null) {
+            readWrite.readLock().lock();
+            return 0L;
+        }
+        return stamped.readLock();
+    }
+
+    private void unlockRead(long stamp) {
+        if (stamped == null) {
+            readWrite.readLock().unlock();
+        } else {
+            stamped.unlockRead(stamp);
+        }
+    }
+
+    private long lockWrite() {
+        if (stamped == null) {
+            readWrite.writeLock().lock();
+            return 0L;
+        }
+        return stamped.writeLock();
+    }
+
+    private void unlockWrite(long stamp) {
+        if (stamped == null) {
+            readWrite.writeLock().unlock();
+        } else {
+            stamped.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns an optimistic read stamp, or 0 if optimistic reads are off or
+     * a writer holds the lock right now.
+     */
+    private long tryOptimisticRead() {
+        return stamped == null ? 0L : stamped.tryOptimisticRead();
+    }
+
+    // -------------------------
+    // Reads
+    // -------------------------
+
+    @Override
+    public int size() {
+        long stamp = tryOptimisticRead();
+        if (stamp != 0L) {
+            int size = list.size();
+            if (stamped.validate(stamp)) {
+                return size;
+            }
+        }
+        stamp = lockRead();
+        try {
+            return list.size();
+        } finally {
+            unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        long stamp = tryOptimisticRead();
+        if (stamp != 0L) {
+            boolean empty = list.isEmpty();
+            if (stamped.validate(stamp)) {
+                return empty;
+            }
+        }
+        stamp = lockRead();
+        try {
+            return list.isEmpty();
+        } finally {
+            unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public E get(int index) throws IndexOutOfBoundsException {
+        long stamp = tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                E element = list.get(index);
+                if (stamped.validate(stamp)) {
+                    return element;
+                }
+            } catch (RuntimeException e) {
+                // a real error if nothing changed; otherwise a torn read
+                if (stamped.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        stamp = lockRead();
+        try {
+            return list.get(index);
+        } finally {
+            unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public boolean contains(E toFind) throws NullPointerException {
+        long stamp = lockRead();
+        try {
+            return list.contains(toFind);
+        } finally {
+            unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public E[] toArray(E[] toHold) throws NullPointerException {
+        long stamp = lockRead();
+        try {
+            return list.toArray(toHold);
+        } finally {
+            unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public Object[] toArray() {
+        long stamp = lockRead();
+        try {
+            return list.toArray();
+        } finally {
+            unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns an iterator over a copy of the elements taken under the read
+     * lock; it is not affected by later changes.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new SnapshotIterator(toArray());
+    }
+
+    private class SnapshotIterator implements Iterator<E> {
+
+        private final Object[] snapshot;
+        private int current = 0;
+
+        SnapshotIterator(Object[] snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current < snapshot.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() throws NoSuchElementException {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements in iterator.");
+            }
+            return (E) snapshot[current++];
+        }
+    }
+
+    // -------------------------
+    // Writes
+    // -------------------------
+
+    @Override
+    public void clear() {
+        long stamp = lockWrite();
+        try {
+            list.clear();
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean add(int index, E toAdd) throws NullPointerException, IndexOutOfBoundsException {
+        long stamp = lockWrite();
+        try {
+            return list.add(index, toAdd);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean add(E toAdd) throws NullPointerException {
+        long stamp = lockWrite();
+        try {
+            return list.add(toAdd);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean addAll(ListADT<? extends E> toAdd) throws NullPointerException {
+        if (toAdd == null) {
+            throw new NullPointerException("List to add cannot be null.");
+        }
+        // copied first: toAdd may be this list, or another one whose lock
+        // must not be taken while this one is held
+        MyArrayList<E> copy = new MyArrayList<>();
+        copy.addAll(toAdd);
+
+        long stamp = lockWrite();
+        try {
+            return list.addAll(copy);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public E remove(int index) throws IndexOutOfBoundsException {
+        long stamp = lockWrite();
+        try {
+            return list.remove(index);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public E remove(E toRemove) throws NullPointerException {
+        long stamp = lockWrite();
+        try {
+            return list.remove(toRemove);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public E set(int index, E toChange) throws NullPointerException, IndexOutOfBoundsException {
+        long stamp = lockWrite();
+        try {
+            return list.set(index, toChange);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package implementations;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import exceptions.EmptyQueueException;
+import utilities.Iterator;
+import utilities.QueueADT;
+
+/**
+ * A lock-free, unbounded queue that any number of threads can use at
+ * once: the Michael-Scott linked queue.
+ *
+ * The list always starts with a dummy node; head points at it and tail at
+ * the last node or, briefly, the one before it. enqueue links a node
+ * after the last one with a compare-and-set (CAS) and then swings tail,
+ * and dequeue swings head one node forward, so the element's node becomes
+ * the new dummy. A thread that finds tail lagging swings it itself
+ * instead of waiting, so no thread ever blocks another. enqueue, dequeue,
+ * poll and peek are linearizable.
+ *
+ * size, contains, search, iterator, toArray and equals walk the list
+ * without locking and are only weakly consistent: they see every element
+ * that stays in the queue while they run, and may or may not see the ones
+ * added or removed meanwhile. size is O(n). Because another thread may
+ * dequeue between isEmpty() and dequeue(), threads sharing the queue
+ * should call poll() instead.
+ *
+ * @param <E> the type of element stored in this queue
+ */
+public class MyConcurrentQueue<E> implements QueueADT<E> {
+
+    private static final class Node<E> {
+        volatile E item;
+        volatile Node<E> next;
+
+        Node(E item) {
+            this.item = item;
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Node, Node> NEXT =
+            AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<MyConcurrentQueue, Node> HEAD =
+            AtomicReferenceFieldUpdater.newUpdater(MyConcurrentQueue.class, Node.class, "head");
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<MyConcurrentQueue, Node> TAIL =
+            AtomicReferenceFieldUpdater.newUpdater(MyConcurrentQueue.class, Node.class, "tail");
+
+    private volatile Node<E> head;   // the dummy node; the front element is head.next
+    private volatile Node<E> tail;   // the last node, or the one before it
+
+    /**
+     * Creates a new empty queue.
+     */
+    public MyConcurrentQueue() {
+        head = tail = new Node<>(null);
+    }
+
+    @Override
+    public void enqueue(E toAdd) throws NullPointerException {
+        if (toAdd == null) {
+            throw new NullPointerException("Cannot enqueue null element");
+        }
+
+        Node<E> node = new Node<>(toAdd);
+        while (true) {
+            Node<E> last = tail;
+            Node<E> next = last.next;
+            if (last != tail) {
+                continue;
+            }
+            if (next == null) {
+                if (NEXT.compareAndSet(last, null, node)) {
+                    // linked; failing here only means another thread swung tail for us
+                    TAIL.compareAndSet(this, last, node);
+                    return;
+                }
+            } else {
+                // tail is lagging behind: help the other enqueue finish
+                TAIL.compareAndSet(this, last, next);
+            }
+        }
+    }
+
+    @Override
+    public E dequeue() throws EmptyQueueException {
+        E element = poll();
+        if (element == null) {
+            throw new EmptyQueueException("Queue is empty");
+        }
+        return element;
+    }
+
+    /**
+     * Removes and returns the front element, or returns null if the queue
+     * is empty. Unlike isEmpty() followed by dequeue(), this is one atomic
+     * step.
+     */
+    public E poll() {
+        while (true) {
+            Node<E> first = head;
+            Node<E> last = tail;
+            Node<E> next = first.next;
+            if (first != head) {
+                continue;
+            }
+            if (first == last) {
+                if (next == null) {
+                    return null;
+                }
+                TAIL.compareAndSet(this, last, next);
+            } else {
+                // read before the CAS: once head moves another thread may clear it
+                E element = next.item;
+                if (HEAD.compareAndSet(this, first, next)) {
+                    // next is the dummy now; do not keep the element alive
+                    next.item = null;
+                    return element;
+                }
+            }
+        }
+    }
+
+    @Override
+    public E peek() throws EmptyQueueException {
+        while (true) {
+            Node<E> first = head;
+            Node<E> next = first.next;
+            if (next == null) {
+                throw new EmptyQueueException("Queue is empty");
+            }
+            E element = next.item;
+            // a null item or a moved head means next was dequeued meanwhile
+            if (element != null && first == head) {
+                return element;
+            }
+        }
+    }
+
+    /**
+     * Dequeues until the queue is found empty. Elements enqueued while
+     * this runs may or may not be removed.
+     */
+    @Override
+    public void dequeueAll() {
+        while (poll() != null) {
+            // keep going
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return firstNode() == null;
+    }
+
+    /**
+     * Returns the first node that still holds an element, or null.
+     */
+    private Node<E> firstNode() {
+        Node<E> node = head.next;
+        while (node != null && node.item == null) {
+            node = node.next;
+        }
+        return node;
+    }
+
+    @Override
+    public boolean contains(E toFind) throws NullPointerException {
+        if (toFind == null) {
+            throw new NullPointerException("Cannot search for null element");
+        }
+        return search(toFind) != -1;
+    }
+
+    @Override
+    public int search(E toFind) {
+        int position = 1;
+        for (Node<E> node = head.next; node != null; node = node.next) {
+            E element = node.item;
+            if (element != null) {
+                if (element.equals(toFind)) {
+                    return position;
+                }
+                position++;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new ConcurrentQueueIterator();
+    }
+
+    /**
+     * Walks the nodes from the front. The next element is read ahead, so
+     * hasNext() and next() always agree even if that element is dequeued
+     * in between.
+     */
+    private class ConcurrentQueueIterator implements Iterator<E> {
+
+        private Node<E> node;
+        private E element;
+
+        ConcurrentQueueIterator() {
+            advance(head.next);
+        }
+
+        private void advance(Node<E> from) {
+            node = from;
+            element = null;
+            while (node != null && (element = node.item) == null) {
+                node = node.next;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return node != null;
+        }
+
+        @Override
+        public E next() throws NoSuchElementException {
+            if (node == null) {
+                throw new NoSuchElementException("No more elements in iterator.");
+            }
+            E result = element;
+            advance(node.next);
+            return result;
+        }
+    }
+
+    @Override
+    public boolean equals(QueueADT<E> that) {
+        if (that == null) {
+            return false;
+        }
+
+        // no size() check first: the sizes could change between the two calls
+        Iterator<E> thisIter = this.iterator();
+        Iterator<E> thatIter = that.iterator();
+
+        while (thisIter.hasNext() && thatIter.hasNext()) {
+            if (!thisIter.next().equals(thatIter.next())) {
+                return false;
+            }
+        }
+
+        return !thisIter.hasNext() && !thatIter.hasNext();
+    }
+
+    @Override
+    public Object[] toArray() {
+        return snapshot().toArray();
+    }
+
+    @Override
+    public E[] toArray(E[] holder) throws NullPointerException {
+        if (holder == null) {
+            throw new NullPointerException("Array cannot be null");
+        }
+        return snapshot().toArray(holder);
+    }
+
+    /**
+     * Copies the elements into a list in one pass, so the array is sized
+     * by what was actually seen.
+     */
+    private MyArrayList<E> snapshot() {
+        MyArrayList<E> elements = new MyArrayList<>();
+        Iterator<E> it = iterator();
+        while (it.hasNext()) {
+            elements.add(it.next());
+        }
+        return elements;
+    }
+
+    @Override
+    public boolean isFull() {
+        // linked queue, never full
+        return false;
+    }
+
+    /**
+     * Counts the elements by walking the queue, so this is O(n) and only
+     * an estimate while other threads are changing the queue.
+     */
+    @Override
+    public int size() {
+        int count = 0;
+        for (Node<E> node = head.next; node != null; node = node.next) {
+            if (node.item != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
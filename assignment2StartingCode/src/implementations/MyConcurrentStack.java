@@ -0,0 +1,318 @@
+package implementations;
+
+import java.util.EmptyStackException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import utilities.Iterator;
+import utilities.StackADT;
+
+/**
+ * A lock-free, unbounded stack that any number of threads can use at
+ * once: Treiber's linked stack with elimination backoff.
+ *
+ * push and pop swing the top pointer with a compare-and-set (CAS). When
+ * many threads hammer the top, most of those CASes fail; instead of
+ * retrying straight away, a thread whose CAS failed visits a random slot
+ * of a small elimination array. A push leaves its node there for a short
+ * spin, and a pop arriving at the same slot takes it directly, so the
+ * pair completes without touching the top at all. A push whose node is
+ * not taken in time removes it again and goes back to the top. push, pop
+ * and peek are linearizable; an eliminated pair counts as a push
+ * immediately followed by its pop.
+ *
+ * A node never changes once it is pushed, so size, contains, search,
+ * iterator, toArray and equals read top once and walk an exact snapshot
+ * of the stack as it was at that moment, without locking. size is O(n).
+ * Because another thread may pop between isEmpty() and pop(), threads
+ * sharing the stack should call poll().
+ *
+ * @param <E> the type of element stored in this stack
+ */
+public class MyConcurrentStack<E> implements StackADT<E> {
+
+    private static final class Node<E> {
+        final E item;
+        Node<E> next;   // written only before the node is published
+
+        Node(E item) {
+            this.item = item;
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<MyConcurrentStack, Node> TOP =
+            AtomicReferenceFieldUpdater.newUpdater(MyConcurrentStack.class, Node.class, "top");
+
+    // Elimination slots are this many array entries apart, so two slots
+    // never share a 64-byte cache line even with uncompressed references
+    private static final int SLOT_SPACING = 8;
+
+    // How many times a push re-reads its slot before taking its node back
+    private static final int SPINS = 256;
+
+    // Spins between the yields that give a descheduled pop a chance to run
+    private static final int YIELD_EVERY = 64;
+
+    private volatile Node<E> top;
+
+    // null when elimination is turned off
+    private final AtomicReferenceArray<Node<E>> slots;
+    private final int slotCount;
+
+    /**
+     * Creates a new empty stack with one elimination slot per available
+     * processor, up to 16. On a single processor there are none: no other
+     * thread can be running to meet a waiting push.
+     */
+    public MyConcurrentStack() {
+        this(defaultSlots());
+    }
+
+    /**
+     * Creates a new empty stack with the given number of elimination
+     * slots. With 0 this is a plain Treiber stack that simply retries
+     * failed CASes.
+     *
+     * @throws IllegalArgumentException if eliminationSlots is negative
+     */
+    public MyConcurrentStack(int eliminationSlots) {
+        if (eliminationSlots < 0) {
+            throw new IllegalArgumentException("Slot count cannot be negative: " + eliminationSlots);
+        }
+        slotCount = eliminationSlots;
+        slots = eliminationSlots == 0 ? null : new AtomicReferenceArray<Node<E>>(eliminationSlots * SLOT_SPACING);
+    }
+
+    private static int defaultSlots() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        return processors == 1 ? 0 : Math.min(processors, 16);
+    }
+
+    @Override
+    public void push(E toAdd) throws NullPointerException {
+        if (toAdd == null) {
+            throw new NullPointerException("Item cannot be null");
+        }
+
+        Node<E> node = new Node<>(toAdd);
+        while (true) {
+            Node<E> first = top;
+            node.next = first;
+            if (TOP.compareAndSet(this, first, node)) {
+                return;
+            }
+            if (slots != null && eliminatePush(node)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public E pop() throws EmptyStackException {
+        E element = poll();
+        if (element == null) {
+            throw new EmptyStackException();
+        }
+        return element;
+    }
+
+    /**
+     * Removes and returns the top element, or returns null if the stack is
+     * empty. Unlike isEmpty() followed by pop(), this is one atomic step.
+     */
+    public E poll() {
+        while (true) {
+            Node<E> first = top;
+            if (first == null) {
+                return null;
+            }
+            if (TOP.compareAndSet(this, first, first.next)) {
+                return first.item;
+            }
+            if (slots != null) {
+                Node<E> node = eliminatePop();
+                if (node != null) {
+                    return node.item;
+                }
+            }
+        }
+    }
+
+    /**
+     * Offers the node in a random slot and waits briefly for a pop to take
+     * it. Returns true if one did, and false once the node is back in the
+     * push's hands.
+     */
+    private boolean eliminatePush(Node<E> node) {
+        int slot = randomSlot();
+        if (!slots.compareAndSet(slot, null, node)) {
+            return false;   // taken by another push; go back to the top
+        }
+        for (int i = 1; i <= SPINS; i++) {
+            if (slots.get(slot) != node) {
+                return true;
+            }
+            if (i % YIELD_EVERY == 0) {
+                // with more threads than processors the partner may not be running
+                Thread.yield();
+            }
+        }
+        // failing here means a pop took the node after all
+        return !slots.compareAndSet(slot, node, null);
+    }
+
+    /**
+     * Takes a waiting push's node from a random slot, or returns null if
+     * that slot is empty or the node was taken first.
+     */
+    private Node<E> eliminatePop() {
+        int slot = randomSlot();
+        Node<E> node = slots.get(slot);
+        if (node != null && slots.compareAndSet(slot, node, null)) {
+            return node;
+        }
+        return null;
+    }
+
+    private int randomSlot() {
+        return ThreadLocalRandom.current().nextInt(slotCount) * SLOT_SPACING;
+    }
+
+    @Override
+    public E peek() throws EmptyStackException {
+        Node<E> first = top;
+        if (first == null) {
+            throw new EmptyStackException();
+        }
+        return first.item;
+    }
+
+    /**
+     * Empties the stack in one step. Pushes still waiting in the
+     * elimination array have not happened yet and are not affected.
+     */
+    @Override
+    public void clear() {
+        top = null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return top == null;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return snapshot().toArray();
+    }
+
+    @Override
+    public E[] toArray(E[] holder) throws NullPointerException {
+        if (holder == null) {
+            throw new NullPointerException("Provided array cannot be null.");
+        }
+        return snapshot().toArray(holder);
+    }
+
+    /**
+     * Copies the elements, top first, into a list in one pass.
+     */
+    private MyArrayList<E> snapshot() {
+        MyArrayList<E> elements = new MyArrayList<>();
+        for (Node<E> node = top; node != null; node = node.next) {
+            elements.add(node.item);
+        }
+        return elements;
+    }
+
+    @Override
+    public boolean contains(E toFind) throws NullPointerException {
+        if (toFind == null) {
+            throw new NullPointerException();
+        }
+        return search(toFind) != -1;
+    }
+
+    @Override
+    public int search(E toFind) {
+        // distance from the top, nearest the top first
+        int position = 1;
+        for (Node<E> node = top; node != null; node = node.next) {
+            if (node.item.equals(toFind)) {
+                return position;
+            }
+            position++;
+        }
+        return -1;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new ConcurrentStackIterator();
+    }
+
+    /**
+     * Walks the nodes that were in the stack when the iterator was
+     * created, from the top down; later pushes and pops do not affect it.
+     */
+    private class ConcurrentStackIterator implements Iterator<E> {
+
+        private Node<E> node = top;
+
+        @Override
+        public boolean hasNext() {
+            return node != null;
+        }
+
+        @Override
+        public E next() throws NoSuchElementException {
+            if (node == null) {
+                throw new NoSuchElementException("No more elements in the stack.");
+            }
+            E element = node.item;
+            node = node.next;
+            return element;
+        }
+    }
+
+    @Override
+    public boolean equals(StackADT<E> that) {
+        if (that == null) {
+            return false;
+        }
+
+        // no size() check first: that could change between the two calls
+        Iterator<E> thisIter = this.iterator();
+        Iterator<E> thatIter = that.iterator();
+
+        while (thisIter.hasNext() && thatIter.hasNext()) {
+            if (!thisIter.next().equals(thatIter.next())) {
+                return false;
+            }
+        }
+
+        return !thisIter.hasNext() && !thatIter.hasNext();
+    }
+
+    /**
+     * Counts the elements by walking the stack, so this is O(n) and only
+     * an estimate while other threads are changing the stack.
+     */
+    @Override
+    public int size() {
+        int count = 0;
+        for (Node<E> node = top; node != null; node = node.next) {
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public boolean stackOverflow() {
+        // linked stack, never full
+        return false;
+    }
+}
@@ -8,6 +8,12 @@ import utilities.ListADT;
 /**
  * Doubly linked list implementation of the ListADT interface.
  *
+ * A list can optionally recycle its nodes: removed nodes are kept on a
+ * bounded free list and reused by later adds, so a list whose size
+ * stays within the pool (a queue under steady producer/consumer load,
+ * for example) stops allocating altogether. As without pooling, an
+ * iterator must not be used after the list has been changed.
+ *
  * @param <E> the type of elements in this list
  */
 public class MyDLL<E> implements ListADT<E> {
@@ -16,13 +22,33 @@ public class MyDLL<E> implements ListADT<E> {
     private MyDLLNode<E> tail;
     private int size;
 
+    // Recycled nodes, chained through their next links
+    private MyDLLNode<E> freeNodes;
+    private int freeCount;
+    private final int poolCapacity;
+
     /**
      * Constructs an empty doubly linked list.
      */
     public MyDLL() {
+        this(0);
+    }
+
+    /**
+     * Constructs an empty doubly linked list that keeps up to
+     * poolCapacity removed nodes for reuse.
+     *
+     * @param poolCapacity the most nodes kept for reuse; 0 for none
+     * @throws IllegalArgumentException if poolCapacity is negative
+     */
+    public MyDLL(int poolCapacity) {
+        if (poolCapacity < 0) {
+            throw new IllegalArgumentException("Pool capacity: " + poolCapacity);
+        }
         head = null;
         tail = null;
         size = 0;
+        this.poolCapacity = poolCapacity;
     }
 
     // -------------------------
@@ -39,8 +65,7 @@ public class MyDLL<E> implements ListADT<E> {
         MyDLLNode<E> current = head;
         while (current != null) {
             MyDLLNode<E> next = current.getNext();
-            current.setPrev(null);
-            current.setNext(null);
+            release(current);
             current = next;
         }
         head = null;
@@ -48,6 +73,46 @@ public class MyDLL<E> implements ListADT<E> {
         size = 0;
     }
 
+    /**
+     * Returns the number of removed nodes kept for reuse.
+     */
+    public int pooledNodes() {
+        return freeCount;
+    }
+
+    // -------------------------
+    // Node pool
+    // -------------------------
+
+    private MyDLLNode<E> newNode(E element) {
+        MyDLLNode<E> node = freeNodes;
+        if (node == null) {
+            return new MyDLLNode<>(element);
+        }
+        freeNodes = node.getNext();
+        freeCount--;
+        node.setNext(null);
+        node.setElement(element);
+        return node;
+    }
+
+    /**
+     * Drops a node that is no longer in the list, keeping it for reuse if
+     * the pool has room. Its element is cleared either way so the pool
+     * does not keep removed elements alive.
+     */
+    private void release(MyDLLNode<E> node) {
+        node.setElement(null);
+        node.setPrev(null);
+        if (freeCount < poolCapacity) {
+            node.setNext(freeNodes);
+            freeNodes = node;
+            freeCount++;
+        } else {
+            node.setNext(null);
+        }
+    }
+
     @Override
     public boolean isEmpty() {
         return size == 0;
@@ -102,7 +167,7 @@ public class MyDLL<E> implements ListADT<E> {
             return add(toAdd);
         }
 
-        MyDLLNode<E> newNode = new MyDLLNode<>(toAdd);
+        MyDLLNode<E> newNode = newNode(toAdd);
 
         if (index == 0) {
             // insert at head
@@ -135,7 +200,7 @@ public class MyDLL<E> implements ListADT<E> {
             throw new NullPointerException("Element to add cannot be null.");
         }
 
-        MyDLLNode<E> newNode = new MyDLLNode<>(toAdd);
+        MyDLLNode<E> newNode = newNode(toAdd);
 
         if (isEmpty()) {
             head = tail = newNode;
@@ -233,8 +298,7 @@ public class MyDLL<E> implements ListADT<E> {
             next.setPrev(prev);
         }
 
-        node.setNext(null);
-        node.setPrev(null);
+        release(node);
 
         size--;
         if (size == 0) {
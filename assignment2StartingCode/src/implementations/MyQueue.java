@@ -24,6 +24,18 @@ public class MyQueue<E> implements QueueADT<E> {
         this.list = new MyDLL<>();
     }
 
+    /**
+     * Creates a new empty queue that recycles up to poolCapacity nodes,
+     * so enqueue and dequeue stop allocating once the queue has been as
+     * long as it gets in steady use.
+     *
+     * @param poolCapacity the most nodes kept for reuse; 0 for none
+     * @throws IllegalArgumentException if poolCapacity is negative
+     */
+    public MyQueue(int poolCapacity) {
+        this.list = new MyDLL<>(poolCapacity);
+    }
+
     @Override
     public void enqueue(E toAdd) throws NullPointerException {
         if (toAdd == null) {
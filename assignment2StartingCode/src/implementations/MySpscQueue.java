@@ -0,0 +1,474 @@
+package implementations;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import exceptions.EmptyQueueException;
+import utilities.Iterator;
+import utilities.ListADT;
+import utilities.QueueADT;
+
+/*
+ * The fields of MySpscQueue live in these superclasses so the JVM cannot
+ * reorder them: superclass fields are always laid out first. The padding
+ * keeps the producer's fields, the consumer's fields and everything else
+ * on separate 128-byte spans, a pair of cache lines, so the two threads
+ * never invalidate each other's lines except to read the other's index.
+ */
+
+abstract class SpscPadHeader {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+    long p08, p09, p10, p11, p12, p13, p14, p15;
+}
+
+abstract class SpscProducerFields extends SpscPadHeader {
+    // Next sequence number to write; only the producer writes it
+    volatile long tail;
+    // The producer's last look at head, so it rarely reads the consumer's line
+    long headCache;
+}
+
+abstract class SpscPadMiddle extends SpscProducerFields {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+    long p28, p29, p30, p31, p32, p33, p34, p35;
+}
+
+abstract class SpscConsumerFields extends SpscPadMiddle {
+    // Next sequence number to read; only the consumer writes it
+    volatile long head;
+    // The consumer's last look at tail
+    long tailCache;
+}
+
+abstract class SpscPadFooter extends SpscConsumerFields {
+    long p40, p41, p42, p43, p44, p45, p46, p47;
+    long p48, p49, p50, p51, p52, p53, p54, p55;
+}
+
+/**
+ * A bounded queue for handing elements from exactly one producer thread
+ * to exactly one consumer thread, without locks or CAS.
+ *
+ * Elements are numbered by two ever-increasing sequence counters: tail,
+ * the next one the producer writes, and head, the next one the consumer
+ * reads. Each counter has a single writer, so a plain store is enough to
+ * move it. The producer fills the slot and then publishes it with a
+ * lazySet (release store) of tail; the consumer reads tail, which
+ * guarantees it sees the slot, then clears the slot and releases it the
+ * same way through head. Each side keeps a cached copy of the other's
+ * counter and only re-reads the real one when the cache says the queue
+ * is full (or empty), so most operations touch no shared cache line.
+ *
+ * The batch methods offer(E[], int, int), poll(E[], int, int) and
+ * drainTo claim as many slots as they can and publish them with one
+ * store, which is the fastest way through the queue.
+ *
+ * Which thread may call what:
+ * - producer: enqueue and both offer methods
+ * - consumer: dequeue, both poll methods, drainTo, dequeueAll, peek,
+ *   contains, search, iterator, toArray and equals, which look at the
+ *   elements the producer can no longer touch
+ * - any thread: size, isEmpty and isFull, which are estimates while the
+ *   other side is running
+ * Using a side from two threads at once corrupts the queue; nothing
+ * checks for it.
+ *
+ * @param <E> the type of element stored in this queue
+ */
+public class MySpscQueue<E> extends SpscPadFooter implements QueueADT<E> {
+
+    private static final AtomicLongFieldUpdater<SpscProducerFields> TAIL =
+            AtomicLongFieldUpdater.newUpdater(SpscProducerFields.class, "tail");
+
+    private static final AtomicLongFieldUpdater<SpscConsumerFields> HEAD =
+            AtomicLongFieldUpdater.newUpdater(SpscConsumerFields.class, "head");
+
+    private static final int MAX_ARRAY_LENGTH = 1 << 30;
+
+    private final Object[] buffer;   // length is a power of two
+    private final int mask;          // buffer.length - 1
+    private final int capacity;
+
+    /**
+     * Creates a new empty queue holding at most capacity elements.
+     *
+     * @throws IllegalArgumentException if capacity is not positive or
+     *                                  larger than 2^30
+     */
+    public MySpscQueue(int capacity) {
+        if (capacity <= 0 || capacity > MAX_ARRAY_LENGTH) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+        this.capacity = capacity;
+        int length = 1;
+        while (length < capacity) {
+            length <<= 1;
+        }
+        buffer = new Object[length];
+        mask = length - 1;
+    }
+
+    /**
+     * Adds the element at the back. Producer only.
+     *
+     * @throws IllegalStateException if the queue is full
+     */
+    @Override
+    public void enqueue(E toAdd) throws NullPointerException {
+        if (!offer(toAdd)) {
+            throw new IllegalStateException("Queue is full");
+        }
+    }
+
+    /**
+     * Adds the element at the back if there is room. Producer only.
+     *
+     * @return true if the element was added, false if the queue was full
+     * @throws NullPointerException if toAdd is null
+     */
+    public boolean offer(E toAdd) {
+        if (toAdd == null) {
+            throw new NullPointerException("Cannot enqueue null element");
+        }
+        long t = tail;
+        if (t - headCache >= capacity) {
+            headCache = head;
+            if (t - headCache >= capacity) {
+                return false;
+            }
+        }
+        buffer[(int) t & mask] = toAdd;
+        TAIL.lazySet(this, t + 1);
+        return true;
+    }
+
+    /**
+     * Adds as many elements of items[offset, offset + length) as there is
+     * room for, in order, and publishes them together. Producer only.
+     *
+     * @return the number of elements added, from the start of the range
+     * @throws NullPointerException      if items or any element in the
+     *                                   range is null; nothing is added then
+     * @throws IndexOutOfBoundsException if the range is outside items
+     */
+    public int offer(E[] items, int offset, int length) {
+        checkRange(items, offset, length);
+        for (int i = offset; i < offset + length; i++) {
+            if (items[i] == null) {
+                throw new NullPointerException("Cannot enqueue null element");
+            }
+        }
+
+        long t = tail;
+        long room = capacity - (t - headCache);
+        if (room < length) {
+            headCache = head;
+            room = capacity - (t - headCache);
+        }
+        int count = (int) Math.min(room, length);
+        for (int i = 0; i < count; i++) {
+            buffer[(int) (t + i) & mask] = items[offset + i];
+        }
+        if (count > 0) {
+            TAIL.lazySet(this, t + count);
+        }
+        return count;
+    }
+
+    @Override
+    public E dequeue() throws EmptyQueueException {
+        E element = poll();
+        if (element == null) {
+            throw new EmptyQueueException("Queue is empty");
+        }
+        return element;
+    }
+
+    /**
+     * Removes and returns the front element, or returns null if the queue
+     * is empty. Consumer only.
+     */
+    public E poll() {
+        long h = head;
+        if (h >= tailCache) {
+            tailCache = tail;
+            if (h >= tailCache) {
+                return null;
+            }
+        }
+        int index = (int) h & mask;
+        E element = elementAt(index);
+        buffer[index] = null;   // Help garbage collection
+        HEAD.lazySet(this, h + 1);
+        return element;
+    }
+
+    /**
+     * Removes up to length elements, front first, into
+     * into[offset, offset + length) and frees their slots together.
+     * Consumer only.
+     *
+     * @return the number of elements removed
+     * @throws NullPointerException      if into is null
+     * @throws IndexOutOfBoundsException if the range is outside into
+     */
+    public int poll(E[] into, int offset, int length) {
+        checkRange(into, offset, length);
+        long h = head;
+        int count = claimForRead(h, length);
+        for (int i = 0; i < count; i++) {
+            int index = (int) (h + i) & mask;
+            into[offset + i] = elementAt(index);
+            buffer[index] = null;
+        }
+        if (count > 0) {
+            HEAD.lazySet(this, h + count);
+        }
+        return count;
+    }
+
+    /**
+     * Removes up to maxElements elements, front first, adds them to the
+     * end of target and frees their slots together. Consumer only.
+     *
+     * @return the number of elements moved
+     * @throws NullPointerException if target is null
+     */
+    public int drainTo(ListADT<? super E> target, int maxElements) {
+        if (target == null) {
+            throw new NullPointerException("Target list cannot be null.");
+        }
+        if (maxElements <= 0) {
+            return 0;
+        }
+        long h = head;
+        int count = claimForRead(h, maxElements);
+        int moved = 0;
+        try {
+            while (moved < count) {
+                int index = (int) (h + moved) & mask;
+                // added before it is removed, so a failing add loses nothing
+                target.add(elementAt(index));
+                buffer[index] = null;
+                moved++;
+            }
+        } finally {
+            if (moved > 0) {
+                HEAD.lazySet(this, h + moved);
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Returns how many of the wanted elements, starting at sequence h,
+     * are ready to read, re-reading tail only if the cached copy falls
+     * short.
+     */
+    private int claimForRead(long h, int wanted) {
+        long available = tailCache - h;
+        if (available < wanted) {
+            tailCache = tail;
+            available = tailCache - h;
+        }
+        return (int) Math.min(available, wanted);
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int index) {
+        return (E) buffer[index];
+    }
+
+    private static void checkRange(Object[] array, int offset, int length) {
+        if (array == null) {
+            throw new NullPointerException("Array cannot be null");
+        }
+        if (offset < 0 || length < 0 || offset > array.length - length) {
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length
+                    + ") is outside an array of length " + array.length);
+        }
+    }
+
+    /**
+     * Returns the front element without removing it. Consumer only.
+     */
+    @Override
+    public E peek() throws EmptyQueueException {
+        long h = head;
+        if (h >= tail) {
+            throw new EmptyQueueException("Queue is empty");
+        }
+        return elementAt((int) h & mask);
+    }
+
+    /**
+     * Removes every element published so far. Consumer only.
+     */
+    @Override
+    public void dequeueAll() {
+        long h = head;
+        long t = tail;
+        for (long s = h; s < t; s++) {
+            buffer[(int) s & mask] = null;
+        }
+        HEAD.lazySet(this, t);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean isFull() {
+        return size() == capacity;
+    }
+
+    /**
+     * Returns the number of elements. Exact on the producer or consumer
+     * thread while the other side is idle; otherwise it may be out of
+     * date by the time it returns, but is always between 0 and the
+     * capacity.
+     */
+    @Override
+    public int size() {
+        // re-read head until it is stable around the read of tail, so the
+        // difference is one the queue really had
+        long after = head;
+        while (true) {
+            long before = after;
+            long t = tail;
+            after = head;
+            if (before == after) {
+                return (int) (t - after);
+            }
+        }
+    }
+
+    /**
+     * Returns the capacity the queue was created with.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean contains(E toFind) throws NullPointerException {
+        if (toFind == null) {
+            throw new NullPointerException("Cannot search for null element");
+        }
+        return search(toFind) != -1;
+    }
+
+    /**
+     * Consumer only.
+     */
+    @Override
+    public int search(E toFind) {
+        long h = head;
+        long t = tail;
+        for (long s = h; s < t; s++) {
+            if (buffer[(int) s & mask].equals(toFind)) {
+                return (int) (s - h) + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns an iterator over the elements published when this is
+     * called, front first. Consumer only, and only until its next poll.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new SpscIterator(head, tail);
+    }
+
+    private class SpscIterator implements Iterator<E> {
+
+        private long current;
+        private final long end;
+
+        SpscIterator(long start, long end) {
+            this.current = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current < end;
+        }
+
+        @Override
+        public E next() throws NoSuchElementException {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements in iterator.");
+            }
+            return elementAt((int) current++ & mask);
+        }
+    }
+
+    /**
+     * Consumer only.
+     */
+    @Override
+    public boolean equals(QueueADT<E> that) {
+        if (that == null) {
+            return false;
+        }
+
+        Iterator<E> thisIter = this.iterator();
+        Iterator<E> thatIter = that.iterator();
+
+        while (thisIter.hasNext() && thatIter.hasNext()) {
+            if (!thisIter.next().equals(thatIter.next())) {
+                return false;
+            }
+        }
+
+        return !thisIter.hasNext() && !thatIter.hasNext();
+    }
+
+    /**
+     * Consumer only.
+     */
+    @Override
+    public Object[] toArray() {
+        long h = head;
+        Object[] result = new Object[(int) (tail - h)];
+        copyInto(result, h, result.length);
+        return result;
+    }
+
+    /**
+     * Consumer only.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E[] toArray(E[] holder) throws NullPointerException {
+        if (holder == null) {
+            throw new NullPointerException("Array cannot be null");
+        }
+        long h = head;
+        int size = (int) (tail - h);
+        if (holder.length < size) {
+            holder = (E[]) java.lang.reflect.Array.newInstance(holder.getClass().getComponentType(), size);
+        }
+        copyInto(holder, h, size);
+        if (holder.length > size) {
+            holder[size] = null;
+        }
+        return holder;
+    }
+
+    /**
+     * Copies size elements, starting at sequence h, into the start of
+     * target.
+     */
+    private void copyInto(Object[] target, long h, int size) {
+        int start = (int) h & mask;
+        int firstPart = Math.min(size, buffer.length - start);
+        System.arraycopy(buffer, start, target, 0, firstPart);
+        System.arraycopy(buffer, 0, target, firstPart, size - firstPart);
+    }
+}
@@ -1,6 +1,7 @@
 package implementations;
 
 import java.util.EmptyStackException;
+import java.util.NoSuchElementException;
 
 import utilities.Iterator;
 import utilities.StackADT;
@@ -10,6 +11,9 @@ import utilities.StackADT;
  * 
  * A simple implementation of the StackADT.
  * This class uses MyArrayList as the underlying data structure.
+ * The top of the stack is the END of the list, so push, pop and peek
+ * never shift elements (amortised O(1)). Everything that exposes the
+ * order (iterator, toArray, search, equals) still goes top-first.
  * 
  */
 
@@ -29,7 +33,7 @@ public class MyStack<E> implements StackADT<E>
 			throw new NullPointerException("Item cannot be null");
 		}
 		else {
-			list.add(0,toAdd);
+			list.add(toAdd);
 		}
 		
 		
@@ -42,9 +46,7 @@ public class MyStack<E> implements StackADT<E>
 			throw new EmptyStackException();
 		}
 		else {
-			E removedItem = list.get(0);
-			list.remove(removedItem);
-			return removedItem;
+			return list.remove(list.size() - 1);
 		}
 		
 	}
@@ -56,7 +58,7 @@ public class MyStack<E> implements StackADT<E>
 			throw new EmptyStackException();
 		}
 		else {
-			return list.get(0);
+			return list.get(list.size() - 1);
 		}
 		
 	}
@@ -83,13 +85,34 @@ public class MyStack<E> implements StackADT<E>
 	@Override
 	public Object[] toArray()
 	{
-		return list.toArray();
+		int size = list.size();
+		Object[] result = new Object[size];
+		for (int i = 0; i < size; i++) {
+			result[i] = list.get(size - 1 - i);
+		}
+		return result;
 	}
 
 	@Override
 	public E[] toArray(E[] holder) throws NullPointerException
 	{
-		return list.toArray(holder);
+		if (holder == null) {
+			throw new NullPointerException("Provided array cannot be null.");
+		}
+		int size = list.size();
+		if (holder.length < size) {
+			@SuppressWarnings("unchecked")
+			E[] newArray = (E[]) java.lang.reflect.Array.newInstance(
+					holder.getClass().getComponentType(), size);
+			holder = newArray;
+		}
+		for (int i = 0; i < size; i++) {
+			holder[i] = list.get(size - 1 - i);
+		}
+		if (holder.length > size) {
+			holder[size] = null;
+		}
+		return holder;
 	}
 
 	@Override
@@ -108,10 +131,11 @@ public class MyStack<E> implements StackADT<E>
 	@Override
 	public int search(E toFind)
 	{
-		
-		for (int i = list.size();i>0;i--) {
-			if(list.get(i-1).equals(toFind)) {
-				return i;
+		// distance from the top, nearest the top first
+		int size = list.size();
+		for (int i = size - 1; i >= 0; i--) {
+			if (list.get(i).equals(toFind)) {
+				return size - i;
 			}
 		}
 		
@@ -121,26 +145,44 @@ public class MyStack<E> implements StackADT<E>
 	@Override
 	public Iterator<E> iterator()
 	{
-		return list.iterator();
+		return new StackIterator();
+	}
+
+	/**
+	 * Walks the stack from the top (end of the list) to the bottom.
+	 */
+	private class StackIterator implements Iterator<E>
+	{
+		private int current = list.size() - 1;
+
+		@Override
+		public boolean hasNext()
+		{
+			return current >= 0;
+		}
+
+		@Override
+		public E next() throws NoSuchElementException
+		{
+			if (!hasNext()) {
+				throw new NoSuchElementException("No more elements in the stack.");
+			}
+			return list.get(current--);
+		}
 	}
 
 	@Override
 	public boolean equals(StackADT<E> that)
 	{
-//		MyArrayList<E> compareList = new MyArrayList<E>();
-		if(that.size() != list.size()) {
+		if(that == null || that.size() != list.size()) {
 			return false;
 		}
-		for(int i = 1;i<=list.size();i++) {
-			if(!that.contains(list.get(i-1))) {
-				
-				return false;
-			}
-			else if(that.search(list.get(i-1)) != i) {
-				
+		Iterator<E> thisIter = this.iterator();
+		Iterator<E> thatIter = that.iterator();
+		while (thisIter.hasNext() && thatIter.hasNext()) {
+			if (!thisIter.next().equals(thatIter.next())) {
 				return false;
 			}
-			
 		}
 		return true;
 	}
@@ -154,17 +196,8 @@ public class MyStack<E> implements StackADT<E>
 	@Override
 	public boolean stackOverflow()
 	{
-		int items = 0;
-		for(int i = 0; i>list.size();i++) {
-			items++;
-		}
-		if(items>=list.size()) {
-			return false;
-		}
-		else {
-			return true;
-		}
-		
+		// the backing list grows as needed, so this stack is never full
+		return false;
 	}
 
 }
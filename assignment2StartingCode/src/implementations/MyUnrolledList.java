@@ -0,0 +1,525 @@
+package implementations;
+
+import utilities.Iterator;
+import utilities.ListADT;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * An unrolled linked list: a doubly linked list of blocks, each holding up
+ * to blockSize elements in an array.
+ *
+ * Compared with MyDLL, the list pays one block object per blockSize
+ * elements instead of a node per element, and contains, remove(E),
+ * toArray and iteration walk arrays instead of chasing a pointer per
+ * element. Adding or removing at either end is still O(1): each block
+ * keeps its elements in a run that can grow or shrink at both ends, so
+ * the first block can be drained or filled from the front without
+ * shifting. get, set and inserts in the middle find their block by
+ * skipping whole blocks from the nearer end.
+ *
+ * A full block is split in half when an element is inserted into it. A
+ * block is merged with its neighbour when a removal leaves the two with
+ * no more than three quarters of a block between them, so blocks stay
+ * reasonably full, and an emptied block is unlinked.
+ *
+ * @param <E> the type of element stored in this list
+ */
+public class MyUnrolledList<E> implements ListADT<E> {
+
+    /**
+     * One block of elements. Its elements are items[start] to
+     * items[start + count - 1]; the other slots are null.
+     */
+    private static final class Block {
+        final Object[] items;
+        int start;
+        int count;
+        Block prev;
+        Block next;
+
+        Block(int capacity) {
+            items = new Object[capacity];
+        }
+    }
+
+    private static final int DEFAULT_BLOCK_SIZE = 64;
+
+    private final int blockSize;
+    private Block head;
+    private Block tail;
+    private int size;
+
+    // Set by findBlock: the position of the index inside the block found.
+    // Only methods that change the list use it; get walks on its own.
+    private int foundOffset;
+
+    // The last block emptied, reused by the next new block so that add and
+    // remove pairs on a block boundary do not allocate
+    private Block spare;
+
+    /**
+     * Creates an empty list with blocks of 64 elements.
+     */
+    public MyUnrolledList() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Creates an empty list.
+     * @param blockSize How many elements a block holds.
+     * @throws IllegalArgumentException if blockSize is less than 4
+     */
+    public MyUnrolledList(int blockSize) {
+        if (blockSize < 4) {
+            throw new IllegalArgumentException("Block size must be at least 4: " + blockSize);
+        }
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all elements by dropping every block.
+     */
+    @Override
+    public void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // -------------------------
+    // Block helpers
+    // -------------------------
+
+    /**
+     * Returns the block holding the element at index, walking whole blocks
+     * from the nearer end, and leaves its position in foundOffset.
+     */
+    private Block findBlock(int index) {
+        Block block;
+        if (index < size / 2) {
+            block = head;
+            while (index >= block.count) {
+                index -= block.count;
+                block = block.next;
+            }
+            foundOffset = index;
+        } else {
+            int fromEnd = size - index;    // 1 for the last element
+            block = tail;
+            while (fromEnd > block.count) {
+                fromEnd -= block.count;
+                block = block.prev;
+            }
+            foundOffset = block.count - fromEnd;
+        }
+        return block;
+    }
+
+    private void checkIndexExclusive(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private Block linkAfter(Block block) {
+        Block added = spare;
+        if (added == null) {
+            added = new Block(blockSize);
+        } else {
+            spare = null;
+            added.start = 0;
+        }
+        added.prev = block;
+        if (block == null) {
+            added.next = head;
+            head = added;
+        } else {
+            added.next = block.next;
+            block.next = added;
+        }
+        if (added.next == null) {
+            tail = added;
+        } else {
+            added.next.prev = added;
+        }
+        return added;
+    }
+
+    private void unlink(Block block) {
+        if (block.prev == null) {
+            head = block.next;
+        } else {
+            block.prev.next = block.next;
+        }
+        if (block.next == null) {
+            tail = block.prev;
+        } else {
+            block.next.prev = block.prev;
+        }
+        block.prev = null;
+        block.next = null;
+    }
+
+    /**
+     * Inserts into a block with room, at position offset, shifting
+     * whichever side of the run is cheaper to move.
+     */
+    private void insertInto(Block block, int offset, E element) {
+        Object[] items = block.items;
+        boolean roomAtEnd = block.start + block.count < items.length;
+        boolean roomAtStart = block.start > 0;
+
+        if (roomAtEnd && (!roomAtStart || offset >= block.count / 2)) {
+            int at = block.start + offset;
+            System.arraycopy(items, at, items, at + 1, block.count - offset);
+            items[at] = element;
+        } else {
+            block.start--;
+            System.arraycopy(items, block.start + 1, items, block.start, offset);
+            items[block.start + offset] = element;
+        }
+        block.count++;
+        size++;
+    }
+
+    /**
+     * Moves the upper half of a full block into a new block after it.
+     */
+    private Block split(Block block) {
+        Block upper = linkAfter(block);
+        int keep = block.count / 2;
+        int move = block.count - keep;
+        System.arraycopy(block.items, block.start + keep, upper.items, 0, move);
+        Arrays.fill(block.items, block.start + keep, block.start + block.count, null);
+        upper.count = move;
+        block.count = keep;
+        return upper;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E removeFrom(Block block, int offset) {
+        Object[] items = block.items;
+        int at = block.start + offset;
+        E removed = (E) items[at];
+
+        if (offset < block.count / 2) {
+            System.arraycopy(items, block.start, items, block.start + 1, offset);
+            items[block.start] = null;
+            block.start++;
+        } else {
+            System.arraycopy(items, at + 1, items, at, block.count - offset - 1);
+            items[block.start + block.count - 1] = null;
+        }
+        block.count--;
+        size--;
+
+        if (block.count == 0) {
+            unlink(block);
+            spare = block;
+        } else if (block.next != null && fitsInOne(block, block.next)) {
+            merge(block, block.next);
+        } else if (block.prev != null && fitsInOne(block.prev, block)) {
+            merge(block.prev, block);
+        }
+        return removed;
+    }
+
+    private boolean fitsInOne(Block first, Block second) {
+        return first.count + second.count <= blockSize - blockSize / 4;
+    }
+
+    /**
+     * Appends the elements of second to first and unlinks second.
+     */
+    private void merge(Block first, Block second) {
+        if (first.start + first.count + second.count > blockSize) {
+            // move the run to the front of the array to make room behind it
+            System.arraycopy(first.items, first.start, first.items, 0, first.count);
+            Arrays.fill(first.items, Math.max(first.count, first.start), first.start + first.count, null);
+            first.start = 0;
+        }
+        System.arraycopy(second.items, second.start, first.items, first.start + first.count, second.count);
+        first.count += second.count;
+        unlink(second);
+    }
+
+    // -------------------------
+    // Add operations
+    // -------------------------
+
+    @Override
+    public boolean add(int index, E toAdd)
+            throws NullPointerException, IndexOutOfBoundsException {
+
+        if (toAdd == null) {
+            throw new NullPointerException("Null elements are not allowed.");
+        }
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        if (index == size) {
+            return add(toAdd);
+        }
+
+        if (index == 0 && head.start == 0 && head.count == blockSize) {
+            // a new first block, filled from its end so later adds at 0 stay O(1)
+            Block first = linkAfter(null);
+            first.start = blockSize - 1;
+            first.items[first.start] = toAdd;
+            first.count = 1;
+            size++;
+            return true;
+        }
+
+        Block block = findBlock(index);
+        int offset = foundOffset;
+        if (block.count == blockSize) {
+            Block upper = split(block);
+            if (offset > block.count) {
+                offset -= block.count;
+                block = upper;
+            }
+        }
+        insertInto(block, offset, toAdd);
+        return true;
+    }
+
+    @Override
+    public boolean add(E toAdd) throws NullPointerException {
+        if (toAdd == null) {
+            throw new NullPointerException("Null elements are not allowed.");
+        }
+
+        Block last = tail;
+        if (last == null || last.start + last.count == blockSize) {
+            last = linkAfter(tail);
+        }
+        last.items[last.start + last.count] = toAdd;
+        last.count++;
+        size++;
+        return true;
+    }
+
+    /**
+     * Appends all elements of another list. Nothing is added if any of its
+     * elements is null, and a list can be appended to itself.
+     *
+     * @throws NullPointerException if the list, or any element in it, is null
+     */
+    @Override
+    public boolean addAll(ListADT<? extends E> toAdd) throws NullPointerException {
+        if (toAdd == null) {
+            throw new NullPointerException("Cannot add elements from a null list.");
+        }
+
+        Object[] source = toAdd.toArray();
+        for (Object element : source) {
+            if (element == null) {
+                throw new NullPointerException("Null elements are not allowed.");
+            }
+        }
+
+        int copied = 0;
+        while (copied < source.length) {
+            Block last = tail;
+            if (last == null || last.start + last.count == blockSize) {
+                last = linkAfter(tail);
+            }
+            int free = blockSize - (last.start + last.count);
+            int chunk = Math.min(free, source.length - copied);
+            System.arraycopy(source, copied, last.items, last.start + last.count, chunk);
+            last.count += chunk;
+            copied += chunk;
+        }
+        size += source.length;
+        return source.length > 0;
+    }
+
+    // -------------------------
+    // Access
+    // -------------------------
+
+    /**
+     * Walks like findBlock but keeps the position in locals, so that get
+     * only reads the list and readers sharing it (for example under the
+     * read lock of a MyConcurrentList) cannot disturb each other.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) throws IndexOutOfBoundsException {
+        checkIndexExclusive(index);
+        Block block;
+        int offset;
+        if (index < size / 2) {
+            block = head;
+            offset = index;
+            while (offset >= block.count) {
+                offset -= block.count;
+                block = block.next;
+            }
+        } else {
+            int fromEnd = size - index;
+            block = tail;
+            while (fromEnd > block.count) {
+                fromEnd -= block.count;
+                block = block.prev;
+            }
+            offset = block.count - fromEnd;
+        }
+        return (E) block.items[block.start + offset];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E toChange)
+            throws NullPointerException, IndexOutOfBoundsException {
+
+        if (toChange == null) {
+            throw new NullPointerException("Null elements are not allowed.");
+        }
+        checkIndexExclusive(index);
+
+        Block block = findBlock(index);
+        int at = block.start + foundOffset;
+        E old = (E) block.items[at];
+        block.items[at] = toChange;
+        return old;
+    }
+
+    // -------------------------
+    // Remove operations
+    // -------------------------
+
+    @Override
+    public E remove(int index) throws IndexOutOfBoundsException {
+        checkIndexExclusive(index);
+        Block block = findBlock(index);
+        return removeFrom(block, foundOffset);
+    }
+
+    @Override
+    public E remove(E toRemove) throws NullPointerException {
+        if (toRemove == null) {
+            throw new NullPointerException("Cannot remove null.");
+        }
+
+        for (Block block = head; block != null; block = block.next) {
+            Object[] items = block.items;
+            int end = block.start + block.count;
+            for (int i = block.start; i < end; i++) {
+                if (toRemove.equals(items[i])) {
+                    return removeFrom(block, i - block.start);
+                }
+            }
+        }
+        return null;
+    }
+
+    // -------------------------
+    // Contains
+    // -------------------------
+
+    @Override
+    public boolean contains(E toFind) throws NullPointerException {
+        if (toFind == null) {
+            throw new NullPointerException("Cannot search for null.");
+        }
+
+        for (Block block = head; block != null; block = block.next) {
+            Object[] items = block.items;
+            int end = block.start + block.count;
+            for (int i = block.start; i < end; i++) {
+                if (toFind.equals(items[i])) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // -------------------------
+    // toArray
+    // -------------------------
+
+    @Override
+    public E[] toArray(E[] toHold) throws NullPointerException {
+        if (toHold == null) {
+            throw new NullPointerException("Cannot copy into a null array.");
+        }
+
+        if (toHold.length < size) {
+            @SuppressWarnings("unchecked")
+            E[] newArray = (E[]) java.lang.reflect.Array.newInstance(
+                    toHold.getClass().getComponentType(), size);
+            toHold = newArray;
+        }
+
+        copyInto(toHold);
+        if (toHold.length > size) {
+            toHold[size] = null;
+        }
+        return toHold;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] result = new Object[size];
+        copyInto(result);
+        return result;
+    }
+
+    private void copyInto(Object[] destination) {
+        int at = 0;
+        for (Block block = head; block != null; block = block.next) {
+            System.arraycopy(block.items, block.start, destination, at, block.count);
+            at += block.count;
+        }
+    }
+
+    // -------------------------
+    // Iterator
+    // -------------------------
+
+    @Override
+    public Iterator<E> iterator() {
+        return new UnrolledIterator();
+    }
+
+    private class UnrolledIterator implements Iterator<E> {
+
+        private Block block = head;
+        private int offset = 0;
+
+        @Override
+        public boolean hasNext() {
+            return block != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() throws NoSuchElementException {
+            if (block == null) {
+                throw new NoSuchElementException("No more elements in iterator.");
+            }
+            E element = (E) block.items[block.start + offset];
+            offset++;
+            if (offset == block.count) {
+                block = block.next;
+                offset = 0;
+            }
+            return element;
+        }
+    }
+}
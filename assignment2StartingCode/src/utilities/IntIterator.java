@@ -0,0 +1,25 @@
+package utilities;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A mono-directional iterator over primitive <code>int</code> values. It
+ * mirrors {@link Iterator} but returns the value without boxing it.
+ */
+public interface IntIterator
+{
+	/**
+	 * Returns <code>true</code> if the iteration has more elements.
+	 * 
+	 * @return <code>true</code> if the iterator has more elements.
+	 */
+	public boolean hasNext();
+
+	/**
+	 * Returns the next element in the iteration.
+	 * 
+	 * @return The next element in the iteration.
+	 * @throws NoSuchElementException If the iteration has no more elements.
+	 */
+	public int next() throws NoSuchElementException;
+}
@@ -1299,4 +1299,148 @@ public class ArrayListTest
 
 		assertArrayEquals( "Failed to convert list to array.", original, returnArray );
 	}
+	/**
+	 * Test method for 
+	 * {@link implementations.MyArrayList#addAll(int, utilities.ListADT)}
+	 * to insert another MyArrayList in the middle of the list.
+	 */
+	@Test
+	public void testAddAllAtIndex_ArrayList()
+	{
+		myList.add( one );
+		myList.add( five );
+		MyArrayList<Integer> middle = new MyArrayList<>();
+		middle.add( two );
+		middle.add( three );
+		middle.add( four );
+
+		boolean actualReturn = myList.addAll( 1, middle );
+
+		Object[] expected = { one, two, three, four, five };
+		assertTrue( "Failed to return true.", actualReturn );
+		assertArrayEquals( "Failed to insert list in order.", expected, myList.toArray() );
+	}
+
+	/**
+	 * Test method for 
+	 * {@link implementations.MyArrayList#addAll(int, utilities.ListADT)}
+	 * to insert a list of another type at the front of the list.
+	 */
+	@Test
+	public void testAddAllAtIndex_OtherList()
+	{
+		myList.add( four );
+		MyDLL<Integer> front = new MyDLL<>();
+		front.add( one );
+		front.add( two );
+
+		myList.addAll( 0, front );
+
+		Object[] expected = { one, two, four };
+		assertArrayEquals( "Failed to insert list in order.", expected, myList.toArray() );
+	}
+
+	/**
+	 * Test method for 
+	 * {@link implementations.MyArrayList#addAll(utilities.ListADT)}
+	 * to append the list to itself.
+	 */
+	@Test
+	public void testAddAll_Self()
+	{
+		myList.add( one );
+		myList.add( two );
+
+		myList.addAll( myList );
+
+		Object[] expected = { one, two, one, two };
+		assertArrayEquals( "Failed to append list to itself.", expected, myList.toArray() );
+	}
+
+	/**
+	 * Test method for 
+	 * {@link implementations.MyArrayList#addAll(int, utilities.ListADT)}
+	 * to throw IndexOutOfBoundsException for an index past the end.
+	 */
+	@Test
+	public void testAddAllAtIndex_OutOfBounds()
+	{
+		MyArrayList<Integer> other = new MyArrayList<>();
+		other.add( one );
+		try
+		{
+			myList.addAll( 1, other );
+			fail( "Failed to throw IndexOutOfBoundsException." );
+		}
+		catch( IndexOutOfBoundsException e )
+		{
+			assertEquals( "Failed to leave list unchanged.", 0, myList.size() );
+		}
+	}
+
+	/**
+	 * Test method for 
+	 * {@link implementations.MyArrayList#removeRange(int, int)}
+	 * to remove a block of elements and shift the rest left.
+	 */
+	@Test
+	public void testRemoveRange()
+	{
+		myList.add( one );
+		myList.add( two );
+		myList.add( three );
+		myList.add( four );
+		myList.add( five );
+
+		myList.removeRange( 1, 4 );
+
+		Object[] expected = { one, five };
+		assertArrayEquals( "Failed to remove range.", expected, myList.toArray() );
+		assertFalse( "Failed to remove element.", myList.contains( three ) );
+	}
+
+	/**
+	 * Test method for 
+	 * {@link implementations.MyArrayList#removeRange(int, int)}
+	 * to throw IndexOutOfBoundsException for an invalid range.
+	 */
+	@Test
+	public void testRemoveRange_Invalid()
+	{
+		myList.add( one );
+		myList.add( two );
+		try
+		{
+			myList.removeRange( 1, 3 );
+			fail( "Failed to throw IndexOutOfBoundsException." );
+		}
+		catch( IndexOutOfBoundsException e )
+		{
+			assertEquals( "Failed to leave list unchanged.", 2, myList.size() );
+		}
+	}
+
+	/**
+	 * Test method for 
+	 * {@link implementations.MyArrayList#ensureCapacity(int)} and
+	 * {@link implementations.MyArrayList#trimToSize()}
+	 * to keep the contents while resizing the array.
+	 */
+	@Test
+	public void testEnsureCapacity_TrimToSize()
+	{
+		myList.ensureCapacity( 1000 );
+		myList.add( one );
+		myList.add( two );
+		myList.trimToSize();
+		myList.add( three );
+
+		Object[] expected = { one, two, three };
+		assertArrayEquals( "Failed to keep contents.", expected, myList.toArray() );
+
+		myList.clear();
+		myList.trimToSize();
+		myList.add( four );
+		assertEquals( "Failed to grow after trimming to empty.", four, myList.get( 0 ) );
+	}
 }
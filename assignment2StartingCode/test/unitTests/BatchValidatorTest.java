@@ -0,0 +1,420 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import application.BatchValidator;
+import application.ErrorFormat;
+import application.ResultCache;
+import application.XMLParser;
+import implementations.MyArrayList;
+
+/**
+ * Class Description:
+ * Test for BatchValidator, which validates many files on a pool of
+ * threads and prints their results in input order.
+ */
+
+public class BatchValidatorTest
+{
+	private static final String NL = System.lineSeparator();
+
+	// Attributes
+	private Path directory;
+
+	/**
+	 * Creates an empty temporary directory before each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		directory = Files.createTempDirectory( "batch" );
+	}
+
+	/**
+	 * Deletes the temporary directory and everything in it after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		try( Stream<Path> walk = Files.walk( directory ) )
+		{
+			walk.sorted( Comparator.reverseOrder() ).forEach( path -> path.toFile().delete() );
+		}
+		directory = null;
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.BatchValidator#collectFiles(implementations.MyArrayList)}
+	 * to keep files as given and walk directories, subdirectories included,
+	 * for *.xml files in sorted order.
+	 */
+	@Test
+	public void testCollectFiles_WalksDirectories() throws Exception
+	{
+		Path tree = Files.createDirectory( directory.resolve( "tree" ) );
+		write( tree.resolve( "b.xml" ), "<b/>\n" );
+		write( tree.resolve( "a.XML" ), "<a/>\n" );
+		write( tree.resolve( "notes.txt" ), "<n>\n" );
+		write( tree.resolve( "xml" ), "<x>\n" );
+		Files.createDirectory( tree.resolve( "sub" ) );
+		write( tree.resolve( "sub" ).resolve( "c.xml" ), "<c/>\n" );
+		Files.createDirectory( tree.resolve( "dir.xml" ) );
+		Path given = directory.resolve( "given.txt" );
+
+		MyArrayList<String> paths = new MyArrayList<String>();
+		paths.add( given.toString() );
+		paths.add( tree.toString() );
+		MyArrayList<String> files = BatchValidator.collectFiles( paths );
+
+		String[] expected = { given.toString(), tree.resolve( "a.XML" ).toString(),
+				tree.resolve( "b.xml" ).toString(), tree.resolve( "sub" ).resolve( "c.xml" ).toString() };
+		assertEquals( "Failed to find only the given file and the *.xml files.", expected.length, files.size() );
+		for( int i = 0; i < expected.length; i++ )
+		{
+			assertEquals( "Failed to keep the order at " + i + ".", expected[i], files.get( i ) );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.BatchValidator#run(implementations.MyArrayList, java.io.PrintStream)}
+	 * to print every file's errors in input order even when the first
+	 * file finishes last.
+	 */
+	@Test
+	public void testRun_InputOrder() throws Exception
+	{
+		MyArrayList<String> files = new MyArrayList<String>();
+		StringBuilder big = new StringBuilder();
+		for( int i = 0; i < 20000; i++ )
+		{
+			big.append( "<a" ).append( i ).append( ">\n" );
+		}
+		files.add( write( directory.resolve( "big.xml" ), big.toString() ) );
+		for( int i = 0; i < 7; i++ )
+		{
+			StringBuilder text = new StringBuilder();
+			for( int j = 0; j <= i; j++ )
+			{
+				text.append( "</f" ).append( i ).append( "e" ).append( j ).append( ">\n" );
+			}
+			files.add( write( directory.resolve( "f" + i + ".xml" ), text.toString() ) );
+		}
+		files.add( write( directory.resolve( "ok.xml" ), "<a>\n</a>\n" ) );
+
+		StringBuilder expected = new StringBuilder();
+		for( int i = 0; i < files.size(); i++ )
+		{
+			expected.append( "== " ).append( files.get( i ) ).append( " ==" ).append( NL );
+			expected.append( report( files.get( i ) ) );
+		}
+
+		String output = run( new BatchValidator( XMLParser.Mode.STREAMING, 4 ), files );
+		assertTrue( "Failed to print the results in input order:" + NL + output,
+				output.startsWith( expected.toString() ) );
+		assertTrue( "Failed to count the files.", output.contains( NL + "Validated 9 files: 1 well-formed, 8 with errors, "
+				+ "0 unreadable, 0 failed, " + ( 20000 + 28 ) + " errors in total." + NL ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.BatchValidator#run(implementations.MyArrayList, java.io.PrintStream)}
+	 * to report a file whose validation throws as failed, in its place,
+	 * and carry on with the rest of the batch.
+	 */
+	@Test
+	public void testRun_TaskFailureIsReported() throws Exception
+	{
+		MyArrayList<String> files = new MyArrayList<String>();
+		files.add( write( directory.resolve( "first.xml" ), "<a>\n</a>\n" ) );
+		final String broken = write( directory.resolve( "broken.xml" ), "<a>\n</a>\n" );
+		files.add( broken );
+		files.add( write( directory.resolve( "last.xml" ), "</b>\n" ) );
+
+		ResultCache cache = new ResultCache( directory.resolve( "cache" ).toString(), 1024 * 1024 )
+		{
+			@Override
+			public Lookup lookup( String fileName, boolean hashContent ) throws IOException
+			{
+				if( fileName.equals( broken ) )
+				{
+					throw new IllegalStateException( "broken cache" );
+				}
+				return super.lookup( fileName, hashContent );
+			}
+		};
+		BatchValidator batch = new BatchValidator( XMLParser.Mode.LINE, 2 );
+		batch.setCache( cache );
+		String output = run( batch, files );
+
+		String expected = "== " + files.get( 0 ) + " ==" + NL + report( files.get( 0 ) )
+				+ "== " + broken + " ==" + NL + "Validation failed: java.lang.IllegalStateException: broken cache" + NL
+				+ "== " + files.get( 2 ) + " ==" + NL + report( files.get( 2 ) );
+		assertTrue( "Failed to report the failure in its place:" + NL + output, output.startsWith( expected ) );
+		assertTrue( "Failed to count the failure.", output.contains( NL
+				+ "Validated 3 files: 1 well-formed, 1 with errors, 0 unreadable, 1 failed, 1 errors in total." + NL ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#main(java.lang.String[])}
+	 * to validate in batch mode with the number of threads given by
+	 * --threads, even for one file, and to validate one file on its own
+	 * with --threads=0.
+	 */
+	@Test
+	public void testMain_Threads() throws Exception
+	{
+		String file = write( directory.resolve( "one.xml" ), "<a>\n</a>\n" );
+
+		String output = main( "--threads=3", file );
+		assertTrue( "Failed to validate in batch mode.", output.startsWith( "== " + file + " ==" + NL ) );
+		assertTrue( "Failed to use the given number of threads.", output.contains( " using 3 platform threads." + NL ) );
+
+		output = main( "--threads=0", file );
+		assertFalse( "Failed to validate one file on its own.", output.contains( "Validated " ) );
+
+		output = main( directory.toString() );
+		assertTrue( "Failed to default to one thread per processor.", output.contains( " using "
+				+ Runtime.getRuntime().availableProcessors() + " platform threads." + NL ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.BatchValidator#BatchValidator(application.XMLParser.Mode, application.BatchValidator.ExecutorKind, int)}
+	 * to keep at most the given number of files in flight with VIRTUAL
+	 * threads, whose executor (or the cached pool that stands in for it)
+	 * has no limit of its own.
+	 */
+	@Test
+	public void testRunVirtual_InFlightCapped() throws Exception
+	{
+		MyArrayList<String> files = new MyArrayList<String>();
+		for( int i = 0; i < 12; i++ )
+		{
+			files.add( write( directory.resolve( "f" + i + ".xml" ), "<a>\n</a>\n" ) );
+		}
+		SlowCache cache = new SlowCache();
+		for( int i = 0; i < files.size(); i++ )
+		{
+			cache.delays.put( files.get( i ), 100L );
+		}
+
+		BatchValidator batch = new BatchValidator( XMLParser.Mode.LINE, BatchValidator.ExecutorKind.VIRTUAL, 3 );
+		batch.setCache( cache );
+		String output = run( batch, files );
+
+		assertTrue( "Failed to validate every file.", output.contains( "Validated 12 files: 12 well-formed," ) );
+		assertTrue( "Failed to keep the files in flight at or below the cap: " + cache.maxInFlight.get(),
+				cache.maxInFlight.get() <= 3 );
+		assertEquals( "Failed to use the whole cap.", 3, cache.maxInFlight.get() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.BatchValidator.ExecutorKind#VIRTUAL}
+	 * to run the files on virtual threads where the runtime has them, and
+	 * otherwise to fall back to a cached pool of platform threads and say
+	 * so in the summary.
+	 */
+	@Test
+	public void testRunVirtual_Executor() throws Exception
+	{
+		MyArrayList<String> files = new MyArrayList<String>();
+		files.add( write( directory.resolve( "a.xml" ), "<a>\n" ) );
+		files.add( write( directory.resolve( "b.xml" ), "<b>\n</b>\n" ) );
+		SlowCache cache = new SlowCache();
+
+		BatchValidator batch = new BatchValidator( XMLParser.Mode.LINE, BatchValidator.ExecutorKind.VIRTUAL, 2 );
+		batch.setCache( cache );
+		String output = run( batch, files );
+
+		String expected = "== " + files.get( 0 ) + " ==" + NL + report( files.get( 0 ) )
+				+ "== " + files.get( 1 ) + " ==" + NL + report( files.get( 1 ) );
+		assertTrue( "Failed to validate the files:" + NL + output, output.startsWith( expected ) );
+		assertEquals( "Failed to run a task per file.", 2, cache.threads.size() );
+
+		boolean virtualThreads;
+		try
+		{
+			Executors.class.getMethod( "newVirtualThreadPerTaskExecutor" );
+			virtualThreads = true;
+		}
+		catch( NoSuchMethodException e )
+		{
+			virtualThreads = false;
+		}
+
+		for( Thread thread : cache.threads.values() )
+		{
+			assertEquals( "Failed to pick the kind of thread the runtime has.", virtualThreads, isVirtual( thread ) );
+			if( !virtualThreads )
+			{
+				assertTrue( "Failed to fall back to a cached pool: " + thread.getName(),
+						thread.getName().startsWith( "pool-" ) );
+			}
+		}
+		String executor = virtualThreads ? "virtual threads, at most 2 in flight"
+				: "a cached thread pool (virtual threads need Java 21), at most 2 in flight";
+		assertTrue( "Failed to name the executor in the summary:" + NL + output,
+				output.contains( " using " + executor + "." + NL ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.BatchValidator#run(implementations.MyArrayList, java.io.PrintStream)}
+	 * to print the median and 99th percentile of the per-file latencies
+	 * with VIRTUAL threads, where one slow file moves only the 99th.
+	 */
+	@Test
+	public void testRunVirtual_Latency() throws Exception
+	{
+		MyArrayList<String> files = new MyArrayList<String>();
+		for( int i = 0; i < 10; i++ )
+		{
+			files.add( write( directory.resolve( "f" + i + ".xml" ), "<a>\n</a>\n" ) );
+		}
+		SlowCache cache = new SlowCache();
+		cache.delays.put( files.get( 3 ), 300L );
+
+		BatchValidator batch = new BatchValidator( XMLParser.Mode.LINE, BatchValidator.ExecutorKind.VIRTUAL, 4 );
+		batch.setCache( cache );
+		String output = run( batch, files );
+
+		Matcher latency = Pattern.compile( "Per-file latency: p50 ([0-9.,]+) ms, p99 ([0-9.,]+) ms\\." ).matcher( output );
+		assertTrue( "Failed to print the latencies:" + NL + output, latency.find() );
+		double p50 = Double.parseDouble( latency.group( 1 ).replace( ',', '.' ) );
+		double p99 = Double.parseDouble( latency.group( 2 ).replace( ',', '.' ) );
+		assertTrue( "Failed to take the 99th percentile from the slow file: " + p99, p99 >= 300 );
+		assertTrue( "Failed to take the median from the fast files: " + p50, p50 < 300 );
+	}
+
+	/**
+	 * A cache that never hits. Its lookups wait as long as asked for each
+	 * file and record the files in flight and the threads they ran on.
+	 */
+	private class SlowCache extends ResultCache
+	{
+		final ConcurrentHashMap<String, Long> delays = new ConcurrentHashMap<String, Long>();
+		final ConcurrentHashMap<String, Thread> threads = new ConcurrentHashMap<String, Thread>();
+		final AtomicInteger maxInFlight = new AtomicInteger();
+		private final AtomicInteger inFlight = new AtomicInteger();
+
+		SlowCache() throws IOException
+		{
+			super( directory.resolve( "cache" ).toString(), 1024 * 1024 );
+		}
+
+		@Override
+		public Lookup lookup( String fileName, boolean hashContent ) throws IOException
+		{
+			threads.put( fileName, Thread.currentThread() );
+			int now = inFlight.incrementAndGet();
+			maxInFlight.accumulateAndGet( now, Math::max );
+			try
+			{
+				Long delay = delays.get( fileName );
+				if( delay != null )
+				{
+					Thread.sleep( delay );
+				}
+				return super.lookup( fileName, false );
+			}
+			catch( InterruptedException e )
+			{
+				throw new IllegalStateException( e );
+			}
+			finally
+			{
+				inFlight.decrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Returns Thread.isVirtual(), or false on runtimes without it.
+	 */
+	private static boolean isVirtual( Thread thread ) throws Exception
+	{
+		try
+		{
+			return (Boolean) Thread.class.getMethod( "isVirtual" ).invoke( thread );
+		}
+		catch( NoSuchMethodException e )
+		{
+			return false;
+		}
+	}
+
+	/**
+	 * Returns what a parser of its own prints for a file, as the batch
+	 * prints it under the file's heading.
+	 */
+	private static String report( String fileName ) throws Exception
+	{
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		PrintStream out = new PrintStream( buffer, false, "UTF-8" );
+		XMLParser parser = new XMLParser();
+		parser.setOutput( out );
+		parser.parseFile( fileName );
+		parser.printErrors( ErrorFormat.TEXT );
+		out.flush();
+		return buffer.toString( "UTF-8" );
+	}
+
+	private static String run( BatchValidator batch, MyArrayList<String> files ) throws Exception
+	{
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		PrintStream out = new PrintStream( buffer, false, "UTF-8" );
+		batch.run( files, out );
+		out.flush();
+		return buffer.toString( "UTF-8" );
+	}
+
+	/**
+	 * Runs the command line and returns what it printed.
+	 */
+	private static String main( String... args ) throws Exception
+	{
+		PrintStream saved = System.out;
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		try
+		{
+			System.setOut( new PrintStream( buffer, true, "UTF-8" ) );
+			XMLParser.main( args );
+		}
+		finally
+		{
+			System.setOut( saved );
+		}
+		return buffer.toString( "UTF-8" );
+	}
+
+	private static String write( Path path, String text ) throws IOException
+	{
+		Files.write( path, text.getBytes( StandardCharsets.UTF_8 ) );
+		return path.toString();
+	}
+}
@@ -0,0 +1,564 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import exceptions.EmptyQueueException;
+import implementations.MyArrayList;
+import implementations.MyBlockingQueue;
+import implementations.MyQueue;
+import utilities.Iterator;
+
+/**
+ * Class Description:
+ * Test for the bounded, blocking implementation of the QueueADT. The queue
+ * holds three items, so most tests also cover a full queue and the array
+ * wrapping around.
+ */
+
+public class BlockingQueueTest
+{
+	// Attributes
+	private MyBlockingQueue<Integer> queue;
+	private Integer one;
+	private Integer two;
+	private Integer three;
+	private Integer four;
+
+	/**
+	 * Initializes a MyBlockingQueue instance with room for three items and four
+	 * Integer instances before each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		queue = new MyBlockingQueue<Integer>( 3 );
+		one = 111;
+		two = 222;
+		three = 333;
+		four = 444;
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		queue = null;
+		one = null;
+		two = null;
+		three = null;
+		four = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.MyBlockingQueue#MyBlockingQueue(int)}
+	 * to reject a capacity that is not positive.
+	 */
+	@Test
+	public void testConstructor_BadCapacity()
+	{
+		try
+		{
+			new MyBlockingQueue<Integer>( 0 );
+			fail( "Failed to throw IllegalArgumentException." );
+		}
+		catch( IllegalArgumentException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyBlockingQueue#enqueue(java.lang.Object)} and
+	 * {@link implementations.MyBlockingQueue#dequeue()}
+	 * to keep items in order as the array wraps around.
+	 */
+	@Test
+	public void testEnqueueDequeue_WrapAround() throws EmptyQueueException
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		assertEquals( "Failed to dequeue in order.", one, queue.dequeue() );
+		queue.enqueue( three );
+		queue.enqueue( four );
+
+		assertEquals( "Failed to dequeue in order.", two, queue.dequeue() );
+		assertEquals( "Failed to dequeue in order.", three, queue.dequeue() );
+		assertEquals( "Failed to dequeue in order.", four, queue.dequeue() );
+		assertTrue( "Failed to empty the queue.", queue.isEmpty() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyBlockingQueue#enqueue(java.lang.Object)},
+	 * {@link implementations.MyBlockingQueue#offer(java.lang.Object)} and
+	 * {@link implementations.MyBlockingQueue#isFull()}
+	 * to refuse an item once the queue is full.
+	 */
+	@Test
+	public void testEnqueue_Full()
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		assertFalse( "Failed to report room left.", queue.isFull() );
+		queue.enqueue( three );
+		assertTrue( "Failed to report a full queue.", queue.isFull() );
+		assertEquals( "Failed to report no room left.", 0, queue.remainingCapacity() );
+		assertFalse( "Failed to refuse an offer.", queue.offer( four ) );
+		try
+		{
+			queue.enqueue( four );
+			fail( "Failed to throw IllegalStateException." );
+		}
+		catch( IllegalStateException e )
+		{
+			assertTrue( true );
+		}
+		assertEquals( "Failed to leave the size unchanged.", 3, queue.size() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyBlockingQueue#enqueue(java.lang.Object)}
+	 * to throw a NullPointerException for a null item.
+	 */
+	@Test
+	public void testEnqueue_Null() throws InterruptedException
+	{
+		try
+		{
+			queue.put( null );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+		try
+		{
+			queue.enqueue( null );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyBlockingQueue#dequeue()} and
+	 * {@link implementations.MyBlockingQueue#peek()}
+	 * to throw an EmptyQueueException on an empty queue.
+	 */
+	@Test
+	public void testDequeuePeek_Empty()
+	{
+		try
+		{
+			queue.dequeue();
+			fail( "Failed to throw EmptyQueueException." );
+		}
+		catch( EmptyQueueException e )
+		{
+			assertTrue( true );
+		}
+		try
+		{
+			queue.peek();
+			fail( "Failed to throw EmptyQueueException." );
+		}
+		catch( EmptyQueueException e )
+		{
+			assertTrue( true );
+		}
+		assertNull( "Failed to return null for an empty queue.", queue.poll() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyBlockingQueue#peek()}
+	 * to return the front item without removing it.
+	 */
+	@Test
+	public void testPeek() throws EmptyQueueException
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		assertEquals( "Failed to peek the front item.", one, queue.peek() );
+		assertEquals( "Failed to leave the item in place.", 2, queue.size() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyBlockingQueue#offer(java.lang.Object, long, java.util.concurrent.TimeUnit)} and
+	 * {@link implementations.MyBlockingQueue#poll(long, java.util.concurrent.TimeUnit)}
+	 * to give up once the time runs out.
+	 */
+	@Test
+	public void testTimedOfferPoll_TimeOut() throws InterruptedException
+	{
+		assertNull( "Failed to time out on an empty queue.", queue.poll( 20, TimeUnit.MILLISECONDS ) );
+
+		queue.enqueue( one );
+		queue.enqueue( two );
+		queue.enqueue( three );
+		long start = System.nanoTime();
+		assertFalse( "Failed to time out on a full queue.", queue.offer( four, 20, TimeUnit.MILLISECONDS ) );
+		assertTrue( "Failed to wait before timing out.",
+				System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos( 20 ) );
+		assertEquals( "Failed to poll the front item.", one, queue.poll( 20, TimeUnit.MILLISECONDS ) );
+		assertTrue( "Failed to add once there was room.", queue.offer( four, 20, TimeUnit.MILLISECONDS ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyBlockingQueue#put(java.lang.Object)}
+	 * to wait on a full queue until a consumer makes room.
+	 */
+	@Test
+	public void testPut_WaitsForRoom() throws Exception
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		queue.enqueue( three );
+
+		Thread producer = startThread( () -> queue.put( four ) );
+		Thread.sleep( 50 );
+		assertTrue( "Failed to block on a full queue.", producer.isAlive() );
+
+		assertEquals( "Failed to take the front item.", one, queue.take() );
+		producer.join( 5000 );
+		assertFalse( "Failed to wake the producer.", producer.isAlive() );
+		assertArrayEquals( "Failed to add the item at the back.",
+				new Object[] { two, three, four }, queue.toArray() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyBlockingQueue#take()}
+	 * to wait on an empty queue until a producer adds an item.
+	 */
+	@Test
+	public void testTake_WaitsForItem() throws Exception
+	{
+		final AtomicReference<Integer> taken = new AtomicReference<Integer>();
+		Thread consumer = startThread( () -> taken.set( queue.take() ) );
+		Thread.sleep( 50 );
+		assertTrue( "Failed to block on an empty queue.", consumer.isAlive() );
+
+		queue.put( one );
+		consumer.join( 5000 );
+		assertFalse( "Failed to wake the consumer.", consumer.isAlive() );
+		assertEquals( "Failed to hand over the item.", one, taken.get() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyBlockingQueue#take()}
+	 * to throw an InterruptedException when interrupted while waiting.
+	 */
+	@Test
+	public void testTake_Interrupted() throws Exception
+	{
+		final AtomicReference<Throwable> thrown = new AtomicReference<Throwable>();
+		Thread consumer = new Thread( () -> {
+			try
+			{
+				queue.take();
+			}
+			catch( Throwable e )
+			{
+				thrown.set( e );
+			}
+		} );
+		consumer.start();
+		Thread.sleep( 50 );
+		consumer.interrupt();
+		consumer.join( 5000 );
+		assertTrue( "Failed to throw InterruptedException.", thrown.get() instanceof InterruptedException );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyBlockingQueue#drainTo(utilities.ListADT, int)}
+	 * to move at most the given number of items, front first, and wake a
+	 * waiting producer.
+	 */
+	@Test
+	public void testDrainTo() throws Exception
+	{
+		MyArrayList<Integer> target = new MyArrayList<Integer>();
+		assertEquals( "Failed to drain an empty queue.", 0, queue.drainTo( target, 5 ) );
+
+		queue.enqueue( one );
+		queue.enqueue( two );
+		queue.enqueue( three );
+		Thread producer = startThread( () -> queue.put( four ) );
+		Thread.sleep( 50 );
+
+		assertEquals( "Failed to stop at the maximum.", 2, queue.drainTo( target, 2 ) );
+		assertArrayEquals( "Failed to drain front first.", new Object[] { one, two }, target.toArray() );
+		producer.join( 5000 );
+		assertFalse( "Failed to wake the producer.", producer.isAlive() );
+
+		assertEquals( "Failed to drain the rest.", 2, queue.drainTo( target, 10 ) );
+		assertArrayEquals( "Failed to drain front first.", new Object[] { one, two, three, four }, target.toArray() );
+		assertTrue( "Failed to empty the queue.", queue.isEmpty() );
+		assertEquals( "Failed to ignore a maximum of 0.", 0, queue.drainTo( target, 0 ) );
+		try
+		{
+			queue.drainTo( null, 1 );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyBlockingQueue#dequeueAll()}
+	 * to empty a full queue and wake a waiting producer.
+	 */
+	@Test
+	public void testDequeueAll() throws Exception
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		queue.enqueue( three );
+		Thread producer = startThread( () -> queue.put( four ) );
+		Thread.sleep( 50 );
+
+		queue.dequeueAll();
+		producer.join( 5000 );
+		assertFalse( "Failed to wake the producer.", producer.isAlive() );
+		assertEquals( "Failed to keep only the new item.", 1, queue.size() );
+		assertEquals( "Failed to keep only the new item.", four, queue.dequeue() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyBlockingQueue#contains(java.lang.Object)} and
+	 * {@link implementations.MyBlockingQueue#search(java.lang.Object)}
+	 * to find items by position across the end of the array.
+	 */
+	@Test
+	public void testContainsSearch() throws EmptyQueueException
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		queue.dequeue();
+		queue.enqueue( three );
+		queue.enqueue( four );
+
+		assertFalse( "Failed to forget a dequeued item.", queue.contains( one ) );
+		assertTrue( "Failed to find an item.", queue.contains( four ) );
+		assertEquals( "Failed to find item", 1, queue.search( two ) );
+		assertEquals( "Failed to find item", 3, queue.search( four ) );
+		assertEquals( "Failed to return -1 for not found", -1, queue.search( one ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyBlockingQueue#iterator()}
+	 * to walk the items present when it was created, front first.
+	 */
+	@Test
+	public void testIterator() throws EmptyQueueException
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		Iterator<Integer> it = queue.iterator();
+		queue.dequeue();
+
+		assertEquals( "Failed to iterate in order.", one, it.next() );
+		assertEquals( "Failed to iterate in order.", two, it.next() );
+		assertFalse( "Failed to end the iteration.", it.hasNext() );
+		try
+		{
+			it.next();
+			fail( "Failed to throw NoSuchElementException." );
+		}
+		catch( NoSuchElementException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyBlockingQueue#toArray()} and
+	 * {@link implementations.MyBlockingQueue#toArray(Object[])}
+	 * to copy the items front first across the end of the array.
+	 */
+	@Test
+	public void testToArray() throws EmptyQueueException
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		queue.dequeue();
+		queue.enqueue( three );
+		queue.enqueue( four );
+
+		Object[] expected = { two, three, four };
+		assertArrayEquals( "Failed to convert queue to array.", expected, queue.toArray() );
+		assertArrayEquals( "Failed to convert queue to array.", expected, queue.toArray( new Integer[0] ) );
+
+		Integer[] larger = new Integer[5];
+		Arrays.fill( larger, one );
+		Integer[] result = queue.toArray( larger );
+		assertSame( "Failed to reuse a large enough array.", larger, result );
+		assertNull( "Failed to mark the end with null.", result[3] );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyBlockingQueue#equals(utilities.QueueADT)}
+	 * to compare items in order against another kind of queue.
+	 */
+	@Test
+	public void testEquals()
+	{
+		MyQueue<Integer> other = new MyQueue<Integer>();
+		queue.enqueue( one );
+		queue.enqueue( two );
+		other.enqueue( one );
+		assertFalse( "Failed to tell a shorter queue apart.", queue.equals( other ) );
+
+		other.enqueue( two );
+		assertTrue( "Failed to match an equal queue.", queue.equals( other ) );
+		assertFalse( "Failed to return false for null.", queue.equals( null ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyBlockingQueue#put(java.lang.Object)} and
+	 * {@link implementations.MyBlockingQueue#take()}
+	 * to hand every item to exactly one consumer, in each producer's order,
+	 * while producers keep running into the full queue.
+	 */
+	@Test
+	public void testConcurrentProducersConsumers() throws Exception
+	{
+		final int producers = 3;
+		final int consumers = 3;
+		final int perProducer = 20000;
+		final int[] seen = new int[producers * perProducer];
+		final AtomicInteger orderErrors = new AtomicInteger();
+		final AtomicInteger overfilled = new AtomicInteger();
+		final CountDownLatch start = new CountDownLatch( 1 );
+		Thread[] threads = new Thread[producers + consumers];
+
+		for( int p = 0; p < producers; p++ )
+		{
+			final int base = p * perProducer;
+			threads[p] = new Thread( () -> {
+				try
+				{
+					start.await();
+					for( int i = 0; i < perProducer; i++ )
+					{
+						queue.put( base + i );
+						if( queue.size() > 3 )
+						{
+							overfilled.incrementAndGet();
+						}
+					}
+				}
+				catch( InterruptedException e )
+				{
+					Thread.currentThread().interrupt();
+				}
+			} );
+		}
+		for( int c = 0; c < consumers; c++ )
+		{
+			threads[producers + c] = new Thread( () -> {
+				int[] last = new int[producers];
+				Arrays.fill( last, -1 );
+				try
+				{
+					start.await();
+					// the consumers share the work, so each stops once the queue stays empty
+					Integer item;
+					while( ( item = queue.poll( 500, TimeUnit.MILLISECONDS ) ) != null )
+					{
+						int producer = item / perProducer;
+						if( item <= last[producer] )
+						{
+							orderErrors.incrementAndGet();
+						}
+						last[producer] = item;
+						synchronized( seen )
+						{
+							seen[item]++;
+						}
+					}
+				}
+				catch( InterruptedException e )
+				{
+					Thread.currentThread().interrupt();
+				}
+			} );
+		}
+
+		for( Thread t : threads )
+		{
+			t.start();
+		}
+		start.countDown();
+		for( Thread t : threads )
+		{
+			t.join( 60000 );
+		}
+
+		assertEquals( "Failed to stay within capacity.", 0, overfilled.get() );
+		assertEquals( "Failed to keep each producer's items in order.", 0, orderErrors.get() );
+		for( int i = 0; i < seen.length; i++ )
+		{
+			assertEquals( "Failed to deliver item " + i + " exactly once.", 1, seen[i] );
+		}
+		assertTrue( "Failed to end empty.", queue.isEmpty() );
+	}
+
+	/**
+	 * Work run on a helper thread by the blocking tests.
+	 */
+	private interface Blocking
+	{
+		void run() throws InterruptedException;
+	}
+
+	private static Thread startThread( final Blocking work )
+	{
+		Thread thread = new Thread( () -> {
+			try
+			{
+				work.run();
+			}
+			catch( InterruptedException e )
+			{
+				Thread.currentThread().interrupt();
+			}
+		} );
+		thread.start();
+		return thread;
+	}
+}
@@ -0,0 +1,385 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.MyArrayList;
+import implementations.MyConcurrentList;
+import implementations.MyConcurrentList.Mode;
+import implementations.MyDLL;
+import implementations.MyUnrolledList;
+import utilities.Iterator;
+
+/**
+ * Class Description:
+ * Test for the lock-based ListADT decorator. Each single-threaded case runs
+ * in both modes; the last tests run readers against writers.
+ */
+
+public class ConcurrentListTest
+{
+	// Attributes
+	private MyConcurrentList<Integer> readWrite;
+	private MyConcurrentList<Integer> optimistic;
+	private Integer one;
+	private Integer two;
+	private Integer three;
+
+	/**
+	 * Wraps a MyArrayList in each mode and initializes three Integer instances
+	 * before each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		readWrite = new MyConcurrentList<Integer>( new MyArrayList<Integer>() );
+		optimistic = new MyConcurrentList<Integer>( new MyArrayList<Integer>(), Mode.OPTIMISTIC );
+		one = 111;
+		two = 222;
+		three = 333;
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		readWrite = null;
+		optimistic = null;
+		one = null;
+		two = null;
+		three = null;
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentList#MyConcurrentList(utilities.ListADT, implementations.MyConcurrentList.Mode)}
+	 * to reject a null list or mode and report the mode chosen.
+	 */
+	@Test
+	public void testConstructor()
+	{
+		try
+		{
+			new MyConcurrentList<Integer>( null );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+		try
+		{
+			new MyConcurrentList<Integer>( new MyDLL<Integer>(), null );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+		assertEquals( "Failed to default to READ_WRITE.", Mode.READ_WRITE, readWrite.getMode() );
+		assertEquals( "Failed to keep the mode.", Mode.OPTIMISTIC, optimistic.getMode() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentList#add(java.lang.Object)},
+	 * {@link implementations.MyConcurrentList#add(int, java.lang.Object)},
+	 * {@link implementations.MyConcurrentList#get(int)} and
+	 * {@link implementations.MyConcurrentList#size()}
+	 * to pass the calls through to the wrapped list.
+	 */
+	@Test
+	public void testAddGetSize()
+	{
+		for( MyConcurrentList<Integer> list : both() )
+		{
+			assertTrue( "Failed to report an empty list.", list.isEmpty() );
+			list.add( one );
+			list.add( three );
+			list.add( 1, two );
+
+			assertEquals( "Failed to return correct size.", 3, list.size() );
+			assertFalse( "Failed to report a non-empty list.", list.isEmpty() );
+			assertEquals( "Failed to get element.", one, list.get( 0 ) );
+			assertEquals( "Failed to get element.", two, list.get( 1 ) );
+			assertEquals( "Failed to get element.", three, list.get( 2 ) );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentList#get(int)} and
+	 * {@link implementations.MyConcurrentList#add(java.lang.Object)}
+	 * to pass the wrapped list's exceptions on, also from an optimistic read.
+	 */
+	@Test
+	public void testExceptions()
+	{
+		for( MyConcurrentList<Integer> list : both() )
+		{
+			try
+			{
+				list.get( 0 );
+				fail( "Failed to throw IndexOutOfBoundsException." );
+			}
+			catch( IndexOutOfBoundsException e )
+			{
+				assertTrue( true );
+			}
+			try
+			{
+				list.add( null );
+				fail( "Failed to throw NullPointerException." );
+			}
+			catch( NullPointerException e )
+			{
+				assertTrue( true );
+			}
+			// the lock must have been released after each exception
+			list.add( one );
+			assertEquals( "Failed to get element.", one, list.get( 0 ) );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentList#set(int, java.lang.Object)},
+	 * {@link implementations.MyConcurrentList#remove(int)},
+	 * {@link implementations.MyConcurrentList#remove(java.lang.Object)} and
+	 * {@link implementations.MyConcurrentList#clear()}
+	 * to change the wrapped list.
+	 */
+	@Test
+	public void testSetRemoveClear()
+	{
+		for( MyConcurrentList<Integer> list : both() )
+		{
+			list.add( one );
+			list.add( two );
+			list.add( three );
+
+			assertEquals( "Failed to return the old element.", two, list.set( 1, one ) );
+			assertEquals( "Failed to remove by index.", one, list.remove( 0 ) );
+			assertEquals( "Failed to remove by element.", three, list.remove( three ) );
+			assertEquals( "Failed to return correct size.", 1, list.size() );
+			list.clear();
+			assertTrue( "Failed to clear the list.", list.isEmpty() );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentList#contains(java.lang.Object)},
+	 * {@link implementations.MyConcurrentList#toArray()} and
+	 * {@link implementations.MyConcurrentList#toArray(Object[])}
+	 * to read the wrapped list.
+	 */
+	@Test
+	public void testContainsToArray()
+	{
+		for( MyConcurrentList<Integer> list : both() )
+		{
+			list.add( one );
+			list.add( two );
+
+			assertTrue( "Failed to find an element.", list.contains( two ) );
+			assertFalse( "Failed to miss an element.", list.contains( three ) );
+			assertArrayEquals( "Failed to convert list to array.", new Object[] { one, two }, list.toArray() );
+			assertArrayEquals( "Failed to convert list to array.", new Integer[] { one, two },
+					list.toArray( new Integer[0] ) );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentList#iterator()}
+	 * to walk a copy that later changes do not affect.
+	 */
+	@Test
+	public void testIterator()
+	{
+		for( MyConcurrentList<Integer> list : both() )
+		{
+			list.add( one );
+			list.add( two );
+			Iterator<Integer> it = list.iterator();
+			list.remove( 0 );
+			list.add( three );
+
+			assertEquals( "Failed to iterate in order.", one, it.next() );
+			assertEquals( "Failed to iterate in order.", two, it.next() );
+			assertFalse( "Failed to end the iteration.", it.hasNext() );
+			try
+			{
+				it.next();
+				fail( "Failed to throw NoSuchElementException." );
+			}
+			catch( NoSuchElementException e )
+			{
+				assertTrue( true );
+			}
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentList#addAll(utilities.ListADT)}
+	 * to add another list, or the list itself, at the end.
+	 */
+	@Test
+	public void testAddAll()
+	{
+		for( MyConcurrentList<Integer> list : both() )
+		{
+			MyDLL<Integer> other = new MyDLL<Integer>();
+			other.add( two );
+			list.add( one );
+
+			assertTrue( "Failed to add the other list.", list.addAll( other ) );
+			assertTrue( "Failed to add the list to itself.", list.addAll( list ) );
+			assertArrayEquals( "Failed to add in order.", new Object[] { one, two, one, two }, list.toArray() );
+			try
+			{
+				list.addAll( null );
+				fail( "Failed to throw NullPointerException." );
+			}
+			catch( NullPointerException e )
+			{
+				assertTrue( true );
+			}
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentList#addAll(utilities.ListADT)}
+	 * to finish when two lists add each other at the same time.
+	 */
+	@Test
+	public void testAddAll_EachOther() throws InterruptedException
+	{
+		readWrite.add( one );
+		optimistic.add( two );
+		Thread first = new Thread( () -> {
+			for( int i = 0; i < 200; i++ )
+			{
+				readWrite.addAll( optimistic );
+				readWrite.remove( readWrite.size() - 1 );
+			}
+		} );
+		Thread second = new Thread( () -> {
+			for( int i = 0; i < 200; i++ )
+			{
+				optimistic.addAll( readWrite );
+				optimistic.clear();
+				optimistic.add( two );
+			}
+		} );
+		first.start();
+		second.start();
+		first.join( 30000 );
+		second.join( 30000 );
+		assertFalse( "Failed to finish; the lists deadlocked.", first.isAlive() || second.isAlive() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentList#get(int)} and
+	 * {@link implementations.MyConcurrentList#size()}
+	 * to never return a torn read, in both modes and over array, linked and
+	 * unrolled lists, while a writer keeps growing and shrinking the list.
+	 * Element i always holds i, so any other value is a torn read.
+	 */
+	@Test
+	public void testReadersAgainstWriter() throws InterruptedException
+	{
+		for( Mode mode : Mode.values() )
+		{
+			checkReadersAgainstWriter( new MyConcurrentList<Integer>( new MyArrayList<Integer>(), mode ) );
+			checkReadersAgainstWriter( new MyConcurrentList<Integer>( new MyDLL<Integer>(), mode ) );
+			checkReadersAgainstWriter( new MyConcurrentList<Integer>( new MyUnrolledList<Integer>( 4 ), mode ) );
+		}
+	}
+
+	private static void checkReadersAgainstWriter( final MyConcurrentList<Integer> list )
+			throws InterruptedException
+	{
+		final int rounds = 20000;
+		final AtomicReference<String> failure = new AtomicReference<String>();
+		final Thread writer = new Thread( () -> {
+			for( int i = 0; i < rounds; i++ )
+			{
+				// grow to 64 elements, then shrink back, from the end
+				if( ( i / 64 ) % 2 == 0 )
+				{
+					list.add( list.size() );
+				}
+				else
+				{
+					list.remove( list.size() - 1 );
+				}
+			}
+		} );
+		Thread[] readers = new Thread[3];
+		for( int r = 0; r < readers.length; r++ )
+		{
+			readers[r] = new Thread( () -> {
+				while( writer.isAlive() )
+				{
+					int size = list.size();
+					if( size == 0 )
+					{
+						continue;
+					}
+					int index = ThreadLocalRandom.current().nextInt( size );
+					try
+					{
+						Integer value = list.get( index );
+						if( value != index )
+						{
+							failure.compareAndSet( null, "get(" + index + ") returned " + value );
+						}
+					}
+					catch( IndexOutOfBoundsException e )
+					{
+						// the writer shrank the list after size() was read
+					}
+					catch( RuntimeException e )
+					{
+						failure.compareAndSet( null, e.toString() );
+					}
+				}
+			} );
+		}
+
+		writer.start();
+		for( Thread reader : readers )
+		{
+			reader.start();
+		}
+		writer.join( 60000 );
+		for( Thread reader : readers )
+		{
+			reader.join( 60000 );
+		}
+		assertNull( "Failed to read consistently: " + failure.get(), failure.get() );
+	}
+
+	private List<MyConcurrentList<Integer>> both()
+	{
+		return Arrays.asList( readWrite, optimistic );
+	}
+}
@@ -0,0 +1,382 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import exceptions.EmptyQueueException;
+import implementations.MyConcurrentQueue;
+import implementations.MyQueue;
+import utilities.Iterator;
+
+/**
+ * Class Description:
+ * Test for the lock-free implementation of the QueueADT. The single-threaded
+ * cases follow QueueTest; the others run several threads against one queue.
+ */
+
+public class ConcurrentQueueTest
+{
+	// Attributes
+	private MyConcurrentQueue<Integer> queue;
+	private Integer one;
+	private Integer two;
+	private Integer three;
+
+	/**
+	 * Initializes a MyConcurrentQueue instance and three Integer instances before each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		queue = new MyConcurrentQueue<Integer>();
+		one = 111;
+		two = 222;
+		three = 333;
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		queue = null;
+		one = null;
+		two = null;
+		three = null;
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentQueue#enqueue(java.lang.Object)} and
+	 * {@link implementations.MyConcurrentQueue#dequeue()}
+	 * to remove items in the order they were added.
+	 */
+	@Test
+	public void testEnqueueDequeue() throws EmptyQueueException
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		queue.enqueue( three );
+
+		assertEquals( "Failed to return correct size.", 3, queue.size() );
+		assertEquals( "Failed to dequeue in order.", one, queue.dequeue() );
+		assertEquals( "Failed to dequeue in order.", two, queue.dequeue() );
+		assertEquals( "Failed to dequeue in order.", three, queue.dequeue() );
+		assertTrue( "Failed to empty the queue.", queue.isEmpty() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentQueue#enqueue(java.lang.Object)}
+	 * to throw a NullPointerException for a null item.
+	 */
+	@Test
+	public void testEnqueue_Null()
+	{
+		try
+		{
+			queue.enqueue( null );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentQueue#dequeue()}
+	 * to throw an EmptyQueueException on an empty queue.
+	 */
+	@Test
+	public void testDequeue_Empty()
+	{
+		try
+		{
+			queue.dequeue();
+			fail( "Failed to throw EmptyQueueException." );
+		}
+		catch( EmptyQueueException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentQueue#poll()}
+	 * to return null on an empty queue and the front item otherwise.
+	 */
+	@Test
+	public void testPoll()
+	{
+		assertNull( "Failed to return null for an empty queue.", queue.poll() );
+		queue.enqueue( one );
+		queue.enqueue( two );
+		assertEquals( "Failed to poll the front item.", one, queue.poll() );
+		assertEquals( "Failed to poll the front item.", two, queue.poll() );
+		assertNull( "Failed to return null once emptied.", queue.poll() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentQueue#peek()}
+	 * to return the front item without removing it, and to throw on an empty queue.
+	 */
+	@Test
+	public void testPeek() throws EmptyQueueException
+	{
+		try
+		{
+			queue.peek();
+			fail( "Failed to throw EmptyQueueException." );
+		}
+		catch( EmptyQueueException e )
+		{
+			assertTrue( true );
+		}
+
+		queue.enqueue( one );
+		queue.enqueue( two );
+		assertEquals( "Failed to peek the front item.", one, queue.peek() );
+		assertEquals( "Failed to leave the item in place.", 2, queue.size() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentQueue#dequeueAll()}
+	 * to empty the queue and leave it usable.
+	 */
+	@Test
+	public void testDequeueAll() throws EmptyQueueException
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		queue.dequeueAll();
+		assertTrue( "Failed to empty the queue.", queue.isEmpty() );
+		assertEquals( "Failed to return correct size.", 0, queue.size() );
+
+		queue.enqueue( three );
+		assertEquals( "Failed to reuse the queue.", three, queue.dequeue() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentQueue#contains(java.lang.Object)} and
+	 * {@link implementations.MyConcurrentQueue#search(java.lang.Object)}
+	 * to find items by their 1-based position from the front.
+	 */
+	@Test
+	public void testContainsSearch() throws EmptyQueueException
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		queue.enqueue( three );
+		queue.dequeue();
+
+		assertFalse( "Failed to forget a dequeued item.", queue.contains( one ) );
+		assertTrue( "Failed to find an item.", queue.contains( three ) );
+		assertEquals( "Failed to find item", 1, queue.search( two ) );
+		assertEquals( "Failed to find item", 2, queue.search( three ) );
+		assertEquals( "Failed to return -1 for not found", -1, queue.search( one ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentQueue#iterator()}
+	 * to go from front to back and throw at the end.
+	 */
+	@Test
+	public void testIterator()
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		Iterator<Integer> it = queue.iterator();
+		assertEquals( "Failed to iterate in order.", one, it.next() );
+		assertEquals( "Failed to iterate in order.", two, it.next() );
+		assertFalse( "Failed to end the iteration.", it.hasNext() );
+		try
+		{
+			it.next();
+			fail( "Failed to throw NoSuchElementException." );
+		}
+		catch( NoSuchElementException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentQueue#toArray()} and
+	 * {@link implementations.MyConcurrentQueue#toArray(Object[])}
+	 * to copy the items front first.
+	 */
+	@Test
+	public void testToArray()
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		queue.enqueue( three );
+
+		Object[] expected = { one, two, three };
+		assertArrayEquals( "Failed to convert queue to array.", expected, queue.toArray() );
+		assertArrayEquals( "Failed to convert queue to array.", expected, queue.toArray( new Integer[0] ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentQueue#equals(utilities.QueueADT)}
+	 * to compare items in order against another kind of queue.
+	 */
+	@Test
+	public void testEquals()
+	{
+		MyQueue<Integer> other = new MyQueue<Integer>();
+		queue.enqueue( one );
+		queue.enqueue( two );
+		other.enqueue( one );
+		assertFalse( "Failed to tell a shorter queue apart.", queue.equals( other ) );
+
+		other.enqueue( two );
+		assertTrue( "Failed to match an equal queue.", queue.equals( other ) );
+		assertFalse( "Failed to return false for null.", queue.equals( null ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentQueue#enqueue(java.lang.Object)} and
+	 * {@link implementations.MyConcurrentQueue#poll()}
+	 * to hand every item to exactly one consumer while several producers and
+	 * consumers run at once, keeping each producer's items in order.
+	 */
+	@Test
+	public void testConcurrentProducersConsumers() throws InterruptedException
+	{
+		final int producers = 4;
+		final int consumers = 4;
+		final int perProducer = 20000;
+		final int[] seen = new int[producers * perProducer];
+		final AtomicInteger received = new AtomicInteger();
+		final AtomicInteger orderErrors = new AtomicInteger();
+		final CountDownLatch start = new CountDownLatch( 1 );
+		Thread[] threads = new Thread[producers + consumers];
+
+		for( int p = 0; p < producers; p++ )
+		{
+			final int base = p * perProducer;
+			threads[p] = new Thread( () -> {
+				await( start );
+				for( int i = 0; i < perProducer; i++ )
+				{
+					queue.enqueue( base + i );
+				}
+			} );
+		}
+		for( int c = 0; c < consumers; c++ )
+		{
+			threads[producers + c] = new Thread( () -> {
+				int[] last = new int[producers];
+				Arrays.fill( last, -1 );
+				await( start );
+				while( received.get() < seen.length )
+				{
+					Integer item = queue.poll();
+					if( item == null )
+					{
+						continue;
+					}
+					int producer = item / perProducer;
+					// items of one producer must reach each consumer in order
+					if( item <= last[producer] )
+					{
+						orderErrors.incrementAndGet();
+					}
+					last[producer] = item;
+					synchronized( seen )
+					{
+						seen[item]++;
+					}
+					received.incrementAndGet();
+				}
+			} );
+		}
+
+		for( Thread t : threads )
+		{
+			t.start();
+		}
+		start.countDown();
+		for( Thread t : threads )
+		{
+			t.join( 60000 );
+		}
+
+		assertEquals( "Failed to keep each producer's items in order.", 0, orderErrors.get() );
+		for( int i = 0; i < seen.length; i++ )
+		{
+			assertEquals( "Failed to deliver item " + i + " exactly once.", 1, seen[i] );
+		}
+		assertTrue( "Failed to end empty.", queue.isEmpty() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentQueue#size()} and
+	 * {@link implementations.MyConcurrentQueue#iterator()}
+	 * to keep working while other threads change the queue.
+	 */
+	@Test
+	public void testWeaklyConsistentViews() throws InterruptedException
+	{
+		final int rounds = 50000;
+		Thread worker = new Thread( () -> {
+			for( int i = 0; i < rounds; i++ )
+			{
+				queue.enqueue( i );
+				queue.enqueue( i );
+				queue.poll();
+			}
+		} );
+		worker.start();
+
+		while( worker.isAlive() )
+		{
+			// a walk can count items dequeued after it passed them as well as
+			// items enqueued since, so the only bound is everything ever enqueued
+			int size = queue.size();
+			assertTrue( "Failed to return a sensible size.", size >= 0 && size <= 2 * rounds );
+			Iterator<Integer> it = queue.iterator();
+			while( it.hasNext() )
+			{
+				assertNotNull( "Failed to skip removed items.", it.next() );
+			}
+		}
+		worker.join();
+		assertEquals( "Failed to count the items left.", rounds, queue.size() );
+	}
+
+	private static void await( CountDownLatch latch )
+	{
+		try
+		{
+			latch.await();
+		}
+		catch( InterruptedException e )
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,466 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.EmptyStackException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import utilities.Iterator;
+import implementations.MyConcurrentStack;
+import implementations.MyStack;
+
+/**
+ * Class Description:
+ * Test for the lock-free implementation of the StackADT. The single-threaded
+ * cases follow StackTest; the others run several threads against one stack.
+ * The stack is created with elimination slots even on a single processor,
+ * so the elimination path is exercised wherever the tests run.
+ */
+
+public class ConcurrentStackTest
+{
+	// Attributes
+	private MyConcurrentStack<Integer> stack;
+	private Integer one;
+	private Integer two;
+	private Integer three;
+
+	/**
+	 * Initializes a MyConcurrentStack instance and three Integer instances before each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		stack = new MyConcurrentStack<Integer>( 4 );
+		one = 111;
+		two = 222;
+		three = 333;
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		stack = null;
+		one = null;
+		two = null;
+		three = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.MyConcurrentStack#MyConcurrentStack(int)}
+	 * to reject a negative slot count.
+	 */
+	@Test
+	public void testConstructor_NegativeSlots()
+	{
+		try
+		{
+			new MyConcurrentStack<Integer>( -1 );
+			fail( "Failed to throw IllegalArgumentException." );
+		}
+		catch( IllegalArgumentException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentStack#push(java.lang.Object)} and
+	 * {@link implementations.MyConcurrentStack#pop()}
+	 * to remove items in the reverse of the order they were added.
+	 */
+	@Test
+	public void testPushPop()
+	{
+		stack.push( one );
+		stack.push( two );
+		stack.push( three );
+
+		assertEquals( "Failed to return correct size.", 3, stack.size() );
+		assertEquals( "Failed to pop the last item pushed.", three, stack.pop() );
+		assertEquals( "Failed to pop the last item pushed.", two, stack.pop() );
+		assertEquals( "Failed to pop the last item pushed.", one, stack.pop() );
+		assertTrue( "Failed to empty the stack.", stack.isEmpty() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentStack#push(java.lang.Object)}
+	 * to throw a NullPointerException for a null item.
+	 */
+	@Test
+	public void testPush_Null()
+	{
+		try
+		{
+			stack.push( null );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentStack#pop()} and
+	 * {@link implementations.MyConcurrentStack#peek()}
+	 * to throw an EmptyStackException on an empty stack.
+	 */
+	@Test
+	public void testPopPeek_Empty()
+	{
+		try
+		{
+			stack.pop();
+			fail( "Failed to throw EmptyStackException." );
+		}
+		catch( EmptyStackException e )
+		{
+			assertTrue( true );
+		}
+		try
+		{
+			stack.peek();
+			fail( "Failed to throw EmptyStackException." );
+		}
+		catch( EmptyStackException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentStack#poll()}
+	 * to return null on an empty stack and the top item otherwise.
+	 */
+	@Test
+	public void testPoll()
+	{
+		assertNull( "Failed to return null for an empty stack.", stack.poll() );
+		stack.push( one );
+		stack.push( two );
+		assertEquals( "Failed to poll the top item.", two, stack.poll() );
+		assertEquals( "Failed to poll the top item.", one, stack.poll() );
+		assertNull( "Failed to return null once emptied.", stack.poll() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentStack#peek()}
+	 * to return the top item without removing it.
+	 */
+	@Test
+	public void testPeek()
+	{
+		stack.push( one );
+		stack.push( two );
+		assertEquals( "Failed to peek the top item.", two, stack.peek() );
+		assertEquals( "Failed to leave the item in place.", 2, stack.size() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentStack#clear()}
+	 * to empty the stack and leave it usable.
+	 */
+	@Test
+	public void testClear()
+	{
+		stack.push( one );
+		stack.push( two );
+		stack.clear();
+		assertTrue( "Failed to empty the stack.", stack.isEmpty() );
+		assertEquals( "Failed to return correct size.", 0, stack.size() );
+
+		stack.push( three );
+		assertEquals( "Failed to reuse the stack.", three, stack.pop() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentStack#contains(java.lang.Object)} and
+	 * {@link implementations.MyConcurrentStack#search(java.lang.Object)}
+	 * to find items by their 1-based distance from the top.
+	 */
+	@Test
+	public void testContainsSearch()
+	{
+		stack.push( one );
+		stack.push( two );
+		stack.push( three );
+
+		assertTrue( "Failed to find an item.", stack.contains( one ) );
+		assertEquals( "Failed to find item", 1, stack.search( three ) );
+		assertEquals( "Failed to find item", 3, stack.search( one ) );
+		assertEquals( "Failed to return -1 for not found", -1, stack.search( 999 ) );
+		try
+		{
+			stack.contains( null );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentStack#iterator()}
+	 * to go from the top down, unaffected by later pops.
+	 */
+	@Test
+	public void testIterator()
+	{
+		stack.push( one );
+		stack.push( two );
+		Iterator<Integer> it = stack.iterator();
+		stack.pop();
+		stack.push( three );
+
+		assertEquals( "Failed to iterate from the top.", two, it.next() );
+		assertEquals( "Failed to iterate from the top.", one, it.next() );
+		assertFalse( "Failed to end the iteration.", it.hasNext() );
+		try
+		{
+			it.next();
+			fail( "Failed to throw NoSuchElementException." );
+		}
+		catch( NoSuchElementException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentStack#toArray()} and
+	 * {@link implementations.MyConcurrentStack#toArray(Object[])}
+	 * to copy the items top first.
+	 */
+	@Test
+	public void testToArray()
+	{
+		stack.push( one );
+		stack.push( two );
+		stack.push( three );
+
+		Object[] expected = { three, two, one };
+		assertArrayEquals( "Failed to convert stack to array.", expected, stack.toArray() );
+		assertArrayEquals( "Failed to convert stack to array.", expected, stack.toArray( new Integer[0] ) );
+		try
+		{
+			stack.toArray( null );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentStack#equals(utilities.StackADT)}
+	 * to compare items top first against another kind of stack.
+	 */
+	@Test
+	public void testEquals()
+	{
+		MyStack<Integer> other = new MyStack<Integer>();
+		stack.push( one );
+		stack.push( two );
+		other.push( two );
+		assertFalse( "Failed to tell a shorter stack apart.", stack.equals( other ) );
+
+		other = new MyStack<Integer>();
+		other.push( one );
+		other.push( two );
+		assertTrue( "Failed to match an equal stack.", stack.equals( other ) );
+		assertFalse( "Failed to return false for null.", stack.equals( null ) );
+		assertFalse( "Failed to return false for a full stack.", stack.stackOverflow() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentStack#push(java.lang.Object)} and
+	 * {@link implementations.MyConcurrentStack#poll()}
+	 * to hand every item to exactly one thread while several threads push
+	 * and pop at once.
+	 */
+	@Test
+	public void testConcurrentPushPoll() throws InterruptedException
+	{
+		final int pushers = 4;
+		final int poppers = 4;
+		final int perPusher = 20000;
+		final int[] seen = new int[pushers * perPusher];
+		final AtomicInteger received = new AtomicInteger();
+		final CountDownLatch start = new CountDownLatch( 1 );
+		Thread[] threads = new Thread[pushers + poppers];
+
+		for( int p = 0; p < pushers; p++ )
+		{
+			final int base = p * perPusher;
+			threads[p] = new Thread( () -> {
+				await( start );
+				for( int i = 0; i < perPusher; i++ )
+				{
+					stack.push( base + i );
+				}
+			} );
+		}
+		for( int c = 0; c < poppers; c++ )
+		{
+			threads[pushers + c] = new Thread( () -> {
+				await( start );
+				while( received.get() < seen.length )
+				{
+					Integer item = stack.poll();
+					if( item == null )
+					{
+						continue;
+					}
+					synchronized( seen )
+					{
+						seen[item]++;
+					}
+					received.incrementAndGet();
+				}
+			} );
+		}
+
+		runAll( threads, start );
+
+		for( int i = 0; i < seen.length; i++ )
+		{
+			assertEquals( "Failed to deliver item " + i + " exactly once.", 1, seen[i] );
+		}
+		assertTrue( "Failed to end empty.", stack.isEmpty() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentStack#push(java.lang.Object)} and
+	 * {@link implementations.MyConcurrentStack#poll()}
+	 * under heavy contention on the top, where pushes and pops meet in the
+	 * elimination slots: each thread pushes its own items and pops one item
+	 * after every push, and no item may be lost or duplicated.
+	 */
+	@Test
+	public void testContendedPushPollPairs() throws InterruptedException
+	{
+		final int threadCount = 8;
+		final int perThread = 20000;
+		final int[] seen = new int[threadCount * perThread];
+		final CountDownLatch start = new CountDownLatch( 1 );
+		Thread[] threads = new Thread[threadCount];
+
+		for( int t = 0; t < threadCount; t++ )
+		{
+			final int base = t * perThread;
+			threads[t] = new Thread( () -> {
+				await( start );
+				for( int i = 0; i < perThread; i++ )
+				{
+					stack.push( base + i );
+					Integer item = stack.poll();
+					// this thread's own push is still there if nobody else took an item
+					assertNotNull( item );
+					synchronized( seen )
+					{
+						seen[item]++;
+					}
+				}
+			} );
+		}
+
+		runAll( threads, start );
+
+		for( int i = 0; i < seen.length; i++ )
+		{
+			assertEquals( "Failed to deliver item " + i + " exactly once.", 1, seen[i] );
+		}
+		assertTrue( "Failed to end empty.", stack.isEmpty() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyConcurrentStack#size()} and
+	 * {@link implementations.MyConcurrentStack#toArray()}
+	 * to return a consistent snapshot while other threads change the stack.
+	 */
+	@Test
+	public void testSnapshotWhileChanging() throws InterruptedException
+	{
+		final int rounds = 50000;
+		Thread worker = new Thread( () -> {
+			for( int i = 0; i < rounds; i++ )
+			{
+				stack.push( i );
+				stack.push( i );
+				stack.poll();
+			}
+		} );
+		worker.start();
+
+		while( worker.isAlive() )
+		{
+			Object[] items = stack.toArray();
+			// the worker leaves the stack holding 0, 1, 2, ... from the bottom,
+			// with at most one extra copy of the newest item on top
+			for( int i = 1; i < items.length; i++ )
+			{
+				int above = (Integer) items[i - 1];
+				int below = (Integer) items[i];
+				assertTrue( "Failed to return a consistent snapshot.",
+						below == above - 1 || ( i == 1 && below == above ) );
+			}
+		}
+		worker.join();
+		assertEquals( "Failed to count the items left.", rounds, stack.size() );
+	}
+
+	private static void runAll( Thread[] threads, CountDownLatch start ) throws InterruptedException
+	{
+		final AtomicInteger failures = new AtomicInteger();
+		for( Thread t : threads )
+		{
+			t.setUncaughtExceptionHandler( ( thread, e ) -> failures.incrementAndGet() );
+			t.start();
+		}
+		start.countDown();
+		for( Thread t : threads )
+		{
+			t.join( 60000 );
+		}
+		assertEquals( "Failed without an error in a worker thread.", 0, failures.get() );
+	}
+
+	private static void await( CountDownLatch latch )
+	{
+		try
+		{
+			latch.await();
+		}
+		catch( InterruptedException e )
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -1325,4 +1325,95 @@ public class DLLTest
 
 		assertArrayEquals( "Failed to convert list to array.", original, returnArray );
 	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyDLL#MyDLL(int)}
+	 * to keep removed nodes for reuse, up to the pool capacity.
+	 */
+	@Test
+	public void testPooledNodesBounded()
+	{
+		MyDLL<Integer> pooled = new MyDLL<>( 2 );
+		pooled.add( one );
+		pooled.add( two );
+		pooled.add( three );
+		assertEquals( "Failed to start with an empty pool.", 0, pooled.pooledNodes() );
+
+		pooled.remove( 0 );
+		assertEquals( "Failed to keep the removed node.", 1, pooled.pooledNodes() );
+
+		pooled.clear();
+		assertEquals( "Failed to bound the pool.", 2, pooled.pooledNodes() );
+		assertEquals( "Failed to clear the list.", 0, pooled.size() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyDLL#MyDLL(int)}
+	 * to reuse pooled nodes for later adds, in any position.
+	 */
+	@Test
+	public void testPooledNodesReused()
+	{
+		MyDLL<Integer> pooled = new MyDLL<>( 8 );
+		pooled.add( one );
+		pooled.add( two );
+		pooled.add( three );
+		pooled.remove( two );
+		pooled.remove( 0 );
+		assertEquals( "Failed to pool the removed nodes.", 2, pooled.pooledNodes() );
+
+		pooled.add( 0, four );
+		pooled.add( 1, five );
+		assertEquals( "Failed to reuse the pooled nodes.", 0, pooled.pooledNodes() );
+
+		Integer[] expected = { four, five, three };
+		assertArrayEquals( "Failed to link the reused nodes.", expected, pooled.toArray( new Integer[0] ) );
+		assertEquals( "Failed to link the reused nodes backwards.", four, pooled.get( 0 ) );
+		assertEquals( "Failed to link the reused nodes backwards.", five, pooled.get( 1 ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyDLL#MyDLL(int)}
+	 * to behave like an unpooled list when used as a queue for a long time.
+	 */
+	@Test
+	public void testPooledSteadyState()
+	{
+		MyDLL<Integer> pooled = new MyDLL<>( 4 );
+		for( int i = 0; i < 4; i++ )
+		{
+			pooled.add( i );
+			myList.add( i );
+		}
+		for( int i = 4; i < 1000; i++ )
+		{
+			assertEquals( "Failed to remove the oldest item.", myList.remove( 0 ), pooled.remove( 0 ) );
+			pooled.add( i );
+			myList.add( i );
+		}
+		assertArrayEquals( "Failed to keep the same items.", myList.toArray(), pooled.toArray() );
+		assertEquals( "Failed to reuse the node just removed.", 0, pooled.pooledNodes() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyDLL#MyDLL(int)}
+	 * to throw an IllegalArgumentException for a negative pool capacity.
+	 */
+	@Test
+	public void testPooledNegativeCapacity()
+	{
+		try
+		{
+			new MyDLL<Integer>( -1 );
+			fail( "Failed to throw IllegalArgumentException." );
+		}
+		catch( IllegalArgumentException e )
+		{
+			assertTrue( true );
+		}
+	}
 }
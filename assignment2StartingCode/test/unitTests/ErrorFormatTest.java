@@ -0,0 +1,200 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import application.ErrorFormat;
+import application.TagNameTable;
+import application.WriterErrorSink;
+import application.XMLError;
+
+/**
+ * Class Description:
+ * Test for the output formats of ErrorFormat, written through a
+ * WriterErrorSink.
+ */
+
+public class ErrorFormatTest
+{
+	private static final String NL = System.lineSeparator();
+
+	// Quote, tab, line feed, control character and backslash in the names
+	private static final String MISMATCH = "TAG_MISMATCH\t3\t5\t1\t=a\"b\\tc\t=d\\ne\u0001f\\\\g";
+	private static final String UNCLOSED = "UNCLOSED_TAG\t2\t0\t2\t=x\\ry\u001f\t";
+	private static final String MALFORMED = "MISSING_CLOSING_BRACKET\t4\t7\t-1\t\t";
+
+	// Attributes
+	private TagNameTable names;
+	private StringWriter out;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		names = new TagNameTable();
+		out = new StringWriter();
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		names = null;
+		out = null;
+	}
+
+	/**
+	 * Test method for {@link application.ErrorFormat#TEXT}.
+	 */
+	@Test
+	public void testText() throws Exception
+	{
+		assertEquals( "Failed to write the message.",
+				"Line 3: Tag mismatch. Expected </a\"b\tc> (opened on line 1) but found </d\ne\u0001f\\g>." + NL
+						+ "Unclosed tag: <x\ry\u001f> (opened on line 2)" + NL
+						+ "Line 4: Missing closing '>'" + NL,
+				write( ErrorFormat.TEXT, MISMATCH, UNCLOSED, MALFORMED ) );
+	}
+
+	/**
+	 * Test method for {@link application.ErrorFormat#JSON}.
+	 */
+	@Test
+	public void testJson() throws Exception
+	{
+		assertEquals( "Failed to write and escape a mismatch.",
+				"{\"code\":\"TAG_MISMATCH\",\"line\":3,\"column\":5,\"expected\":\"a\\\"b\\tc\",\"openedOn\":1,"
+						+ "\"found\":\"d\\ne\\u0001f\\\\g\",\"message\":\"Line 3: Tag mismatch. "
+						+ "Expected </a\\\"b\\tc> (opened on line 1) but found </d\\ne\\u0001f\\\\g>.\"}" + NL,
+				write( ErrorFormat.JSON, MISMATCH ) );
+		assertEquals( "Failed to leave out the found tag.",
+				"{\"code\":\"UNCLOSED_TAG\",\"line\":2,\"column\":0,\"expected\":\"x\\ry\\u001f\",\"openedOn\":2,"
+						+ "\"message\":\"Unclosed tag: <x\\ry\\u001f> (opened on line 2)\"}" + NL,
+				write( ErrorFormat.JSON, UNCLOSED ) );
+		assertEquals( "Failed to leave out the tags.",
+				"{\"code\":\"MISSING_CLOSING_BRACKET\",\"line\":4,\"column\":7,"
+						+ "\"message\":\"Line 4: Missing closing '>'\"}" + NL,
+				write( ErrorFormat.JSON, MALFORMED ) );
+	}
+
+	/**
+	 * Test method for {@link application.ErrorFormat#TSV}.
+	 */
+	@Test
+	public void testTsv() throws Exception
+	{
+		assertEquals( "Failed to write the header and escape the columns.",
+				"code\tline\tcolumn\texpected\topenedOn\tfound\tmessage" + NL
+						+ "TAG_MISMATCH\t3\t5\ta\"b\\tc\t1\td\\ne\u0001f\\\\g\tLine 3: Tag mismatch. "
+						+ "Expected </a\"b\\tc> (opened on line 1) but found </d\\ne\u0001f\\\\g>." + NL
+						+ "UNCLOSED_TAG\t2\t0\tx\\ry\u001f\t2\t\tUnclosed tag: <x\\ry\u001f> (opened on line 2)" + NL
+						+ "MISSING_CLOSING_BRACKET\t4\t7\t\t\t\tLine 4: Missing closing '>'" + NL,
+				write( ErrorFormat.TSV, MISMATCH, UNCLOSED, MALFORMED ) );
+	}
+
+	/**
+	 * Test method for {@link application.ErrorFormat#TSV} to write its
+	 * header even when there are no errors.
+	 */
+	@Test
+	public void testTsv_NoErrors() throws Exception
+	{
+		assertEquals( "Failed to write the header.",
+				"code\tline\tcolumn\texpected\topenedOn\tfound\tmessage" + NL, write( ErrorFormat.TSV ) );
+		assertEquals( "Failed to write nothing.", "", write( ErrorFormat.JSON ) );
+	}
+
+	/**
+	 * Test method for {@link application.WriterErrorSink#close()} to write
+	 * out the buffered errors and close the writer.
+	 */
+	@Test
+	public void testClose_Flushes() throws Exception
+	{
+		final boolean[] closed = new boolean[1];
+		StringWriter target = new StringWriter()
+		{
+			@Override
+			public void close() throws IOException
+			{
+				closed[0] = true;
+				super.close();
+			}
+		};
+		try( WriterErrorSink sink = new WriterErrorSink( target ) )
+		{
+			assertTrue( "Failed to accept an error.", sink.accept( XMLError.fromRecord( MALFORMED, names ) ) );
+			assertEquals( "Failed to buffer the error.", "", target.toString() );
+		}
+
+		assertEquals( "Failed to flush on close.", "Line 4: Missing closing '>'" + NL, target.toString() );
+		assertTrue( "Failed to close the writer.", closed[0] );
+	}
+
+	/**
+	 * Test method for {@link application.WriterErrorSink#accept(application.XMLError)}
+	 * to write every error when there are more than fit in one batch.
+	 */
+	@Test
+	public void testAccept_ManyBatches() throws Exception
+	{
+		XMLError error = XMLError.fromRecord( MISMATCH, names );
+		WriterErrorSink sink = new WriterErrorSink( out, ErrorFormat.JSON );
+		for( int i = 0; i < 5000; i++ )
+		{
+			sink.accept( error );
+		}
+		sink.flush();
+
+		assertEquals( "Failed to count the errors.", 5000, sink.getWritten() );
+		String expected = write( ErrorFormat.JSON, MISMATCH );
+		String[] lines = out.toString().split( NL, -1 );
+		assertEquals( "Failed to write every error.", 5001, lines.length );
+		for( int i = 0; i < 5000; i++ )
+		{
+			assertEquals( "Failed to write error " + i + " whole.", expected, lines[i] + NL );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.WriterErrorSink#WriterErrorSink(java.io.Writer, application.ErrorFormat)}
+	 * to throw NullPointerException for a null format.
+	 */
+	@Test
+	public void testConstructor_NullFormat()
+	{
+		try
+		{
+			new WriterErrorSink( out, null );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	private String write( ErrorFormat format, String... records ) throws IOException
+	{
+		StringWriter text = new StringWriter();
+		try( WriterErrorSink sink = new WriterErrorSink( text, format ) )
+		{
+			for( String record : records )
+			{
+				sink.accept( XMLError.fromRecord( record, names ) );
+			}
+		}
+		return text.toString();
+	}
+}
@@ -0,0 +1,147 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import application.CountingErrorSink;
+import application.ErrorSink;
+import application.LimitingErrorSink;
+import application.TagNameTable;
+import application.XMLError;
+
+/**
+ * Class Description:
+ * Test for CountingErrorSink and LimitingErrorSink.
+ */
+
+public class ErrorSinkTest
+{
+	// Attributes
+	private TagNameTable names;
+	private XMLError mismatch;
+	private XMLError unclosed;
+	private CountingErrorSink counter;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		names = new TagNameTable();
+		mismatch = XMLError.fromRecord( "TAG_MISMATCH\t3\t5\t1\t=a\t=b", names );
+		unclosed = XMLError.fromRecord( "UNCLOSED_TAG\t2\t0\t2\t=c\t", names );
+		counter = new CountingErrorSink();
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		names = null;
+		mismatch = null;
+		unclosed = null;
+		counter = null;
+	}
+
+	/**
+	 * Test method for {@link application.CountingErrorSink#getCount()} and
+	 * {@link application.CountingErrorSink#getCount(application.XMLError.Code)}.
+	 */
+	@Test
+	public void testCounting() throws Exception
+	{
+		assertEquals( "Failed to start from zero.", 0, counter.getCount() );
+		assertTrue( "Failed to keep receiving errors.", counter.accept( mismatch ) );
+		assertTrue( "Failed to keep receiving errors.", counter.accept( mismatch ) );
+		assertTrue( "Failed to keep receiving errors.", counter.accept( unclosed ) );
+
+		assertEquals( "Failed to count all errors.", 3, counter.getCount() );
+		assertEquals( "Failed to count by code.", 2, counter.getCount( XMLError.Code.TAG_MISMATCH ) );
+		assertEquals( "Failed to count by code.", 1, counter.getCount( XMLError.Code.UNCLOSED_TAG ) );
+		assertEquals( "Failed to count by code.", 0, counter.getCount( XMLError.Code.BAD_SUB_PHRASE ) );
+	}
+
+	/**
+	 * Test method for {@link application.LimitingErrorSink#accept(application.XMLError)}
+	 * to pass on only the first errors and ask to stop at the limit.
+	 */
+	@Test
+	public void testLimiting() throws Exception
+	{
+		LimitingErrorSink limit = new LimitingErrorSink( counter, 2 );
+		assertTrue( "Failed to ask for more errors.", limit.accept( mismatch ) );
+		assertFalse( "Failed to be full yet.", limit.isFull() );
+		assertFalse( "Failed to ask to stop at the limit.", limit.accept( unclosed ) );
+		assertTrue( "Failed to be full.", limit.isFull() );
+		assertFalse( "Failed to ask to stop past the limit.", limit.accept( mismatch ) );
+
+		assertEquals( "Failed to pass on only the first errors.", 2, counter.getCount() );
+		assertEquals( "Failed to pass on the first errors.", 1, counter.getCount( XMLError.Code.UNCLOSED_TAG ) );
+	}
+
+	/**
+	 * Test method for {@link application.LimitingErrorSink#reset()}.
+	 */
+	@Test
+	public void testLimiting_Reset() throws Exception
+	{
+		LimitingErrorSink limit = new LimitingErrorSink( counter, 1 );
+		assertFalse( "Failed to ask to stop at the limit.", limit.accept( mismatch ) );
+		limit.reset();
+		assertFalse( "Failed to start from zero.", limit.isFull() );
+		assertFalse( "Failed to ask to stop at the limit.", limit.accept( mismatch ) );
+		assertEquals( "Failed to pass on an error after reset.", 2, counter.getCount() );
+	}
+
+	/**
+	 * Test method for {@link application.LimitingErrorSink#accept(application.XMLError)}
+	 * to ask to stop when the target does.
+	 */
+	@Test
+	public void testLimiting_TargetStops() throws Exception
+	{
+		LimitingErrorSink limit = new LimitingErrorSink( new ErrorSink()
+		{
+			@Override
+			public boolean accept( XMLError error )
+			{
+				return false;
+			}
+		}, 5 );
+		assertFalse( "Failed to pass on the target's answer.", limit.accept( mismatch ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.LimitingErrorSink#LimitingErrorSink(application.ErrorSink, int)}
+	 * to reject a missing target and a limit that is not positive.
+	 */
+	@Test
+	public void testLimiting_BadArguments()
+	{
+		try
+		{
+			new LimitingErrorSink( null, 1 );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+		try
+		{
+			new LimitingErrorSink( counter, 0 );
+			fail( "Failed to throw IllegalArgumentException." );
+		}
+		catch( IllegalArgumentException e )
+		{
+			assertTrue( true );
+		}
+	}
+}
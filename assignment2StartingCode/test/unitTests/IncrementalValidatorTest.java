@@ -0,0 +1,243 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import application.ErrorFormat;
+import application.IncrementalValidator;
+import application.XMLParser;
+import implementations.MyArrayList;
+
+/**
+ * Class Description:
+ * Test for IncrementalValidator. After every edit its errors must be
+ * exactly the ones a full LINE-mode parseFile of the edited text prints.
+ */
+
+public class IncrementalValidatorTest
+{
+	/**
+	 * Lines the random documents are made of: balanced and unbalanced tags,
+	 * every malformed case, blanks, a declaration and non-ASCII names.
+	 */
+	private static final String[] VOCABULARY = {
+			"<a>", "</a>", "<b x=\"1\">", "</b>", "<c>text</c>", "<a><b></a>", "</b></a>",
+			"text > more", "<d/>", "< />", "<e", "<c> x > y <d/>", "", "   ",
+			"<?xml version=\"1.0\"?>", "\t<é>", "\t</é>", "<c></c> tail >", "</x>" };
+
+	// Attributes
+	private File file;
+	private IncrementalValidator validator;
+
+	/**
+	 * Creates an empty temporary file and validator before each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		file = File.createTempFile( "incremental", ".xml" );
+		validator = new IncrementalValidator();
+	}
+
+	/**
+	 * Deletes the temporary file after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		file.delete();
+		file = null;
+		validator = null;
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.IncrementalValidator#replaceLines(int, int, utilities.ListADT)}
+	 * to match a full parse after each of many random inserts, deletes and
+	 * replacements, on documents spanning several checkpoint blocks.
+	 */
+	@Test
+	public void testReplaceLines_RandomEdits() throws Exception
+	{
+		for( long seed = 1; seed <= 4; seed++ )
+		{
+			Random random = new Random( seed );
+			MyArrayList<String> document = randomLines( random, 200 );
+			validator.validate( document );
+			assertMatchesParse( document, "seed " + seed + ", initial document" );
+
+			for( int edit = 0; edit < 150; edit++ )
+			{
+				int start = random.nextInt( document.size() + 1 );
+				int removed = random.nextInt( 10 ) == 0
+						? document.size() - start
+						: random.nextInt( Math.min( 8, document.size() - start ) + 1 );
+				MyArrayList<String> added = randomLines( random, random.nextInt( 8 ) );
+
+				validator.replaceLines( start + 1, removed, added );
+				for( int i = 0; i < removed; i++ )
+				{
+					document.remove( start );
+				}
+				document.addAll( start, added );
+
+				assertEquals( "Failed to keep the line count.", document.size(), validator.lineCount() );
+				assertMatchesParse( document, "seed " + seed + ", edit " + edit );
+			}
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.IncrementalValidator#replaceLines(int, int, utilities.ListADT)}
+	 * to stop validating once the tag stack is back to what it was, and
+	 * still match a full parse.
+	 */
+	@Test
+	public void testReplaceLines_Converges() throws Exception
+	{
+		MyArrayList<String> document = new MyArrayList<String>();
+		document.add( "<root>" );
+		for( int i = 0; i < 1000; i++ )
+		{
+			document.add( "  <a>x</a>" );
+		}
+		document.add( "</root>" );
+		validator.validate( document );
+
+		MyArrayList<String> edit = new MyArrayList<String>();
+		edit.add( "  <b>y</c>" );
+		edit.add( "  <d/>" );
+		validator.replaceLines( 500, 1, edit );
+		document.set( 499, edit.get( 0 ) );
+		document.add( 500, edit.get( 1 ) );
+
+		assertTrue( "Failed to stop early: " + validator.getLinesValidated() + " lines validated.",
+				validator.getLinesValidated() < 200 );
+		assertMatchesParse( document, "edit in the middle" );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.IncrementalValidator#validate(java.lang.String)}
+	 * to read a file, non-ASCII names included, the way LINE mode does.
+	 */
+	@Test
+	public void testValidateFile() throws Exception
+	{
+		Files.write( file.toPath(), "<é>\r\n</è>\r\n<a>\r</a></a>\n<ü>".getBytes( StandardCharsets.UTF_8 ) );
+		validator.validate( file.getPath() );
+
+		assertEquals( "Failed to count the lines.", 5, validator.lineCount() );
+		assertEquals( "Failed to match a full parse.", parse(), print() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.IncrementalValidator#replaceLines(int, int, utilities.ListADT)}
+	 * to throw IndexOutOfBoundsException for a range outside the document.
+	 */
+	@Test
+	public void testReplaceLines_OutOfBounds()
+	{
+		validator.validate( randomLines( new Random( 1 ), 5 ) );
+		MyArrayList<String> none = new MyArrayList<String>();
+		int[][] ranges = { { 0, 0 }, { 7, 0 }, { 5, 2 }, { 1, -1 } };
+		for( int[] range : ranges )
+		{
+			try
+			{
+				validator.replaceLines( range[0], range[1], none );
+				fail( "Failed to throw IndexOutOfBoundsException." );
+			}
+			catch( IndexOutOfBoundsException e )
+			{
+				assertTrue( true );
+			}
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.IncrementalValidator#replaceLines(int, int, utilities.ListADT)}
+	 * to throw NullPointerException for null lines and
+	 * IllegalArgumentException for a line holding a line terminator.
+	 */
+	@Test
+	public void testReplaceLines_BadLines()
+	{
+		try
+		{
+			validator.replaceLines( 1, 0, null );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+		MyArrayList<String> lines = new MyArrayList<String>();
+		lines.add( "<a>\n</a>" );
+		try
+		{
+			validator.replaceLines( 1, 0, lines );
+			fail( "Failed to throw IllegalArgumentException." );
+		}
+		catch( IllegalArgumentException e )
+		{
+			assertTrue( true );
+		}
+		assertEquals( "Failed to leave the document unchanged.", 0, validator.lineCount() );
+	}
+
+	private void assertMatchesParse( MyArrayList<String> document, String where ) throws Exception
+	{
+		StringBuilder text = new StringBuilder();
+		for( int i = 0; i < document.size(); i++ )
+		{
+			text.append( document.get( i ) ).append( '\n' );
+		}
+		Files.write( file.toPath(), text.toString().getBytes( StandardCharsets.UTF_8 ) );
+
+		assertEquals( "Failed to match a full parse (" + where + ").", parse(), print() );
+	}
+
+	private String parse() throws Exception
+	{
+		XMLParser parser = new XMLParser( XMLParser.Mode.LINE );
+		parser.parseFile( file.getPath() );
+		StringWriter out = new StringWriter();
+		parser.printErrors( out, ErrorFormat.TEXT );
+		return out.toString();
+	}
+
+	private String print() throws Exception
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		PrintStream out = new PrintStream( bytes, true, "UTF-8" );
+		validator.printErrors( out );
+		return bytes.toString( "UTF-8" );
+	}
+
+	private static MyArrayList<String> randomLines( Random random, int count )
+	{
+		MyArrayList<String> lines = new MyArrayList<String>();
+		for( int i = 0; i < count; i++ )
+		{
+			lines.add( VOCABULARY[random.nextInt( VOCABULARY.length )] );
+		}
+		return lines;
+	}
+}
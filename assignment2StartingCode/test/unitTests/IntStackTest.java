@@ -0,0 +1,263 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.EmptyStackException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.IntStack;
+
+/**
+ * Class Description:
+ * Test for the primitive int stack IntStack, following the StackADT
+ * cases used for MyStack, plus the optional line numbers.
+ */
+
+public class IntStackTest
+{
+	// Attributes
+	private IntStack stack;
+	private IntStack lineStack;
+
+	/**
+	 * Initializes an IntStack without and one with line tracking before each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		stack = new IntStack();
+		lineStack = new IntStack( 2, true );
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		stack = null;
+		lineStack = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.IntStack#IntStack(int, boolean)}
+	 * to throw IllegalArgumentException for a negative capacity.
+	 */
+	@Test
+	public void testConstructor_NegativeCapacity()
+	{
+		try
+		{
+			new IntStack( -1, false );
+			fail( "Failed to throw IllegalArgumentException." );
+		}
+		catch( IllegalArgumentException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.IntStack#push(int)}
+	 * and {@link implementations.IntStack#pop()} to return values last in, first out.
+	 */
+	@Test
+	public void testPushPop()
+	{
+		stack.push( 1 );
+		stack.push( 2 );
+		stack.push( 3 );
+
+		assertEquals( "Failed to pop top value.", 3, stack.pop() );
+		assertEquals( "Failed to pop next value.", 2, stack.pop() );
+		assertEquals( "Failed to pop last value.", 1, stack.pop() );
+		assertTrue( "Failed to empty the stack.", stack.isEmpty() );
+	}
+
+	/**
+	 * Test method for {@link implementations.IntStack#push(int)}
+	 * to grow past the initial capacity.
+	 */
+	@Test
+	public void testPush_Grow()
+	{
+		for( int i = 0; i < 1000; i++ )
+		{
+			stack.push( i );
+		}
+
+		assertEquals( "Failed to keep every value.", 1000, stack.size() );
+		assertEquals( "Failed to keep the top value.", 999, stack.peek() );
+	}
+
+	/**
+	 * Test method for {@link implementations.IntStack#pop()}
+	 * to throw EmptyStackException on an empty stack.
+	 */
+	@Test
+	public void testPop_Empty()
+	{
+		try
+		{
+			stack.pop();
+			fail( "Failed to throw EmptyStackException." );
+		}
+		catch( EmptyStackException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.IntStack#peek()}
+	 * to return the top value without removing it.
+	 */
+	@Test
+	public void testPeek()
+	{
+		stack.push( 7 );
+		stack.push( 8 );
+
+		assertEquals( "Failed to peek top value.", 8, stack.peek() );
+		assertEquals( "Failed to leave value on the stack.", 2, stack.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.IntStack#peek()}
+	 * to throw EmptyStackException on an empty stack.
+	 */
+	@Test
+	public void testPeek_Empty()
+	{
+		try
+		{
+			stack.peek();
+			fail( "Failed to throw EmptyStackException." );
+		}
+		catch( EmptyStackException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.IntStack#push(int, int)}
+	 * and {@link implementations.IntStack#peekLine()} to keep each line with its value.
+	 */
+	@Test
+	public void testPushWithLine()
+	{
+		lineStack.push( 5, 10 );
+		lineStack.push( 6, 20 );
+		lineStack.push( 7, 30 );
+
+		assertEquals( "Failed to return line of top value.", 30, lineStack.peekLine() );
+		lineStack.pop();
+		assertEquals( "Failed to return line of next value.", 20, lineStack.peekLine() );
+		assertEquals( "Failed to pop value.", 6, lineStack.pop() );
+		assertEquals( "Failed to return line of last value.", 10, lineStack.peekLine() );
+	}
+
+	/**
+	 * Test method for {@link implementations.IntStack#push(int)}
+	 * to record line 0 on a stack that tracks lines.
+	 */
+	@Test
+	public void testPush_NoLineOnTrackingStack()
+	{
+		lineStack.push( 5, 10 );
+		lineStack.push( 6 );
+
+		assertEquals( "Failed to record line 0.", 0, lineStack.peekLine() );
+	}
+
+	/**
+	 * Test method for {@link implementations.IntStack#push(int, int)}
+	 * to throw IllegalStateException when lines are not tracked.
+	 */
+	@Test
+	public void testPushWithLine_NotTracked()
+	{
+		assertFalse( "Failed to report lines are not tracked.", stack.tracksLines() );
+		try
+		{
+			stack.push( 1, 1 );
+			fail( "Failed to throw IllegalStateException." );
+		}
+		catch( IllegalStateException e )
+		{
+			assertTrue( "Failed to leave stack empty.", stack.isEmpty() );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.IntStack#peekLine()}
+	 * to throw EmptyStackException on an empty tracking stack.
+	 */
+	@Test
+	public void testPeekLine_Empty()
+	{
+		try
+		{
+			lineStack.peekLine();
+			fail( "Failed to throw EmptyStackException." );
+		}
+		catch( EmptyStackException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.IntStack#clear()}
+	 * to remove every value.
+	 */
+	@Test
+	public void testClear()
+	{
+		stack.push( 1 );
+		stack.push( 2 );
+		stack.clear();
+
+		assertTrue( "Failed to clear the stack.", stack.isEmpty() );
+		assertEquals( "Failed to reset size.", 0, stack.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.IntStack#search(int)}
+	 * and {@link implementations.IntStack#contains(int)} to count positions from the top.
+	 */
+	@Test
+	public void testSearch()
+	{
+		stack.push( 1 );
+		stack.push( 2 );
+		stack.push( 3 );
+
+		assertEquals( "Failed to find top value.", 1, stack.search( 3 ) );
+		assertEquals( "Failed to find bottom value.", 3, stack.search( 1 ) );
+		assertEquals( "Failed to return -1 for missing value.", -1, stack.search( 4 ) );
+		assertTrue( "Failed to find value.", stack.contains( 2 ) );
+		assertFalse( "Failed to report missing value.", stack.contains( 4 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.IntStack#toArray()}
+	 * to return the values top first.
+	 */
+	@Test
+	public void testToArray()
+	{
+		stack.push( 1 );
+		stack.push( 2 );
+		stack.push( 3 );
+
+		int[] expected = { 3, 2, 1 };
+		assertArrayEquals( "Failed to return values top first.", expected, stack.toArray() );
+	}
+}
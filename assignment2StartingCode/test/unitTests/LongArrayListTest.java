@@ -0,0 +1,267 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.NoSuchElementException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import utilities.LongIterator;
+import implementations.LongArrayList;
+
+/**
+ * Class Description:
+ * Test for the primitive long list LongArrayList, following the ListADT
+ * cases used for MyArrayList.
+ */
+
+public class LongArrayListTest
+{
+	// Attributes
+	private LongArrayList list;
+
+	/**
+	 * Initializes an empty LongArrayList before each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		list = new LongArrayList();
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		list = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#size()}
+	 * to return the number of values added.
+	 */
+	@Test
+	public void testSize()
+	{
+		assertEquals( "Failed to return size of empty list.", 0, list.size() );
+		list.add( 1 );
+		list.add( 2 );
+		assertEquals( "Failed to return size.", 2, list.size() );
+		assertFalse( "Failed to report non-empty.", list.isEmpty() );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#clear()}
+	 * to remove every value.
+	 */
+	@Test
+	public void testClear()
+	{
+		list.add( 1 );
+		list.add( 2 );
+		list.clear();
+		assertEquals( "Failed to clear.", 0, list.size() );
+		assertTrue( "Failed to report empty.", list.isEmpty() );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#add(long)}
+	 * to append many values past the initial capacity.
+	 */
+	@Test
+	public void testAdd_Grow()
+	{
+		for( int i = 0; i < 1000; i++ )
+		{
+			list.add( i * 3L );
+		}
+		assertEquals( "Failed to return size.", 1000, list.size() );
+		for( int i = 0; i < 1000; i++ )
+		{
+			assertEquals( "Failed to return value.", i * 3L, list.get( i ) );
+		}
+		list.add( Long.MAX_VALUE );
+		assertEquals( "Failed to keep a full 64-bit value.", Long.MAX_VALUE, list.get( 1000 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#add(int, long)}
+	 * to insert at the front, middle and end.
+	 */
+	@Test
+	public void testAddAtIndex()
+	{
+		list.add( 0, 20 );
+		list.add( 0, 10 );
+		list.add( 2, 40 );
+		list.add( 2, 30 );
+		long[] expected = { 10, 20, 30, 40 };
+		assertArrayEquals( "Failed to insert in order.", expected, list.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#add(int, long)}
+	 * to throw IndexOutOfBoundsException for an index past the end.
+	 */
+	@Test
+	public void testAddAtIndex_OutOfBounds()
+	{
+		try
+		{
+			list.add( 1, 5 );
+			fail( "Failed to throw IndexOutOfBoundsException." );
+		}
+		catch( IndexOutOfBoundsException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#addAll(long[])}
+	 * to append a whole array.
+	 */
+	@Test
+	public void testAddAll_Array()
+	{
+		list.add( 1 );
+		list.addAll( new long[] { 2, 3, 4 } );
+		long[] expected = { 1, 2, 3, 4 };
+		assertArrayEquals( "Failed to append array.", expected, list.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#addAll(implementations.LongArrayList)}
+	 * to append another list, including the list itself.
+	 */
+	@Test
+	public void testAddAll_List()
+	{
+		LongArrayList other = new LongArrayList();
+		other.add( 7 );
+		other.add( 8 );
+		list.add( 6 );
+		list.addAll( other );
+		list.addAll( list );
+		long[] expected = { 6, 7, 8, 6, 7, 8 };
+		assertArrayEquals( "Failed to append list.", expected, list.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#addAll(long[])}
+	 * to throw NullPointerException for a null array.
+	 */
+	@Test
+	public void testAddAll_Null()
+	{
+		try
+		{
+			list.addAll( (long[]) null );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#get(int)}
+	 * to throw IndexOutOfBoundsException on an empty list.
+	 */
+	@Test
+	public void testGet_OutOfBounds()
+	{
+		try
+		{
+			list.get( 0 );
+			fail( "Failed to throw IndexOutOfBoundsException." );
+		}
+		catch( IndexOutOfBoundsException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#set(int, long)}
+	 * to replace a value and return the old one.
+	 */
+	@Test
+	public void testSet()
+	{
+		list.add( 1 );
+		list.add( 2 );
+		assertEquals( "Failed to return old value.", 2, list.set( 1, 5 ) );
+		assertEquals( "Failed to set value.", 5, list.get( 1 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#remove(int)}
+	 * to remove by index and shift the rest left.
+	 */
+	@Test
+	public void testRemoveIndex()
+	{
+		list.addAll( new long[] { 1, 2, 3, 4 } );
+		assertEquals( "Failed to return removed value.", 2, list.remove( 1 ) );
+		long[] expected = { 1, 3, 4 };
+		assertArrayEquals( "Failed to shift values.", expected, list.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#removeValue(long)}
+	 * to remove the first occurrence of a value.
+	 */
+	@Test
+	public void testRemoveValue()
+	{
+		list.addAll( new long[] { 5, 6, 5 } );
+		assertTrue( "Failed to remove value.", list.removeValue( 5 ) );
+		assertFalse( "Failed to report missing value.", list.removeValue( 9 ) );
+		long[] expected = { 6, 5 };
+		assertArrayEquals( "Failed to remove first occurrence.", expected, list.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#contains(long)}
+	 * to find present values only.
+	 */
+	@Test
+	public void testContains()
+	{
+		list.addAll( new long[] { 5, 6 } );
+		assertTrue( "Failed to find value.", list.contains( 6 ) );
+		assertFalse( "Failed to report missing value.", list.contains( 7 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#iterator()}
+	 * to walk the values in order.
+	 */
+	@Test
+	public void testIterator()
+	{
+		list.addAll( new long[] { 4, 5, 6 } );
+		LongIterator it = list.iterator();
+		assertEquals( "Iterator returned wrong value.", 4, it.next() );
+		assertEquals( "Iterator returned wrong value.", 5, it.next() );
+		assertEquals( "Iterator returned wrong value.", 6, it.next() );
+		assertFalse( "Iterator has too many values.", it.hasNext() );
+		try
+		{
+			it.next();
+			fail( "Failed to throw NoSuchElementException." );
+		}
+		catch( NoSuchElementException e )
+		{
+			assertTrue( true );
+		}
+	}
+}
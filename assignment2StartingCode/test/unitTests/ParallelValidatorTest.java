@@ -0,0 +1,208 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import application.ErrorFormat;
+import application.XMLParser;
+
+/**
+ * Class Description:
+ * Test for the PARALLEL mode of XMLParser, which splits the file into
+ * chunks validated at the same time. Whatever the chunk size, the result
+ * must be exactly the one LINE mode gives.
+ */
+
+public class ParallelValidatorTest
+{
+	/**
+	 * Errors that depend on tags opened many lines, and so many chunks,
+	 * earlier: mismatches, closers with nothing open, and unclosed tags.
+	 */
+	private static final String[] DOCUMENT = {
+			"<?xml version=\"1.0\"?>",
+			"<root>",
+			"  <a>",
+			"    <b>text</b>",
+			"    <c><d></c>",
+			"  </a>",
+			"  </x>",
+			"  <e attr=\"1\"> one > two <f/>",
+			"  <g",
+			"  < />",
+			"  <ü>ß</ü>",
+			"",
+			"</root>",
+			"</root>",
+			"<h>",
+			"  <i>" };
+
+	// Attributes
+	private File file;
+
+	/**
+	 * Creates an empty temporary file before each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		file = File.createTempFile( "parallel", ".xml" );
+	}
+
+	/**
+	 * Deletes the temporary file after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		file.delete();
+		file = null;
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#setChunkSize(long)}
+	 * to match LINE mode with \r\n line endings for every chunk size from one
+	 * byte to more than the file, so chunks also end between a \r and its \n.
+	 */
+	@Test
+	public void testMatchesLine_CarriageReturnLineFeed() throws Exception
+	{
+		checkEveryChunkSize( "\r\n" );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#setChunkSize(long)}
+	 * to match LINE mode with \n line endings for every chunk size.
+	 */
+	@Test
+	public void testMatchesLine_LineFeed() throws Exception
+	{
+		checkEveryChunkSize( "\n" );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#setChunkSize(long)}
+	 * to match LINE mode with \r line endings for every chunk size.
+	 */
+	@Test
+	public void testMatchesLine_CarriageReturn() throws Exception
+	{
+		checkEveryChunkSize( "\r" );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#setChunkSize(long)}
+	 * to match LINE mode on a file whose last line has no terminator and on
+	 * an empty file.
+	 */
+	@Test
+	public void testMatchesLine_NoFinalTerminator() throws Exception
+	{
+		byte[] bytes = "<a>\r\n<b></a>\r\n</b>".getBytes( StandardCharsets.UTF_8 );
+		Files.write( file.toPath(), bytes );
+		String expected = parse( XMLParser.Mode.LINE, 0 );
+		for( int chunkSize = 1; chunkSize <= bytes.length + 1; chunkSize++ )
+		{
+			assertEquals( "Failed to match LINE mode with chunk size " + chunkSize + ".",
+					expected, parse( XMLParser.Mode.PARALLEL, chunkSize ) );
+		}
+
+		Files.write( file.toPath(), new byte[0] );
+		assertEquals( "Failed to match LINE mode on an empty file.",
+				parse( XMLParser.Mode.LINE, 0 ), parse( XMLParser.Mode.PARALLEL, 1 ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#setChunkSize(long)}
+	 * to throw IllegalArgumentException for a chunk size that is not positive.
+	 */
+	@Test
+	public void testSetChunkSize_NotPositive()
+	{
+		try
+		{
+			new XMLParser( XMLParser.Mode.PARALLEL ).setChunkSize( 0 );
+			fail( "Failed to throw IllegalArgumentException." );
+		}
+		catch( IllegalArgumentException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#parseFile(java.lang.String)}
+	 * to report a file that cannot be read in PARALLEL mode.
+	 */
+	@Test
+	public void testMissingFile() throws Exception
+	{
+		file.delete();
+		XMLParser parser = new XMLParser( XMLParser.Mode.PARALLEL );
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		parser.setOutput( new PrintStream( out, true, "UTF-8" ) );
+		parser.parseFile( file.getPath() );
+
+		assertTrue( "Failed to report a read error.", parser.hadReadError() );
+		assertTrue( "Failed to print the read error.", out.toString( "UTF-8" ).startsWith( "Error reading file: " ) );
+	}
+
+	private void checkEveryChunkSize( String ending ) throws Exception
+	{
+		StringBuilder text = new StringBuilder();
+		for( String line : DOCUMENT )
+		{
+			text.append( line ).append( ending );
+		}
+		byte[] bytes = text.toString().getBytes( StandardCharsets.UTF_8 );
+		Files.write( file.toPath(), bytes );
+
+		String expected = parse( XMLParser.Mode.LINE, 0 );
+		assertTrue( "Failed to find the errors in the document.", expected.split( "\n" ).length > 8 );
+
+		for( int chunkSize = 1; chunkSize <= bytes.length + 1; chunkSize++ )
+		{
+			assertEquals( "Failed to match LINE mode with chunk size " + chunkSize + ".",
+					expected, parse( XMLParser.Mode.PARALLEL, chunkSize ) );
+		}
+		assertEquals( "Failed to match LINE mode with the default chunk size.",
+				expected, parse( XMLParser.Mode.PARALLEL, 0 ) );
+	}
+
+	/**
+	 * Parses the file and returns its errors as JSON lines.
+	 * @param chunkSize The chunk size, or 0 for the default.
+	 */
+	private String parse( XMLParser.Mode mode, int chunkSize ) throws Exception
+	{
+		XMLParser parser = new XMLParser( mode );
+		if( chunkSize > 0 )
+		{
+			parser.setChunkSize( chunkSize );
+		}
+		parser.parseFile( file.getPath() );
+		assertFalse( "Failed to read the file.", parser.hadReadError() );
+
+		StringWriter out = new StringWriter();
+		parser.printErrors( out, ErrorFormat.JSON );
+		return out.toString();
+	}
+}
@@ -611,6 +611,28 @@ public class QueueTest
 			actualIndex = queue.search( five ); 
 			
 			assertEquals("Failed to return -1 for not found", expectedIndex, actualIndex);
-		} 
- 
+		}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyQueue#MyQueue(int)}
+	 * to keep FIFO order while recycling its nodes.
+	 */
+	@Test
+	public void testPooledQueue() throws EmptyQueueException
+	{
+		MyQueue<Integer> pooled = new MyQueue<Integer>( 2 );
+		pooled.enqueue( one );
+		pooled.enqueue( two );
+		assertEquals( "Failed to dequeue in order.", one, pooled.dequeue() );
+		pooled.enqueue( three );
+		pooled.enqueue( four );
+		assertEquals( "Failed to dequeue in order.", two, pooled.dequeue() );
+		assertEquals( "Failed to dequeue in order.", three, pooled.dequeue() );
+		pooled.dequeueAll();
+		pooled.enqueue( five );
+		assertEquals( "Failed to return correct size.", 1, pooled.size() );
+		assertEquals( "Failed to dequeue in order.", five, pooled.dequeue() );
+		assertTrue( "Failed to empty the queue.", pooled.isEmpty() );
+	}
 }
@@ -0,0 +1,415 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import application.ErrorFormat;
+import application.ErrorSink;
+import application.ResultCache;
+import application.XMLError;
+import application.XMLParser;
+import implementations.MyArrayList;
+
+/**
+ * Class Description:
+ * Test for the on-disk ResultCache, on its own and through XMLParser.
+ */
+
+public class ResultCacheTest
+{
+	// The size charged for an entry with no records
+	private static final long EMPTY_ENTRY = 256;
+
+	private static final String INVALID = "<a>\n  <b></a>\n</c>\n<d>\n";
+
+	// Attributes
+	private Path directory;
+	private File file;
+
+	/**
+	 * Creates an empty cache directory and an XML file before each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		directory = Files.createTempDirectory( "cache" );
+		file = File.createTempFile( "cached", ".xml" );
+		write( file, INVALID );
+	}
+
+	/**
+	 * Deletes the cache directory and the XML file after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		try( DirectoryStream<Path> entries = Files.newDirectoryStream( directory ) )
+		{
+			for( Path entry : entries )
+			{
+				Files.delete( entry );
+			}
+		}
+		Files.delete( directory );
+		file.delete();
+		directory = null;
+		file = null;
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.ResultCache#ResultCache(java.lang.String, long)}
+	 * to throw IllegalArgumentException for a size that is not positive.
+	 */
+	@Test
+	public void testConstructor_NotPositive() throws Exception
+	{
+		try
+		{
+			new ResultCache( directory.toString(), 0 );
+			fail( "Failed to throw IllegalArgumentException." );
+		}
+		catch( IllegalArgumentException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#setCache(application.ResultCache)}
+	 * to miss and store on the first parse, then hit without changing the
+	 * errors, in every mode.
+	 */
+	@Test
+	public void testParseFile_MissThenHit() throws Exception
+	{
+		String expected = parse( null, XMLParser.Mode.LINE, 0 );
+		ResultCache cache = open( "test" );
+
+		assertEquals( "Failed to parse on a miss.", expected, parse( cache, XMLParser.Mode.LINE, 0 ) );
+		assertEquals( "Failed to count the miss.", 1, cache.getMisses() );
+		assertEquals( "Failed to store the result once.", 1, cache.size() );
+
+		for( XMLParser.Mode mode : XMLParser.Mode.values() )
+		{
+			assertEquals( "Failed to replay the errors in " + mode + " mode.", expected, parse( cache, mode, 0 ) );
+		}
+		assertEquals( "Failed to count the hits.", XMLParser.Mode.values().length, cache.getHits() );
+		assertEquals( "Failed to miss only once.", 1, cache.getMisses() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.ResultCache#lookup(java.lang.String, boolean)}
+	 * to find a copy of a cached file by its content.
+	 */
+	@Test
+	public void testParseFile_CopyHitsByContent() throws Exception
+	{
+		ResultCache cache = open( "test" );
+		String expected = parse( cache, XMLParser.Mode.LINE, 0 );
+		File copy = File.createTempFile( "copy", ".xml" );
+		try
+		{
+			write( copy, INVALID );
+			XMLParser parser = new XMLParser();
+			parser.setCache( cache );
+			parser.parseFile( copy.getPath() );
+
+			assertEquals( "Failed to hit by content.", 1, cache.getHits() );
+			assertEquals( "Failed to replay the errors.", expected, print( parser ) );
+			assertEquals( "Failed to share the entry of an identical copy.", 1, cache.size() );
+		}
+		finally
+		{
+			copy.delete();
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.ResultCache#lookup(java.lang.String, boolean)}
+	 * to miss once the file has changed.
+	 */
+	@Test
+	public void testParseFile_ChangedFileMisses() throws Exception
+	{
+		ResultCache cache = open( "test" );
+		parse( cache, XMLParser.Mode.LINE, 0 );
+		write( file, "<a>\n</a>\n" );
+
+		assertEquals( "Failed to parse the new content.",
+				parse( null, XMLParser.Mode.LINE, 0 ), parse( cache, XMLParser.Mode.LINE, 0 ) );
+		assertEquals( "Failed to find no errors.", 0, parse( cache, XMLParser.Mode.LINE, 0 ).length() );
+		assertEquals( "Failed to miss.", 2, cache.getMisses() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.ResultCache#lookup(java.lang.String, boolean)}
+	 * to miss when the file is rewritten with the same size and
+	 * modification time.
+	 */
+	@Test
+	public void testParseFile_SameSizeAndTimeMisses() throws Exception
+	{
+		ResultCache cache = open( "test" );
+		parse( cache, XMLParser.Mode.LINE, 0 );
+		FileTime modified = Files.getLastModifiedTime( file.toPath() );
+		long size = file.length();
+
+		write( file, "<a>\n  <b></b>\n</a>\n<d>\n" );
+		Files.setLastModifiedTime( file.toPath(), modified );
+		assertEquals( "Failed to keep the size.", size, file.length() );
+		assertEquals( "Failed to keep the modification time.", modified, Files.getLastModifiedTime( file.toPath() ) );
+
+		assertEquals( "Failed to parse the new content.",
+				parse( null, XMLParser.Mode.LINE, 0 ), parse( cache, XMLParser.Mode.LINE, 0 ) );
+		assertEquals( "Failed to miss.", 2, cache.getMisses() );
+		assertEquals( "Failed to miss.", 0, cache.getHits() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.ResultCache#store(application.ResultCache.Lookup, implementations.MyArrayList)}
+	 * to not store the result of a file that changed while it was parsed.
+	 */
+	@Test
+	public void testParseFile_ChangedWhileParsing() throws Exception
+	{
+		ResultCache cache = open( "test" );
+		XMLParser parser = new XMLParser();
+		parser.setCache( cache );
+		parser.setErrorSink( new ErrorSink()
+		{
+			@Override
+			public boolean accept( XMLError error )
+			{
+				try
+				{
+					write( file, "<changed>\n" );
+				}
+				catch( IOException e )
+				{
+					throw new IllegalStateException( e );
+				}
+				return true;
+			}
+		} );
+		parser.parseFile( file.getPath() );
+
+		assertEquals( "Failed to skip storing a changed file.", 0, cache.size() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#setFailFast(boolean)}
+	 * with a cache to store only parses that read the whole file, and to
+	 * hit on a complete result.
+	 */
+	@Test
+	public void testParseFile_FailFast() throws Exception
+	{
+		ResultCache cache = open( "test" );
+		parse( cache, XMLParser.Mode.STREAMING, 1 );
+		assertEquals( "Failed to skip storing a stopped parse.", 0, cache.size() );
+
+		write( file, "<a>\n</a>\n" );
+		parse( cache, XMLParser.Mode.STREAMING, 1 );
+		assertEquals( "Failed to store a complete parse.", 1, cache.size() );
+
+		parse( cache, XMLParser.Mode.STREAMING, 1 );
+		assertEquals( "Failed to miss without hashing under an error limit.", 0, cache.getHits() );
+
+		parse( cache, XMLParser.Mode.STREAMING, 0 );
+		assertEquals( "Failed to hit a result stored by a fail-fast parse.", 1, cache.getHits() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.ResultCache#ResultCache(java.lang.String, long, java.lang.String)}
+	 * to not return results stored by another version of the parser.
+	 */
+	@Test
+	public void testVersionInvalidates() throws Exception
+	{
+		ResultCache first = open( "1" );
+		parse( first, XMLParser.Mode.LINE, 0 );
+
+		ResultCache second = open( "2" );
+		assertFalse( "Failed to include the version in the key.",
+				first.key( file.getPath() ).equals( second.key( file.getPath() ) ) );
+		parse( second, XMLParser.Mode.LINE, 0 );
+		assertEquals( "Failed to miss with another version.", 0, second.getHits() );
+		assertEquals( "Failed to miss with another version.", 1, second.getMisses() );
+
+		ResultCache again = open( "1" );
+		parse( again, XMLParser.Mode.LINE, 0 );
+		assertEquals( "Failed to hit with the same version.", 1, again.getHits() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.ResultCache#put(java.lang.String, implementations.MyArrayList)}
+	 * to evict the least recently used entry once the cache is full.
+	 */
+	@Test
+	public void testPut_EvictsLeastRecentlyUsed() throws Exception
+	{
+		ResultCache cache = new ResultCache( directory.toString(), 3 * EMPTY_ENTRY );
+		MyArrayList<String> none = new MyArrayList<String>();
+		cache.put( "a", none );
+		cache.put( "b", none );
+		cache.put( "c", none );
+		assertNotNull( "Failed to find an entry.", cache.get( "a" ) );
+		cache.put( "d", none );
+
+		assertEquals( "Failed to keep the size limit.", 3, cache.size() );
+		assertEquals( "Failed to keep the size limit.", 3 * EMPTY_ENTRY, cache.getTotalBytes() );
+		assertFalse( "Failed to delete the evicted entry.", Files.exists( directory.resolve( "b.errors" ) ) );
+		assertNull( "Failed to evict the least recently used entry.", cache.get( "b" ) );
+		assertNotNull( "Failed to keep a recently used entry.", cache.get( "a" ) );
+		assertNotNull( "Failed to keep a recent entry.", cache.get( "c" ) );
+		assertNotNull( "Failed to keep the new entry.", cache.get( "d" ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.ResultCache#ResultCache(java.lang.String, long)}
+	 * to rebuild the use order from the entries on disk and evict the
+	 * oldest ones if they no longer fit.
+	 */
+	@Test
+	public void testConstructor_EvictsOldestOnDisk() throws Exception
+	{
+		ResultCache cache = new ResultCache( directory.toString(), 2 * EMPTY_ENTRY );
+		MyArrayList<String> records = new MyArrayList<String>();
+		cache.put( "old", records );
+		cache.put( "new", records );
+		Files.setLastModifiedTime( directory.resolve( "old.errors" ), FileTime.fromMillis( 1000000L ) );
+		Files.setLastModifiedTime( directory.resolve( "new.errors" ), FileTime.fromMillis( 2000000L ) );
+
+		ResultCache reopened = new ResultCache( directory.toString(), EMPTY_ENTRY );
+		assertEquals( "Failed to keep the size limit.", 1, reopened.size() );
+		assertNull( "Failed to evict the oldest entry.", reopened.get( "old" ) );
+		assertNotNull( "Failed to keep the newest entry.", reopened.get( "new" ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#parseFile(java.lang.String)}
+	 * to parse again, and replace the entry, when a cached record cannot
+	 * be read.
+	 */
+	@Test
+	public void testParseFile_BadEntry() throws Exception
+	{
+		String expected = parse( null, XMLParser.Mode.LINE, 0 );
+		ResultCache cache = open( "test" );
+		parse( cache, XMLParser.Mode.LINE, 0 );
+		try( DirectoryStream<Path> entries = Files.newDirectoryStream( directory ) )
+		{
+			for( Path entry : entries )
+			{
+				Files.write( entry, "not a record\n".getBytes( StandardCharsets.UTF_8 ) );
+			}
+		}
+
+		assertEquals( "Failed to parse past a bad entry.", expected, parse( cache, XMLParser.Mode.LINE, 0 ) );
+		assertEquals( "Failed to replace the bad entry.", expected, parse( cache, XMLParser.Mode.LINE, 0 ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.ResultCache#get(java.lang.String)} and
+	 * {@link application.ResultCache#put(java.lang.String, implementations.MyArrayList)}
+	 * to keep entries whole and the size limit when shared by threads.
+	 */
+	@Test
+	public void testSharedByThreads() throws Exception
+	{
+		final ResultCache cache = new ResultCache( directory.toString(), 1000 * 8 );
+		final AtomicReference<String> failure = new AtomicReference<String>();
+		Thread[] threads = new Thread[4];
+		for( int t = 0; t < threads.length; t++ )
+		{
+			threads[t] = new Thread( () -> {
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				for( int i = 0; i < 300; i++ )
+				{
+					String key = "k" + random.nextInt( 16 );
+					if( random.nextBoolean() )
+					{
+						MyArrayList<String> records = new MyArrayList<String>();
+						records.add( key );
+						cache.put( key, records );
+					}
+					else
+					{
+						MyArrayList<String> records = cache.get( key );
+						if( records != null && ( records.size() != 1 || !records.get( 0 ).equals( key ) ) )
+						{
+							failure.compareAndSet( null, key + " held " + records.size() + " records" );
+						}
+					}
+				}
+			} );
+			threads[t].start();
+		}
+		for( Thread thread : threads )
+		{
+			thread.join( 60000 );
+		}
+
+		assertNull( "Failed to keep entries whole: " + failure.get(), failure.get() );
+		assertTrue( "Failed to keep the size limit.", cache.getTotalBytes() <= 1000 * 8 );
+	}
+
+	private ResultCache open( String version ) throws Exception
+	{
+		return new ResultCache( directory.toString(), 1024 * 1024, version );
+	}
+
+	/**
+	 * Parses the file and returns its errors as JSON lines.
+	 * @param cache     The cache to use, or null for none.
+	 * @param maxErrors The error limit, or 0 for none.
+	 */
+	private String parse( ResultCache cache, XMLParser.Mode mode, int maxErrors ) throws Exception
+	{
+		XMLParser parser = new XMLParser( mode );
+		parser.setCache( cache );
+		parser.setMaxErrors( maxErrors );
+		parser.parseFile( file.getPath() );
+		return print( parser );
+	}
+
+	private static String print( XMLParser parser ) throws Exception
+	{
+		StringWriter out = new StringWriter();
+		parser.printErrors( out, ErrorFormat.JSON );
+		return out.toString();
+	}
+
+	private static void write( File file, String text ) throws IOException
+	{
+		Files.write( file.toPath(), text.getBytes( StandardCharsets.UTF_8 ) );
+	}
+}
@@ -0,0 +1,485 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import exceptions.EmptyQueueException;
+import implementations.MyArrayList;
+import implementations.MyQueue;
+import implementations.MySpscQueue;
+import utilities.Iterator;
+
+/**
+ * Class Description:
+ * Test for the single-producer/single-consumer implementation of the
+ * QueueADT. The queue holds three items, in an array of four, so most tests
+ * also cover a full queue and the sequence numbers wrapping around the array.
+ * The last tests run one producer thread against one consumer thread.
+ */
+
+public class SpscQueueTest
+{
+	// Attributes
+	private MySpscQueue<Integer> queue;
+	private Integer one;
+	private Integer two;
+	private Integer three;
+	private Integer four;
+
+	/**
+	 * Initializes a MySpscQueue instance with room for three items and four
+	 * Integer instances before each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		queue = new MySpscQueue<Integer>( 3 );
+		one = 111;
+		two = 222;
+		three = 333;
+		four = 444;
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		queue = null;
+		one = null;
+		two = null;
+		three = null;
+		four = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.MySpscQueue#MySpscQueue(int)}
+	 * to reject a capacity that is not positive.
+	 */
+	@Test
+	public void testConstructor_BadCapacity()
+	{
+		try
+		{
+			new MySpscQueue<Integer>( 0 );
+			fail( "Failed to throw IllegalArgumentException." );
+		}
+		catch( IllegalArgumentException e )
+		{
+			assertTrue( true );
+		}
+		assertEquals( "Failed to keep the exact capacity.", 3, queue.capacity() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MySpscQueue#enqueue(java.lang.Object)} and
+	 * {@link implementations.MySpscQueue#dequeue()}
+	 * to keep items in order as the sequence numbers wrap around the array.
+	 */
+	@Test
+	public void testEnqueueDequeue_WrapAround() throws EmptyQueueException
+	{
+		for( int i = 0; i < 10; i++ )
+		{
+			queue.enqueue( i );
+			queue.enqueue( i + 100 );
+			assertEquals( "Failed to dequeue in order.", Integer.valueOf( i ), queue.dequeue() );
+			assertEquals( "Failed to dequeue in order.", Integer.valueOf( i + 100 ), queue.dequeue() );
+		}
+		assertTrue( "Failed to empty the queue.", queue.isEmpty() );
+		assertEquals( "Failed to return correct size.", 0, queue.size() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MySpscQueue#enqueue(java.lang.Object)},
+	 * {@link implementations.MySpscQueue#offer(java.lang.Object)} and
+	 * {@link implementations.MySpscQueue#isFull()}
+	 * to refuse an item once the capacity is reached, even though the array
+	 * has one more slot.
+	 */
+	@Test
+	public void testEnqueue_Full()
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		assertFalse( "Failed to report room left.", queue.isFull() );
+		queue.enqueue( three );
+		assertTrue( "Failed to report a full queue.", queue.isFull() );
+		assertFalse( "Failed to refuse an offer.", queue.offer( four ) );
+		try
+		{
+			queue.enqueue( four );
+			fail( "Failed to throw IllegalStateException." );
+		}
+		catch( IllegalStateException e )
+		{
+			assertTrue( true );
+		}
+		assertEquals( "Failed to leave the size unchanged.", 3, queue.size() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MySpscQueue#enqueue(java.lang.Object)}
+	 * to throw a NullPointerException for a null item.
+	 */
+	@Test
+	public void testEnqueue_Null()
+	{
+		try
+		{
+			queue.enqueue( null );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MySpscQueue#dequeue()} and
+	 * {@link implementations.MySpscQueue#peek()}
+	 * to throw an EmptyQueueException on an empty queue.
+	 */
+	@Test
+	public void testDequeuePeek_Empty()
+	{
+		try
+		{
+			queue.dequeue();
+			fail( "Failed to throw EmptyQueueException." );
+		}
+		catch( EmptyQueueException e )
+		{
+			assertTrue( true );
+		}
+		try
+		{
+			queue.peek();
+			fail( "Failed to throw EmptyQueueException." );
+		}
+		catch( EmptyQueueException e )
+		{
+			assertTrue( true );
+		}
+		assertNull( "Failed to return null for an empty queue.", queue.poll() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MySpscQueue#peek()}
+	 * to return the front item without removing it.
+	 */
+	@Test
+	public void testPeek() throws EmptyQueueException
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		assertEquals( "Failed to peek the front item.", one, queue.peek() );
+		assertEquals( "Failed to leave the item in place.", 2, queue.size() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MySpscQueue#offer(Object[], int, int)}
+	 * to add as many items as fit, in order, and nothing if one is null.
+	 */
+	@Test
+	public void testOfferBatch() throws EmptyQueueException
+	{
+		Integer[] items = { one, two, three, four };
+		queue.enqueue( one );
+		assertEquals( "Failed to fill the room left.", 2, queue.offer( items, 1, 3 ) );
+		assertArrayEquals( "Failed to add in order.", new Object[] { one, two, three }, queue.toArray() );
+		assertEquals( "Failed to add nothing to a full queue.", 0, queue.offer( items, 0, 4 ) );
+
+		queue.dequeueAll();
+		try
+		{
+			queue.offer( new Integer[] { one, null }, 0, 2 );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+		assertTrue( "Failed to add nothing from a batch with a null.", queue.isEmpty() );
+		try
+		{
+			queue.offer( items, 3, 2 );
+			fail( "Failed to throw IndexOutOfBoundsException." );
+		}
+		catch( IndexOutOfBoundsException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MySpscQueue#poll(Object[], int, int)} and
+	 * {@link implementations.MySpscQueue#drainTo(utilities.ListADT, int)}
+	 * to remove up to the given number of items, front first.
+	 */
+	@Test
+	public void testPollBatchDrainTo()
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		queue.enqueue( three );
+
+		Integer[] into = new Integer[4];
+		assertEquals( "Failed to stop at the length.", 1, queue.poll( into, 1, 1 ) );
+		assertEquals( "Failed to poll the front item.", one, into[1] );
+
+		queue.enqueue( four );
+		MyArrayList<Integer> target = new MyArrayList<Integer>();
+		assertEquals( "Failed to stop at the maximum.", 2, queue.drainTo( target, 2 ) );
+		assertEquals( "Failed to drain the rest.", 1, queue.drainTo( target, 10 ) );
+		assertArrayEquals( "Failed to drain front first.", new Object[] { two, three, four }, target.toArray() );
+		assertEquals( "Failed to return 0 once empty.", 0, queue.poll( into, 0, 4 ) );
+		assertTrue( "Failed to empty the queue.", queue.isEmpty() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MySpscQueue#contains(java.lang.Object)} and
+	 * {@link implementations.MySpscQueue#search(java.lang.Object)}
+	 * to find items by position across the end of the array.
+	 */
+	@Test
+	public void testContainsSearch() throws EmptyQueueException
+	{
+		queue.enqueue( one );
+		queue.enqueue( one );
+		queue.dequeue();
+		queue.dequeue();
+		queue.enqueue( two );
+		queue.enqueue( three );
+		queue.enqueue( four );
+
+		assertFalse( "Failed to forget a dequeued item.", queue.contains( one ) );
+		assertTrue( "Failed to find an item.", queue.contains( four ) );
+		assertEquals( "Failed to find item", 1, queue.search( two ) );
+		assertEquals( "Failed to find item", 3, queue.search( four ) );
+		assertEquals( "Failed to return -1 for not found", -1, queue.search( one ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MySpscQueue#iterator()}
+	 * to walk the items front first and throw at the end.
+	 */
+	@Test
+	public void testIterator()
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		Iterator<Integer> it = queue.iterator();
+		queue.enqueue( three );
+
+		assertEquals( "Failed to iterate in order.", one, it.next() );
+		assertEquals( "Failed to iterate in order.", two, it.next() );
+		assertFalse( "Failed to stop at the items present when created.", it.hasNext() );
+		try
+		{
+			it.next();
+			fail( "Failed to throw NoSuchElementException." );
+		}
+		catch( NoSuchElementException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MySpscQueue#toArray()} and
+	 * {@link implementations.MySpscQueue#toArray(Object[])}
+	 * to copy the items front first across the end of the array.
+	 */
+	@Test
+	public void testToArray() throws EmptyQueueException
+	{
+		queue.enqueue( one );
+		queue.enqueue( one );
+		queue.enqueue( one );
+		queue.dequeue();
+		queue.dequeue();
+		queue.dequeue();
+		queue.enqueue( two );
+		queue.enqueue( three );
+		queue.enqueue( four );
+
+		Object[] expected = { two, three, four };
+		assertArrayEquals( "Failed to convert queue to array.", expected, queue.toArray() );
+		assertArrayEquals( "Failed to convert queue to array.", expected, queue.toArray( new Integer[0] ) );
+
+		Integer[] larger = { one, one, one, one, one };
+		assertSame( "Failed to reuse a large enough array.", larger, queue.toArray( larger ) );
+		assertNull( "Failed to mark the end with null.", larger[3] );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MySpscQueue#equals(utilities.QueueADT)}
+	 * to compare items in order against another kind of queue.
+	 */
+	@Test
+	public void testEquals()
+	{
+		MyQueue<Integer> other = new MyQueue<Integer>();
+		queue.enqueue( one );
+		queue.enqueue( two );
+		other.enqueue( one );
+		assertFalse( "Failed to tell a shorter queue apart.", queue.equals( other ) );
+
+		other.enqueue( two );
+		assertTrue( "Failed to match an equal queue.", queue.equals( other ) );
+		assertFalse( "Failed to return false for null.", queue.equals( null ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MySpscQueue#offer(java.lang.Object)} and
+	 * {@link implementations.MySpscQueue#poll()}
+	 * to hand every item from one producer thread to one consumer thread in
+	 * order, while a third thread watches the size stay within bounds.
+	 */
+	@Test
+	public void testProducerConsumer() throws Exception
+	{
+		final int total = 200000;
+		final MySpscQueue<Integer> shared = new MySpscQueue<Integer>( 64 );
+		final AtomicReference<String> failure = new AtomicReference<String>();
+		final AtomicInteger badSizes = new AtomicInteger();
+
+		Thread producer = new Thread( () -> {
+			for( int i = 0; i < total; i++ )
+			{
+				Integer item = i;
+				while( !shared.offer( item ) )
+				{
+					Thread.yield();
+				}
+			}
+		} );
+		Thread consumer = new Thread( () -> {
+			int expected = 0;
+			while( expected < total )
+			{
+				Integer item = shared.poll();
+				if( item == null )
+				{
+					Thread.yield();
+					continue;
+				}
+				if( item != expected )
+				{
+					failure.compareAndSet( null, "Expected " + expected + " but got " + item );
+					return;
+				}
+				expected++;
+			}
+		} );
+		Thread watcher = new Thread( () -> {
+			while( consumer.isAlive() )
+			{
+				int size = shared.size();
+				if( size < 0 || size > 64 )
+				{
+					badSizes.incrementAndGet();
+				}
+				Thread.yield();
+			}
+		} );
+
+		producer.start();
+		consumer.start();
+		watcher.start();
+		producer.join( 60000 );
+		consumer.join( 60000 );
+		watcher.join( 60000 );
+
+		assertNull( "Failed to hand over every item in order.", failure.get() );
+		assertEquals( "Failed to keep the size within bounds.", 0, badSizes.get() );
+		assertTrue( "Failed to end empty.", shared.isEmpty() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MySpscQueue#offer(Object[], int, int)} and
+	 * {@link implementations.MySpscQueue#poll(Object[], int, int)}
+	 * to hand every item over in order when both sides move batches of
+	 * different sizes.
+	 */
+	@Test
+	public void testProducerConsumer_Batches() throws Exception
+	{
+		final int total = 200000;
+		final MySpscQueue<Integer> shared = new MySpscQueue<Integer>( 100 );
+		final AtomicReference<String> failure = new AtomicReference<String>();
+
+		Thread producer = new Thread( () -> {
+			Integer[] batch = new Integer[37];
+			int next = 0;
+			while( next < total )
+			{
+				int length = Math.min( batch.length, total - next );
+				for( int i = 0; i < length; i++ )
+				{
+					batch[i] = next + i;
+				}
+				int added = shared.offer( batch, 0, length );
+				if( added == 0 )
+				{
+					Thread.yield();
+				}
+				next += added;
+			}
+		} );
+		Thread consumer = new Thread( () -> {
+			Integer[] batch = new Integer[53];
+			int expected = 0;
+			while( expected < total )
+			{
+				int count = shared.poll( batch, 0, batch.length );
+				if( count == 0 )
+				{
+					Thread.yield();
+				}
+				for( int i = 0; i < count; i++ )
+				{
+					if( batch[i] != expected )
+					{
+						failure.compareAndSet( null, "Expected " + expected + " but got " + batch[i] );
+						return;
+					}
+					expected++;
+				}
+			}
+		} );
+
+		producer.start();
+		consumer.start();
+		producer.join( 60000 );
+		consumer.join( 60000 );
+
+		assertNull( "Failed to hand over every item in order.", failure.get() );
+		assertTrue( "Failed to end empty.", shared.isEmpty() );
+	}
+}
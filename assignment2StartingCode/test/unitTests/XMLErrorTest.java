@@ -0,0 +1,171 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import application.TagNameTable;
+import application.XMLError;
+
+/**
+ * Class Description:
+ * Test for writing an XMLError as a record and reading it back.
+ */
+
+public class XMLErrorTest
+{
+	// Attributes
+	private TagNameTable names;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		names = new TagNameTable();
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		names = null;
+	}
+
+	/**
+	 * Test method for {@link application.XMLError#toRecord()} and
+	 * {@link application.XMLError#fromRecord(java.lang.String, application.TagNameTable)}
+	 * to keep every field, including names with tabs, line breaks,
+	 * backslashes and no characters at all.
+	 */
+	@Test
+	public void testRecord_RoundTrip() throws Exception
+	{
+		String[] tags = { "a", "", "a\tb", "a\nb\rc", "a\\b", "a\\tb", "\\", "été", "a\"b\u0001" };
+		for( String expected : tags )
+		{
+			for( String found : tags )
+			{
+				XMLError error = roundTrip( "TAG_MISMATCH\t7\t12\t3\t" + field( expected ) + "\t" + field( found ) );
+				assertEquals( "Failed to keep the code.", XMLError.Code.TAG_MISMATCH, error.getCode() );
+				assertEquals( "Failed to keep the line.", 7, error.getLine() );
+				assertEquals( "Failed to keep the column.", 12, error.getColumn() );
+				assertEquals( "Failed to keep the opening line.", 3, error.getOpenedOn() );
+				assertEquals( "Failed to keep the expected tag.", expected, error.getExpectedTag() );
+				assertEquals( "Failed to keep the found tag.", found, error.getFoundTag() );
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link application.XMLError#toRecord()} to write no
+	 * line breaks, so records can be stored one per line.
+	 */
+	@Test
+	public void testToRecord_OneLine() throws Exception
+	{
+		XMLError error = XMLError.fromRecord( "UNCLOSED_TAG\t2\t0\t2\t=a\\nb\\rc\t", names );
+		assertEquals( "Failed to read the line breaks.", "a\nb\rc", error.getExpectedTag() );
+		assertEquals( "Failed to escape the line breaks.", "UNCLOSED_TAG\t2\t0\t2\t=a\\nb\\rc\t", error.toRecord() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLError#fromRecord(java.lang.String, application.TagNameTable)}
+	 * to tell a missing tag from an empty one.
+	 */
+	@Test
+	public void testFromRecord_MissingTags() throws Exception
+	{
+		XMLError error = roundTrip( "MISSING_CLOSING_BRACKET\t4\t7\t-1\t\t" );
+		assertNull( "Failed to keep a missing tag missing.", error.getExpectedTag() );
+		assertNull( "Failed to keep a missing tag missing.", error.getFoundTag() );
+		assertEquals( "Failed to keep the missing id.", XMLError.NONE, error.getExpectedId() );
+		assertEquals( "Failed to keep the missing line.", XMLError.NONE, error.getOpenedOn() );
+		assertEquals( "Failed to build the message.", "Line 4: Missing closing '>'", error.getMessage() );
+
+		error = roundTrip( "UNMATCHED_CLOSING_TAG\t5\t1\t-1\t\t=" );
+		assertNull( "Failed to keep a missing tag missing.", error.getExpectedTag() );
+		assertEquals( "Failed to keep an empty tag.", "", error.getFoundTag() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLError#fromRecord(java.lang.String, application.TagNameTable)}
+	 * to intern the names into the given table.
+	 */
+	@Test
+	public void testFromRecord_InternsNames() throws Exception
+	{
+		int id = names.intern( "b" );
+		XMLError error = XMLError.fromRecord( "TAG_MISMATCH\t3\t5\t1\t=a\t=b", names );
+		assertEquals( "Failed to reuse the id of a known name.", id, error.getFoundId() );
+		assertEquals( "Failed to intern a new name.", "a", names.name( error.getExpectedId() ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLError#fromRecord(java.lang.String, application.TagNameTable)}
+	 * to throw IllegalArgumentException for a line that is not a record.
+	 */
+	@Test
+	public void testFromRecord_NotARecord()
+	{
+		String[] bad = { "", "TAG_MISMATCH\t3\t5\t1\t=a", "TAG_MISMATCH\t3\t5\t1\t=a\t=b\t=c",
+				"NO_SUCH_CODE\t3\t5\t1\t=a\t=b", "TAG_MISMATCH\tthree\t5\t1\t=a\t=b", "TAG_MISMATCH\t3\t5\t\t=a\t=b" };
+		for( String record : bad )
+		{
+			try
+			{
+				XMLError.fromRecord( record, names );
+				fail( "Failed to throw IllegalArgumentException for: " + record );
+			}
+			catch( IllegalArgumentException e )
+			{
+				assertTrue( true );
+			}
+		}
+	}
+
+	private XMLError roundTrip( String record )
+	{
+		XMLError error = XMLError.fromRecord( record, names );
+		assertEquals( "Failed to write the record back.", record, error.toRecord() );
+		return XMLError.fromRecord( error.toRecord(), new TagNameTable() );
+	}
+
+	/**
+	 * Escapes a name the way toRecord does, independently of it.
+	 */
+	private static String field( String name )
+	{
+		StringBuilder sb = new StringBuilder( "=" );
+		for( char c : name.toCharArray() )
+		{
+			switch( c )
+			{
+				case '\\':
+					sb.append( "\\\\" );
+					break;
+				case '\t':
+					sb.append( "\\t" );
+					break;
+				case '\n':
+					sb.append( "\\n" );
+					break;
+				case '\r':
+					sb.append( "\\r" );
+					break;
+				default:
+					sb.append( c );
+					break;
+			}
+		}
+		return sb.toString();
+	}
+}
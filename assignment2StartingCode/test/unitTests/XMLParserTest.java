@@ -0,0 +1,370 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import application.CountingErrorSink;
+import application.ErrorFormat;
+import application.ErrorSink;
+import application.LimitingErrorSink;
+import application.XMLError;
+import application.XMLParser;
+import implementations.MyCircularQueue;
+
+/**
+ * Class Description:
+ * Test for the parts of XMLParser that are the same in every mode: the
+ * state kept from one document to the next, and stopping at an error
+ * limit.
+ */
+
+public class XMLParserTest
+{
+	// Chunk sizes for PARALLEL mode; the small ones leave many chunks to cancel
+	private static final long[] CHUNK_SIZES = { 7, 64, 1000, 0 };
+
+	// Attributes
+	private File first;
+	private File second;
+
+	/**
+	 * Creates two empty temporary files before each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		first = File.createTempFile( "parser", ".xml" );
+		second = File.createTempFile( "parser", ".xml" );
+	}
+
+	/**
+	 * Deletes the temporary files after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		first.delete();
+		second.delete();
+		first = null;
+		second = null;
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#parseFile(java.lang.String)}
+	 * to give the tag names of every document their own ids, while the
+	 * errors of earlier documents still print their names.
+	 */
+	@Test
+	public void testParseFile_NamesPerDocument() throws Exception
+	{
+		write( first, "<a>\n</b>\n" );
+		write( second, "<c>\n</d>\n" );
+
+		for( XMLParser.Mode mode : XMLParser.Mode.values() )
+		{
+			final XMLError[] errors = new XMLError[2];
+			XMLParser parser = new XMLParser( mode );
+			parser.setErrorSink( new ErrorSink()
+			{
+				private int count = 0;
+
+				@Override
+				public boolean accept( XMLError error )
+				{
+					errors[count++] = error;
+					return true;
+				}
+			} );
+			parser.parseFile( first.getPath() );
+			parser.parseFile( second.getPath() );
+
+			assertEquals( "Failed to restart the ids in " + mode + " mode.",
+					errors[0].getExpectedId(), errors[1].getExpectedId() );
+			assertEquals( "Failed to keep the first document's names.", "a", errors[0].getExpectedTag() );
+			assertEquals( "Failed to keep the first document's names.", "b", errors[0].getFoundTag() );
+			assertEquals( "Failed to use the second document's names.", "c", errors[1].getExpectedTag() );
+			assertEquals( "Failed to use the second document's names.", "d", errors[1].getFoundTag() );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#printErrors(java.io.Writer, application.ErrorFormat)}
+	 * to print the queued errors of several documents, and fed ones, with
+	 * the names they were found with.
+	 */
+	@Test
+	public void testPrintErrors_SeveralDocuments() throws Exception
+	{
+		write( first, "<a>\n</b>\n" );
+		write( second, "<c>\n</d>\n" );
+		XMLParser parser = new XMLParser( XMLParser.Mode.STREAMING );
+		parser.parseFile( first.getPath() );
+		parser.parseFile( second.getPath() );
+		byte[] fed = "<e>\n</f>\n".getBytes( StandardCharsets.UTF_8 );
+		parser.feed( fed, 0, fed.length );
+		parser.finish();
+
+		StringWriter out = new StringWriter();
+		parser.printErrors( out, ErrorFormat.TEXT );
+		String n = System.lineSeparator();
+		assertEquals( "Failed to print every document's errors.",
+				"XML Errors:" + n
+				+ "Line 2: Tag mismatch. Expected </a> (opened on line 1) but found </b>." + n
+				+ "Line 2: Tag mismatch. Expected </c> (opened on line 1) but found </d>." + n
+				+ "Line 2: Tag mismatch. Expected </e> (opened on line 1) but found </f>." + n,
+				out.toString() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#XMLParser(application.XMLParser.Mode, utilities.QueueADT)}
+	 * to leave nothing of a document whose parse a full bounded queue
+	 * stopped with an exception, so the next file of the same parser
+	 * gets exactly the errors a new parser would report.
+	 */
+	@Test
+	public void testParseFile_AfterFullQueue() throws Exception
+	{
+		write( first, "<a>\n<b>\n<c>\n<d>\n</x>\n<e>\n<f>\n</y>\n" );
+		write( second, "<z>\n</w>\n" );
+
+		for( XMLParser.Mode mode : XMLParser.Mode.values() )
+		{
+			MyCircularQueue<XMLError> queue = new MyCircularQueue<XMLError>( 2, true );
+			XMLParser parser = new XMLParser( mode, queue );
+			if( mode == XMLParser.Mode.PARALLEL )
+			{
+				parser.setChunkSize( 4 );
+			}
+			try
+			{
+				parser.parseFile( first.getPath() );
+				fail( "Failed to throw IllegalStateException in " + mode + " mode." );
+			}
+			catch( IllegalStateException e )
+			{
+				assertTrue( true );
+			}
+			queue.dequeueAll();
+
+			parser.parseFile( second.getPath() );
+			XMLParser fresh = new XMLParser( mode );
+			fresh.parseFile( second.getPath() );
+			assertArrayEquals( "Failed to start the next file afresh in " + mode + " mode.",
+					errors( fresh ), errors( parser ) );
+		}
+	}
+
+	/**
+	 * Test method for {@link application.XMLParser#setMaxErrors(int)}
+	 * to stop after the first N errors in every mode, reporting exactly
+	 * the first N errors of the whole file.
+	 */
+	@Test
+	public void testSetMaxErrors_StopsAfterN() throws Exception
+	{
+		write( first, manyErrors() );
+		String[] all = errors( parser( XMLParser.Mode.LINE, 0, 0 ) );
+		assertTrue( "Failed to find enough errors.", all.length > 100 );
+
+		int[] limits = { 1, 2, 3, 4, 5, 37, all.length - 1 };
+		for( XMLParser.Mode mode : XMLParser.Mode.values() )
+		{
+			for( long chunkSize : mode == XMLParser.Mode.PARALLEL ? CHUNK_SIZES : new long[] { 0 } )
+			{
+				String where = " in " + mode + " mode" + ( chunkSize == 0 ? "" : " with chunks of " + chunkSize );
+				assertArrayEquals( "Failed to find every error" + where + ".", all,
+						errors( parser( mode, chunkSize, 0 ) ) );
+
+				for( int limit : limits )
+				{
+					XMLParser parser = parser( mode, chunkSize, limit );
+					assertTrue( "Failed to stop at " + limit + where + ".", parser.wasStopped() );
+					assertEquals( "Failed to stop at " + limit + where + ".", limit, parser.getErrorCount() );
+					String[] found = errors( parser );
+					for( int i = 0; i < limit; i++ )
+					{
+						assertEquals( "Failed to report error " + i + " of " + limit + where + ".", all[i], found[i] );
+					}
+				}
+
+				XMLParser parser = parser( mode, chunkSize, all.length + 1 );
+				assertFalse( "Failed to read to the end below the limit" + where + ".", parser.wasStopped() );
+				assertArrayEquals( "Failed to find every error below the limit" + where + ".", all, errors( parser ) );
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link application.XMLParser#setFailFast(boolean)}
+	 * to report only the first error in every mode, and to leave the
+	 * parser ready for a full parse of the next file.
+	 */
+	@Test
+	public void testSetFailFast_FirstErrorOnly() throws Exception
+	{
+		write( first, manyErrors() );
+		write( second, "<a>\n</b>\n" );
+		String[] all = errors( parser( XMLParser.Mode.LINE, 0, 0 ) );
+
+		for( XMLParser.Mode mode : XMLParser.Mode.values() )
+		{
+			for( long chunkSize : mode == XMLParser.Mode.PARALLEL ? CHUNK_SIZES : new long[] { 0 } )
+			{
+				XMLParser parser = new XMLParser( mode );
+				if( chunkSize > 0 )
+				{
+					parser.setChunkSize( chunkSize );
+				}
+				parser.setFailFast( true );
+				parser.parseFile( first.getPath() );
+				assertTrue( "Failed to stop in " + mode + " mode.", parser.wasStopped() );
+				assertArrayEquals( "Failed to report only the first error in " + mode + " mode.",
+						new String[] { all[0] }, errors( parser ) );
+
+				parser.setFailFast( false );
+				parser.parseFile( second.getPath() );
+				assertFalse( "Failed to start the next file afresh in " + mode + " mode.", parser.wasStopped() );
+				assertEquals( "Failed to parse the next file whole in " + mode + " mode.", 1, parser.getErrorCount() );
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link application.XMLParser#setErrorSink(application.ErrorSink)}
+	 * to stop every mode once the sink asks it to.
+	 */
+	@Test
+	public void testSetErrorSink_SinkStops() throws Exception
+	{
+		write( first, manyErrors() );
+		for( XMLParser.Mode mode : XMLParser.Mode.values() )
+		{
+			for( long chunkSize : mode == XMLParser.Mode.PARALLEL ? CHUNK_SIZES : new long[] { 0 } )
+			{
+				CountingErrorSink counter = new CountingErrorSink();
+				XMLParser parser = new XMLParser( mode );
+				if( chunkSize > 0 )
+				{
+					parser.setChunkSize( chunkSize );
+				}
+				parser.setErrorSink( new LimitingErrorSink( counter, 3 ) );
+				parser.parseFile( first.getPath() );
+
+				assertTrue( "Failed to stop in " + mode + " mode.", parser.wasStopped() );
+				assertEquals( "Failed to stop after 3 errors in " + mode + " mode.", 3, counter.getCount() );
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link application.XMLParser#feed(byte[], int, int)}
+	 * to stop at the error limit, ignore the bytes fed after it, and
+	 * print a note that it stopped.
+	 */
+	@Test
+	public void testFeed_StopsAfterN() throws Exception
+	{
+		write( first, manyErrors() );
+		String[] all = errors( parser( XMLParser.Mode.LINE, 0, 0 ) );
+		byte[] bytes = manyErrors().getBytes( StandardCharsets.UTF_8 );
+
+		XMLParser parser = new XMLParser( XMLParser.Mode.STREAMING );
+		parser.setMaxErrors( 4 );
+		for( int off = 0; off < bytes.length; off += 13 )
+		{
+			parser.feed( bytes, off, Math.min( 13, bytes.length - off ) );
+		}
+		parser.finish();
+
+		assertTrue( "Failed to stop.", parser.wasStopped() );
+		StringWriter out = new StringWriter();
+		parser.printErrors( out, ErrorFormat.TEXT );
+		String[] lines = out.toString().split( System.lineSeparator() );
+		assertEquals( "Failed to print the heading, 4 errors and the note.", 6, lines.length );
+		assertEquals( "Failed to print the note.", "Stopped after 4 errors.", lines[5] );
+
+		parser.feed( bytes, 0, bytes.length );
+		parser.finish();
+		assertTrue( "Failed to stop the next document.", parser.wasStopped() );
+		assertArrayEquals( "Failed to start the next document afresh.",
+				new String[] { all[0], all[1], all[2], all[3] }, errors( parser ) );
+	}
+
+	/**
+	 * Builds a document with errors from its first line to its last: tag
+	 * mismatches, stray '&gt;', missing '&gt;', closers with nothing open,
+	 * several to a line, and, at the end, unclosed tags.
+	 */
+	private static String manyErrors()
+	{
+		StringBuilder sb = new StringBuilder( "<doc>\n" );
+		for( int i = 0; i < 200; i++ )
+		{
+			switch( i % 5 )
+			{
+				case 0:
+					sb.append( "  <a" ).append( i ).append( "><b" ).append( i ).append( "></a" ).append( i ).append( ">\n" );
+					break;
+				case 1:
+					sb.append( "  <c" ).append( i ).append( "> one > two </c" ).append( i ).append( ">\n" );
+					break;
+				case 2:
+					sb.append( "  <d" ).append( i ).append( '\n' );
+					break;
+				case 3:
+					sb.append( "  <open" ).append( i ).append( ">\n" );
+					break;
+				default:
+					sb.append( "  </stray" ).append( i ).append( "></stray" ).append( i ).append( ">\n" );
+					break;
+			}
+		}
+		return sb.append( "<u1>\n<u2>\n" ).toString();
+	}
+
+	/**
+	 * Parses the first file.
+	 * @param chunkSize The PARALLEL chunk size, or 0 for the default.
+	 * @param maxErrors The error limit, or 0 for none.
+	 */
+	private XMLParser parser( XMLParser.Mode mode, long chunkSize, int maxErrors )
+	{
+		XMLParser parser = new XMLParser( mode );
+		if( chunkSize > 0 )
+		{
+			parser.setChunkSize( chunkSize );
+		}
+		parser.setMaxErrors( maxErrors );
+		parser.parseFile( first.getPath() );
+		return parser;
+	}
+
+	/**
+	 * Returns the queued errors as JSON lines, emptying the queue.
+	 */
+	private static String[] errors( XMLParser parser ) throws Exception
+	{
+		StringWriter out = new StringWriter();
+		parser.printErrors( out, ErrorFormat.JSON );
+		String text = out.toString();
+		return text.isEmpty() ? new String[0] : text.split( System.lineSeparator() );
+	}
+
+	private static void write( File file, String text ) throws Exception
+	{
+		Files.write( file.toPath(), text.getBytes( StandardCharsets.UTF_8 ) );
+	}
+}
@@ -0,0 +1,578 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import application.ErrorFormat;
+import application.XMLParser;
+import application.XMLTokenizer;
+
+/**
+ * Class Description:
+ * Test for the byte-level XMLTokenizer, on its own and through the
+ * STREAMING and MAPPED modes and the feed API of XMLParser. Every mode
+ * must report exactly what the LINE mode reports, columns included, so
+ * the parsers are compared through their JSON output.
+ */
+
+public class XMLTokenizerTest
+{
+	/**
+	 * A document with every kind of error, indentation, a declaration,
+	 * and tag names and text outside ASCII, including a character that
+	 * takes four bytes in UTF-8.
+	 */
+	private static final String[] DOCUMENT = {
+			"<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+			"<root>",
+			"\t<café lang=\"fr\">crème</café>",
+			"  <日本>テキスト</日本>",
+			"  <a><b></a>",
+			"  </c>",
+			"\tété <d> x > y <e/>",
+			"  <f",
+			"  < />",
+			"  <g attr=\"1\">text</g> tail >",
+			"  🙂 <h></h> > ",
+			"",
+			"  <naïve>",
+			"  </naive>",
+			"</root>",
+			"<unclosed>" };
+
+	// Attributes
+	private File file;
+
+	/**
+	 * Creates an empty temporary file before each test.
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		file = File.createTempFile( "tokenizer", ".xml" );
+	}
+
+	/**
+	 * Deletes the temporary file after each test.
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		file.delete();
+		file = null;
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#parseFile(java.lang.String)}
+	 * to report the same errors in STREAMING and MAPPED mode as in LINE mode
+	 * with \n line endings.
+	 */
+	@Test
+	public void testModesMatchLine_LineFeed() throws Exception
+	{
+		checkModesMatchLine( "\n" );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#parseFile(java.lang.String)}
+	 * to report the same errors in STREAMING and MAPPED mode as in LINE mode
+	 * with \r\n line endings.
+	 */
+	@Test
+	public void testModesMatchLine_CarriageReturnLineFeed() throws Exception
+	{
+		checkModesMatchLine( "\r\n" );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#parseFile(java.lang.String)}
+	 * to report the same errors in STREAMING and MAPPED mode as in LINE mode
+	 * with \r line endings.
+	 */
+	@Test
+	public void testModesMatchLine_CarriageReturn() throws Exception
+	{
+		checkModesMatchLine( "\r" );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#parseFile(java.lang.String)}
+	 * to agree with LINE mode on a document of mixed line endings, without a
+	 * terminator after the last line, and on an empty document.
+	 */
+	@Test
+	public void testModesMatchLine_MixedEndings() throws Exception
+	{
+		write( "<a>\r\n<b>\r\r\n</a>\n\n\r<c>".getBytes( StandardCharsets.UTF_8 ) );
+		String expected = parse( XMLParser.Mode.LINE );
+		assertEquals( "Failed to match LINE mode.", expected, parse( XMLParser.Mode.STREAMING ) );
+		assertEquals( "Failed to match LINE mode.", expected, parse( XMLParser.Mode.MAPPED ) );
+
+		write( new byte[0] );
+		expected = parse( XMLParser.Mode.LINE );
+		assertEquals( "Failed to match LINE mode.", expected, parse( XMLParser.Mode.STREAMING ) );
+		assertEquals( "Failed to match LINE mode.", expected, parse( XMLParser.Mode.MAPPED ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#setMapWindow(long)}
+	 * to match LINE mode in MAPPED mode for every window size from one byte
+	 * to more than the file, so lines, tags, \r\n pairs and multi-byte
+	 * characters straddle two windows.
+	 */
+	@Test
+	public void testMapped_EveryWindowSize() throws Exception
+	{
+		for( String ending : new String[] { "\n", "\r\n", "\r" } )
+		{
+			byte[] bytes = write( ending );
+			String expected = parse( XMLParser.Mode.LINE );
+
+			for( int window = 1; window <= bytes.length + 1; window++ )
+			{
+				assertEquals( "Failed to match LINE mode with a window of " + window + ".",
+						expected, parse( XMLParser.Mode.MAPPED, window ) );
+			}
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#setMapWindow(long)}
+	 * to throw IllegalArgumentException for a size that is not positive.
+	 */
+	@Test
+	public void testSetMapWindow_NotPositive()
+	{
+		try
+		{
+			new XMLParser( XMLParser.Mode.MAPPED ).setMapWindow( 0 );
+			fail( "Failed to throw IllegalArgumentException." );
+		}
+		catch( IllegalArgumentException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#parseFile(java.lang.String)}
+	 * to decode non-ASCII tag names as UTF-8 and count columns in characters.
+	 */
+	@Test
+	public void testNonAsciiNames() throws Exception
+	{
+		write( "<résumé>\n  🙂<été></éte>\n</résumé>\n"
+				.getBytes( StandardCharsets.UTF_8 ) );
+
+		for( XMLParser.Mode mode : XMLParser.Mode.values() )
+		{
+			XMLParser parser = new XMLParser( mode );
+			parser.parseFile( file.getPath() );
+			StringWriter out = new StringWriter();
+			parser.printErrors( out, ErrorFormat.TSV );
+			String[] lines = out.toString().split( System.lineSeparator() );
+
+			assertEquals( "Failed to report one error in " + mode + " mode.", 2, lines.length );
+			assertTrue( "Failed to decode the names in " + mode + " mode: " + lines[1],
+					lines[1].startsWith( "TAG_MISMATCH\t2\t9\tété\t2\téte\t" ) );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#feed(byte[], int, int)}
+	 * and {@link application.XMLParser#finish()}
+	 * to match LINE mode however the document is split into two feeds,
+	 * including inside a tag, a multi-byte character and a \r\n pair.
+	 */
+	@Test
+	public void testFeedBytes_EverySplit() throws Exception
+	{
+		byte[] bytes = write( "\r\n" );
+		String expected = parse( XMLParser.Mode.LINE );
+		XMLParser parser = new XMLParser();
+
+		for( int split = 0; split <= bytes.length; split++ )
+		{
+			parser.feed( bytes, 0, split );
+			parser.feed( bytes, split, bytes.length - split );
+			parser.finish();
+			assertEquals( "Failed to match LINE mode when split at " + split + ".", expected, print( parser ) );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#feed(byte[], int, int)}
+	 * to match LINE mode when the document arrives one byte at a time.
+	 */
+	@Test
+	public void testFeedBytes_OneByteAtATime() throws Exception
+	{
+		for( String ending : new String[] { "\n", "\r\n", "\r" } )
+		{
+			byte[] bytes = write( ending );
+			String expected = parse( XMLParser.Mode.LINE );
+			XMLParser parser = new XMLParser();
+
+			for( int i = 0; i < bytes.length; i++ )
+			{
+				parser.feed( bytes, i, 1 );
+			}
+			parser.finish();
+			assertEquals( "Failed to match LINE mode.", expected, print( parser ) );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#feed(java.nio.ByteBuffer)}
+	 * to match LINE mode however the document is split between two heap or
+	 * two direct buffers, and to consume each buffer.
+	 */
+	@Test
+	public void testFeedByteBuffer_EverySplit() throws Exception
+	{
+		byte[] bytes = write( "\r\n" );
+		String expected = parse( XMLParser.Mode.LINE );
+		XMLParser parser = new XMLParser();
+
+		for( int split = 0; split <= bytes.length; split++ )
+		{
+			for( boolean direct : new boolean[] { false, true } )
+			{
+				ByteBuffer first = buffer( bytes, 0, split, direct );
+				ByteBuffer second = buffer( bytes, split, bytes.length, direct );
+				parser.feed( first );
+				parser.feed( second );
+				parser.finish();
+
+				assertFalse( "Failed to consume the buffer.", first.hasRemaining() || second.hasRemaining() );
+				assertEquals( "Failed to match LINE mode when split at " + split + ( direct ? " (direct)." : "." ),
+						expected, print( parser ) );
+			}
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#feed(byte[], int, int)}
+	 * and {@link application.XMLParser#feed(java.nio.ByteBuffer)}
+	 * to ignore empty feeds anywhere in a document, and
+	 * {@link application.XMLParser#finish()} to check an empty document
+	 * when nothing was fed.
+	 */
+	@Test
+	public void testFeed_Empty() throws Exception
+	{
+		byte[] bytes = write( "\n" );
+		String expected = parse( XMLParser.Mode.LINE );
+		XMLParser parser = new XMLParser();
+
+		parser.feed( bytes, 0, 0 );
+		parser.feed( ByteBuffer.allocate( 0 ) );
+		parser.feed( bytes, 0, 20 );
+		parser.feed( bytes, 20, 0 );
+		parser.feed( ByteBuffer.allocateDirect( 0 ) );
+		parser.feed( bytes, 20, bytes.length - 20 );
+		parser.feed( bytes, bytes.length, 0 );
+		parser.finish();
+		assertEquals( "Failed to match LINE mode.", expected, print( parser ) );
+
+		write( new byte[0] );
+		parser.finish();
+		assertEquals( "Failed to check an empty document.", parse( XMLParser.Mode.LINE ), print( parser ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#finish()}
+	 * to check a last line that has no line terminator, whether it
+	 * arrived in one feed or several.
+	 */
+	@Test
+	public void testFinish_NoFinalTerminator() throws Exception
+	{
+		byte[] bytes = "<a>\n<b>\n</a></c>".getBytes( StandardCharsets.UTF_8 );
+		write( bytes );
+		String expected = parse( XMLParser.Mode.LINE );
+		assertTrue( "Failed to find an error on the last line.", expected.contains( "\"line\":3" ) );
+		XMLParser parser = new XMLParser();
+
+		for( int split = 0; split <= bytes.length; split++ )
+		{
+			parser.feed( bytes, 0, split );
+			parser.feed( bytes, split, bytes.length - split );
+			parser.finish();
+			assertEquals( "Failed to check the last line when split at " + split + ".", expected, print( parser ) );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#parseChannel(java.nio.channels.ReadableByteChannel)}
+	 * to match LINE mode.
+	 */
+	@Test
+	public void testParseChannel() throws Exception
+	{
+		byte[] bytes = write( "\n" );
+		String expected = parse( XMLParser.Mode.LINE );
+		XMLParser parser = new XMLParser();
+		parser.parseChannel( Channels.newChannel( new ByteArrayInputStream( bytes ) ) );
+
+		assertEquals( "Failed to match LINE mode.", expected, print( parser ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLParser#feed(byte[], int, int)}
+	 * to throw IndexOutOfBoundsException for a range outside the array.
+	 */
+	@Test
+	public void testFeedBytes_BadRange()
+	{
+		XMLParser parser = new XMLParser();
+		try
+		{
+			parser.feed( new byte[4], 2, 3 );
+			fail( "Failed to throw IndexOutOfBoundsException." );
+		}
+		catch( IndexOutOfBoundsException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLTokenizer#feed(byte[], int, int)}
+	 * to report each tag once, with its line and column, when the tag, a
+	 * \r\n pair and a multi-byte character are split across feeds.
+	 */
+	@Test
+	public void testTokenizer_Events()
+	{
+		Recorder recorder = new Recorder();
+		byte[] bytes = "<a>\r\n é<b/></a\r\n".getBytes( StandardCharsets.UTF_8 );
+		for( int i = 0; i < bytes.length; i++ )
+		{
+			recorder.tokenizer.feed( bytes, i, 1 );
+		}
+		recorder.tokenizer.finish();
+
+		assertEquals( "Failed to report the events.",
+				"open a 1:1|text é 2:2|self b 2:3|malformed 1 2:7|", recorder.events.toString() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLTokenizer#feed(byte[], int, int)}
+	 * to report the same events however the document is split into two
+	 * feeds, and to be ready for the next document after finish().
+	 */
+	@Test
+	public void testTokenizer_EverySplit() throws Exception
+	{
+		byte[] bytes = write( "\r\n" );
+		Recorder recorder = new Recorder();
+		recorder.tokenizer.feed( bytes, 0, bytes.length );
+		recorder.tokenizer.finish();
+		String expected = recorder.events.toString();
+
+		for( int split = 0; split <= bytes.length; split++ )
+		{
+			recorder.events.setLength( 0 );
+			recorder.tokenizer.feed( bytes, 0, split );
+			recorder.tokenizer.feed( bytes, split, bytes.length - split );
+			recorder.tokenizer.finish();
+			assertEquals( "Failed to report the same events when split at " + split + ".",
+					expected, recorder.events.toString() );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLTokenizer#stop()}
+	 * to ignore the lines after the one being read, until finish().
+	 */
+	@Test
+	public void testTokenizer_Stop()
+	{
+		final StringBuilder lines = new StringBuilder();
+		final XMLTokenizer[] holder = new XMLTokenizer[1];
+		holder[0] = new XMLTokenizer( new Recorder()
+		{
+			@Override
+			public void openTag( byte[] buf, int nameStart, int nameEnd, int lineNumber )
+			{
+				lines.append( lineNumber );
+				holder[0].stop();
+			}
+		} );
+		byte[] bytes = "<a><b>\n<c>\n".getBytes( StandardCharsets.UTF_8 );
+		holder[0].feed( bytes, 0, bytes.length );
+
+		assertTrue( "Failed to report stopped.", holder[0].isStopped() );
+		assertEquals( "Failed to finish the line and stop.", "11", lines.toString() );
+
+		holder[0].finish();
+		assertFalse( "Failed to reset on finish.", holder[0].isStopped() );
+		holder[0].feed( bytes, 0, bytes.length );
+		assertEquals( "Failed to read again after finish.", "1111", lines.toString() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link application.XMLTokenizer#XMLTokenizer(application.XMLTokenizer.TagHandler)}
+	 * to throw NullPointerException for a null handler.
+	 */
+	@Test
+	public void testTokenizer_NullHandler()
+	{
+		try
+		{
+			new XMLTokenizer( null );
+			fail( "Failed to throw NullPointerException." );
+		}
+		catch( NullPointerException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	private void checkModesMatchLine( String ending ) throws Exception
+	{
+		write( ending );
+		String expected = parse( XMLParser.Mode.LINE );
+
+		assertTrue( "Failed to find the errors in the document.", expected.split( "\n" ).length > 8 );
+		assertEquals( "Failed to match LINE mode.", expected, parse( XMLParser.Mode.STREAMING ) );
+		assertEquals( "Failed to match LINE mode.", expected, parse( XMLParser.Mode.MAPPED ) );
+	}
+
+	private byte[] write( String ending ) throws Exception
+	{
+		StringBuilder text = new StringBuilder();
+		for( String line : DOCUMENT )
+		{
+			text.append( line ).append( ending );
+		}
+		byte[] bytes = text.toString().getBytes( StandardCharsets.UTF_8 );
+		write( bytes );
+		return bytes;
+	}
+
+	private void write( byte[] bytes ) throws Exception
+	{
+		Files.write( file.toPath(), bytes );
+	}
+
+	private String parse( XMLParser.Mode mode ) throws Exception
+	{
+		return parse( mode, 0 );
+	}
+
+	/**
+	 * Parses the file and returns its errors as JSON lines.
+	 * @param mapWindow The MAPPED window size, or 0 for the default.
+	 */
+	private String parse( XMLParser.Mode mode, long mapWindow ) throws Exception
+	{
+		XMLParser parser = new XMLParser( mode );
+		if( mapWindow > 0 )
+		{
+			parser.setMapWindow( mapWindow );
+		}
+		parser.parseFile( file.getPath() );
+		assertFalse( "Failed to read the file.", parser.hadReadError() );
+		return print( parser );
+	}
+
+	private static String print( XMLParser parser ) throws Exception
+	{
+		StringWriter out = new StringWriter();
+		parser.printErrors( out, ErrorFormat.JSON );
+		return out.toString();
+	}
+
+	private static ByteBuffer buffer( byte[] bytes, int from, int to, boolean direct )
+	{
+		ByteBuffer buffer = direct ? ByteBuffer.allocateDirect( to - from ) : ByteBuffer.allocate( to - from );
+		buffer.put( bytes, from, to - from );
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * Records the tokenizer's events as "kind name line:column|".
+	 */
+	private static class Recorder implements XMLTokenizer.TagHandler
+	{
+		final StringBuilder events = new StringBuilder();
+		final XMLTokenizer tokenizer = new XMLTokenizer( this );
+
+		@Override
+		public void processingInstruction( byte[] buf, int start, int end, int lineNumber )
+		{
+			record( "declaration", buf, start, end, lineNumber );
+		}
+
+		@Override
+		public void openTag( byte[] buf, int nameStart, int nameEnd, int lineNumber )
+		{
+			record( "open", buf, nameStart, nameEnd, lineNumber );
+		}
+
+		@Override
+		public void closeTag( byte[] buf, int nameStart, int nameEnd, int lineNumber )
+		{
+			record( "close", buf, nameStart, nameEnd, lineNumber );
+		}
+
+		@Override
+		public void selfClosingTag( byte[] buf, int nameStart, int nameEnd, int lineNumber )
+		{
+			record( "self", buf, nameStart, nameEnd, lineNumber );
+		}
+
+		@Override
+		public void text( byte[] buf, int start, int end, int lineNumber )
+		{
+			record( "text", buf, start, end, lineNumber );
+		}
+
+		@Override
+		public void malformed( int problem, int lineNumber )
+		{
+			events.append( "malformed " ).append( problem ).append( ' ' )
+					.append( lineNumber ).append( ':' ).append( tokenizer.getColumn() ).append( '|' );
+		}
+
+		private void record( String kind, byte[] buf, int start, int end, int lineNumber )
+		{
+			events.append( kind ).append( ' ' ).append( new String( buf, start, end - start, StandardCharsets.UTF_8 ) )
+					.append( ' ' ).append( lineNumber ).append( ':' ).append( tokenizer.getColumn() ).append( '|' );
+		}
+	}
+}